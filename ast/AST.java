@@ -1,54 +1,75 @@
 package ast;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
 
+import ast.trees.NodeKind;
 import visitor.TreeVisitor;
 
+/**
+ * A node of the abstract syntax tree. How a node stores its children depends
+ * on its arity, declared in asts.txt: leaves store none, unary and binary
+ * nodes store them in fields, fixed-arity nodes in an array of exactly that
+ * size, and only nodes with a variable number of children (blocks, argument
+ * lists) hold a List. Children are always reachable by index.
+ */
 public abstract class AST {
-  public static int NodeCounter = 0;
+  public static final int UNNUMBERED = -1;
 
-  protected List<AST> children;
   private int nodeNumber;
 
   public AST() {
-    this.children = new ArrayList<>();
-    this.nodeNumber = AST.NodeCounter++;
+    this.nodeNumber = UNNUMBERED;
   }
 
-  public AST addChild(AST child) {
-    this.children.add(child);
+  /**
+   * Adds child after the children added so far. A node with a fixed arity
+   * throws an IllegalStateException once all its children are in place.
+   */
+  public abstract AST addChild(AST child);
 
-    return this;
-  }
-
-  public AST getChild(int index) {
-    if (index < 0 || index >= this.children.size()) {
-      return null;
-    }
-
-    return this.children.get(index);
-  }
+  /**
+   * Returns the child at index, or null if there is no such child.
+   */
+  public abstract AST getChild(int index);
 
-  public int getChildCount() {
-    return this.children.size();
-  }
+  public abstract int getChildCount();
 
+  /**
+   * A read-only view of the children. Walking them by index with getChild()
+   * and getChildCount() avoids creating the view.
+   */
   public List<AST> getChildren() {
-    return this.children;
+    return new ChildList(this);
   }
 
   public int getNodeNumber() {
     return this.nodeNumber;
   }
 
+  /**
+   * Numbers the node within the program it belongs to. The Parser numbers the
+   * nodes it creates densely from 0, in the order it creates them, so a node
+   * number can index arrays sized by Parser.getNodeCount().
+   */
+  public void setNodeNumber(int nodeNumber) {
+    this.nodeNumber = nodeNumber;
+  }
+
   public String displayString() {
     return displayString(0);
   }
 
   public abstract Object accept(TreeVisitor visitor);
 
+  public abstract NodeKind getKind();
+
+  protected IllegalStateException tooManyChildren(int arity) {
+    return new IllegalStateException(String.format(
+        "%s takes %d %s", getClass().getSimpleName(), arity, arity == 1 ? "child" : "children"));
+  }
+
   private String displayString(int level) {
     StringBuilder buffer = new StringBuilder();
 
@@ -59,11 +80,28 @@ public abstract class AST {
     buffer.append(
         String.format("%2d: %s\n", this.getNodeNumber(), this.toString()));
 
-    Iterator<AST> iterator = this.children.iterator();
-    while (iterator.hasNext()) {
-      buffer.append(iterator.next().displayString(level + 1));
+    for (int index = 0; index < getChildCount(); index++) {
+      buffer.append(getChild(index).displayString(level + 1));
     }
 
     return buffer.toString();
   }
+
+  private static final class ChildList extends AbstractList<AST> {
+    private final AST node;
+
+    ChildList(AST node) {
+      this.node = node;
+    }
+
+    @Override
+    public AST get(int index) {
+      return this.node.getChild(Objects.checkIndex(index, size()));
+    }
+
+    @Override
+    public int size() {
+      return this.node.getChildCount();
+    }
+  }
 }
@@ -0,0 +1,353 @@
+package ast;
+
+import java.util.Arrays;
+
+import ast.trees.NodeKind;
+import lexer.CompilationContext;
+import lexer.daos.Symbol;
+import visitor.TreeVisitor;
+
+/**
+ * A whole tree stored in parallel int arrays, one slot per node: its kind,
+ * first child, next sibling, parent, symbol id and span. A tree of any size
+ * is a handful of arrays rather than an object per node, and walking it with
+ * an AstCursor reads those arrays in place.
+ *
+ * Node indices are the handles the Parser builds the tree with, so a node's
+ * index is also its node number. Symbols are stored by id and resolved
+ * through the CompilationContext the source was lexed in.
+ */
+public class AstArena implements TreeBuilder {
+  private static final int INITIAL_CAPACITY = 64;
+
+  private int[] kinds;
+  private int[] firstChildren;
+  private int[] lastChildren;
+  private int[] nextSiblings;
+  private int[] parents;
+  private int[] symbolIds;
+  private int[] spanStarts;
+  private int[] spanEnds;
+  private int size;
+  private CompilationContext context;
+
+  public AstArena(CompilationContext context) {
+    this(context, INITIAL_CAPACITY);
+  }
+
+  public AstArena(CompilationContext context, int capacity) {
+    capacity = Math.max(capacity, 1);
+
+    this.kinds = new int[capacity];
+    this.firstChildren = new int[capacity];
+    this.lastChildren = new int[capacity];
+    this.nextSiblings = new int[capacity];
+    this.parents = new int[capacity];
+    this.symbolIds = new int[capacity];
+    this.spanStarts = new int[capacity];
+    this.spanEnds = new int[capacity];
+    this.size = 0;
+    this.context = context;
+  }
+
+  @Override
+  public int addNode(NodeKind kind, Symbol symbol, int start) {
+    if (this.size == this.kinds.length) {
+      grow();
+    }
+
+    int node = this.size++;
+
+    this.kinds[node] = kind.ordinal();
+    this.firstChildren[node] = NONE;
+    this.lastChildren[node] = NONE;
+    this.nextSiblings[node] = NONE;
+    this.parents[node] = NONE;
+    this.symbolIds[node] = symbol == null ? NONE : symbol.getId();
+    this.spanStarts[node] = start;
+    this.spanEnds[node] = start;
+
+    return node;
+  }
+
+  /**
+   * Appends child to the children of parent. A NONE child, left behind by a
+   * production that failed to match, is not linked.
+   */
+  @Override
+  public void addChild(int parent, int child) {
+    if (child == NONE) {
+      return;
+    }
+
+    if (this.lastChildren[parent] == NONE) {
+      this.firstChildren[parent] = child;
+
+      if (this.spanStarts[child] < this.spanStarts[parent]) {
+        this.spanStarts[parent] = this.spanStarts[child];
+      }
+    } else {
+      this.nextSiblings[this.lastChildren[parent]] = child;
+    }
+
+    this.lastChildren[parent] = child;
+    this.parents[child] = parent;
+  }
+
+  @Override
+  public void setEnd(int node, int end) {
+    this.spanEnds[node] = end;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public void truncate(int size) {
+    this.size = size;
+  }
+
+  /**
+   * The node every other node descends from, or NONE if the arena is empty.
+   */
+  public int getRoot() {
+    if (this.size == 0) {
+      return NONE;
+    }
+
+    int node = 0;
+
+    while (this.parents[node] != NONE) {
+      node = this.parents[node];
+    }
+
+    return node;
+  }
+
+  @Override
+  public NodeKind getKind(int node) {
+    return NodeKind.of(this.kinds[node]);
+  }
+
+  public int getFirstChild(int node) {
+    return this.firstChildren[node];
+  }
+
+  public int getNextSibling(int node) {
+    return this.nextSiblings[node];
+  }
+
+  public int getParent(int node) {
+    return this.parents[node];
+  }
+
+  public int getSymbolId(int node) {
+    return this.symbolIds[node];
+  }
+
+  /**
+   * Returns the symbol held by node, or null if its kind holds none.
+   */
+  public Symbol getSymbol(int node) {
+    int id = this.symbolIds[node];
+
+    return id == NONE ? null : this.context.getSymbol(id);
+  }
+
+  public int getSpanStart(int node) {
+    return this.spanStarts[node];
+  }
+
+  public int getSpanEnd(int node) {
+    return this.spanEnds[node];
+  }
+
+  public CompilationContext getContext() {
+    return this.context;
+  }
+
+  /**
+   * Returns a cursor positioned on the root.
+   */
+  public AstCursor cursor() {
+    return new AstCursor(this, getRoot());
+  }
+
+  /**
+   * Builds the AST objects for the subtree rooted at node, numbered with their
+   * arena indices. This is how code written against the object trees, such as
+   * a TreeVisitor, runs over an arena.
+   */
+  public AST toTree(int node) {
+    AST tree = getKind(node).create(getSymbol(node));
+
+    tree.setNodeNumber(node);
+
+    for (int child = this.firstChildren[node]; child != NONE; child = this.nextSiblings[child]) {
+      tree.addChild(toTree(child));
+    }
+
+    return tree;
+  }
+
+  /**
+   * Runs visitor over the whole tree, as if it had been parsed into objects.
+   */
+  public Object accept(TreeVisitor visitor) {
+    return toTree(getRoot()).accept(visitor);
+  }
+
+  /**
+   * Replaces the subtree rooted at node with the whole of replacement, a tree
+   * parsed in the same context from an edited source, and moves every span
+   * at or past the end of the old subtree by shift, the change in the length
+   * of the source. The arena must be numbered in the order the Parser
+   * creates nodes, so that the old subtree's nodes are numbered contiguously
+   * and the nodes before them are its ancestors or end before it. The new
+   * nodes take their place and the nodes after them are renumbered to
+   * follow, so the arena ends up numbered as a parse of the edited source
+   * would number it.
+   */
+  public void replace(int node, AstArena replacement, int shift) {
+    if (replacement.context != this.context) {
+      throw new IllegalArgumentException("The replacement was parsed in another context.");
+    }
+
+    int first = node;
+    int last = node;
+    int count = 0;
+
+    for (int current = node; current != NONE; current = nextInSubtree(node, current)) {
+      first = Math.min(first, current);
+      last = Math.max(last, current);
+      count++;
+    }
+
+    if (last - first + 1 != count) {
+      throw new IllegalArgumentException(String.format(
+          "The subtree of node %d is not numbered contiguously.", node));
+    }
+
+    int tail = last + 1;
+    int delta = replacement.size - count;
+    int root = first + replacement.getRoot();
+    int parent = this.parents[node];
+    int previous = NONE;
+    int nextSibling = relink(this.nextSiblings[node], node, root, tail, delta);
+    int end = this.spanEnds[node];
+
+    if (parent != NONE) {
+      for (int child = this.firstChildren[parent]; child != node; child = this.nextSiblings[child]) {
+        previous = child;
+      }
+    }
+
+    if (delta != 0) {
+      while (this.size + delta > this.kinds.length) {
+        grow();
+      }
+
+      for (int[] values : new int[][] {this.kinds, this.firstChildren, this.lastChildren,
+          this.nextSiblings, this.parents, this.symbolIds, this.spanStarts, this.spanEnds}) {
+        System.arraycopy(values, tail, values, tail + delta, this.size - tail);
+      }
+
+      this.size += delta;
+    }
+
+    // A node numbered before the subtree either ends before it or is one of
+    // its ancestors, so only those and its previous sibling link to it or past
+    // it
+    for (int ancestor = parent; ancestor != NONE; ancestor = this.parents[ancestor]) {
+      this.firstChildren[ancestor] = relink(this.firstChildren[ancestor], node, root, tail, delta);
+      this.lastChildren[ancestor] = relink(this.lastChildren[ancestor], node, root, tail, delta);
+      this.nextSiblings[ancestor] = relink(this.nextSiblings[ancestor], node, root, tail, delta);
+      this.spanEnds[ancestor] += shift;
+    }
+
+    if (previous != NONE) {
+      this.nextSiblings[previous] = root;
+    }
+
+    // The nodes after it only need renumbering if the node count changed,
+    // and their spans only move if the source length did
+    if (delta != 0) {
+      for (int other = tail + delta; other < this.size; other++) {
+        this.firstChildren[other] = relink(this.firstChildren[other], node, root, tail, delta);
+        this.lastChildren[other] = relink(this.lastChildren[other], node, root, tail, delta);
+        this.nextSiblings[other] = relink(this.nextSiblings[other], node, root, tail, delta);
+        this.parents[other] = relink(this.parents[other], node, root, tail, delta);
+      }
+    }
+
+    if (shift != 0) {
+      for (int other = tail + delta; other < this.size; other++) {
+        this.spanStarts[other] += shift;
+        this.spanEnds[other] += shift;
+      }
+    }
+
+    System.arraycopy(replacement.kinds, 0, this.kinds, first, replacement.size);
+    System.arraycopy(replacement.symbolIds, 0, this.symbolIds, first, replacement.size);
+    System.arraycopy(replacement.spanStarts, 0, this.spanStarts, first, replacement.size);
+    System.arraycopy(replacement.spanEnds, 0, this.spanEnds, first, replacement.size);
+
+    for (int index = 0; index < replacement.size; index++) {
+      this.firstChildren[first + index] = move(replacement.firstChildren[index], first);
+      this.lastChildren[first + index] = move(replacement.lastChildren[index], first);
+      this.nextSiblings[first + index] = move(replacement.nextSiblings[index], first);
+      this.parents[first + index] = move(replacement.parents[index], first);
+    }
+
+    this.parents[root] = parent;
+    this.nextSiblings[root] = nextSibling;
+  }
+
+  /**
+   * The node after current in a preorder walk of the subtree rooted at node,
+   * or NONE once the walk is done.
+   */
+  private int nextInSubtree(int node, int current) {
+    if (this.firstChildren[current] != NONE) {
+      return this.firstChildren[current];
+    }
+
+    while (current != node && this.nextSiblings[current] == NONE) {
+      current = this.parents[current];
+    }
+
+    return current == node ? NONE : this.nextSiblings[current];
+  }
+
+  /**
+   * Where a link to an old node points once the subtree rooted at node has
+   * been replaced: to the new root instead of node, and delta further on for
+   * a node that followed the subtree, numbered tail or more.
+   */
+  private static int relink(int link, int node, int root, int tail, int delta) {
+    if (link == node) {
+      return root;
+    }
+
+    return link >= tail ? link + delta : link;
+  }
+
+  private static int move(int link, int first) {
+    return link == NONE ? NONE : link + first;
+  }
+
+  private void grow() {
+    int capacity = this.kinds.length * 2;
+
+    this.kinds = Arrays.copyOf(this.kinds, capacity);
+    this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+    this.lastChildren = Arrays.copyOf(this.lastChildren, capacity);
+    this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+    this.parents = Arrays.copyOf(this.parents, capacity);
+    this.symbolIds = Arrays.copyOf(this.symbolIds, capacity);
+    this.spanStarts = Arrays.copyOf(this.spanStarts, capacity);
+    this.spanEnds = Arrays.copyOf(this.spanEnds, capacity);
+  }
+}
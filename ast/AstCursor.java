@@ -0,0 +1,85 @@
+package ast;
+
+import ast.trees.NodeKind;
+import lexer.daos.Symbol;
+
+/**
+ * Walks an AstArena without allocating. The cursor sits on one node and moves
+ * to its first child, next sibling or parent; each move returns false and
+ * leaves the cursor where it was if there is no such node. next() steps
+ * through the tree in preorder, the order a TreeVisitor visits it in.
+ */
+public class AstCursor {
+  private AstArena arena;
+  private int node;
+
+  public AstCursor(AstArena arena, int node) {
+    this.arena = arena;
+    this.node = node;
+  }
+
+  public int getNode() {
+    return this.node;
+  }
+
+  public void reset(int node) {
+    this.node = node;
+  }
+
+  public NodeKind getKind() {
+    return this.arena.getKind(this.node);
+  }
+
+  public Symbol getSymbol() {
+    return this.arena.getSymbol(this.node);
+  }
+
+  public int getSpanStart() {
+    return this.arena.getSpanStart(this.node);
+  }
+
+  public int getSpanEnd() {
+    return this.arena.getSpanEnd(this.node);
+  }
+
+  public boolean gotoFirstChild() {
+    return move(this.arena.getFirstChild(this.node));
+  }
+
+  public boolean gotoNextSibling() {
+    return move(this.arena.getNextSibling(this.node));
+  }
+
+  public boolean gotoParent() {
+    return move(this.arena.getParent(this.node));
+  }
+
+  /**
+   * Moves to the next node in preorder: the first child, else the next
+   * sibling of the nearest node that has one. Returns false at the last node.
+   */
+  public boolean next() {
+    if (gotoFirstChild()) {
+      return true;
+    }
+
+    for (int node = this.node; node != AstArena.NONE; node = this.arena.getParent(node)) {
+      if (this.arena.getNextSibling(node) != AstArena.NONE) {
+        this.node = this.arena.getNextSibling(node);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private boolean move(int node) {
+    if (node == AstArena.NONE) {
+      return false;
+    }
+
+    this.node = node;
+
+    return true;
+  }
+}
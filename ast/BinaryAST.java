@@ -0,0 +1,42 @@
+package ast;
+
+/**
+ * A node with exactly two children, such as an operator and its operands or
+ * a name and the value assigned to it, held in fields.
+ */
+public abstract class BinaryAST extends AST {
+  private AST left;
+  private AST right;
+  private int childCount;
+
+  @Override
+  public AST addChild(AST child) {
+    if (this.childCount == 0) {
+      this.left = child;
+    } else if (this.childCount == 1) {
+      this.right = child;
+    } else {
+      throw tooManyChildren(2);
+    }
+
+    this.childCount++;
+
+    return this;
+  }
+
+  @Override
+  public AST getChild(int index) {
+    if (index == 0 && this.childCount > 0) {
+      return this.left;
+    } else if (index == 1 && this.childCount > 1) {
+      return this.right;
+    }
+
+    return null;
+  }
+
+  @Override
+  public int getChildCount() {
+    return this.childCount;
+  }
+}
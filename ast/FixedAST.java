@@ -0,0 +1,39 @@
+package ast;
+
+/**
+ * A node with a fixed number of children, held in an array of exactly that
+ * size.
+ */
+public abstract class FixedAST extends AST {
+  private AST[] children;
+  private int childCount;
+
+  protected FixedAST(int arity) {
+    this.children = new AST[arity];
+  }
+
+  @Override
+  public AST addChild(AST child) {
+    if (this.childCount == this.children.length) {
+      throw tooManyChildren(this.children.length);
+    }
+
+    this.children[this.childCount++] = child;
+
+    return this;
+  }
+
+  @Override
+  public AST getChild(int index) {
+    if (index < 0 || index >= this.childCount) {
+      return null;
+    }
+
+    return this.children[index];
+  }
+
+  @Override
+  public int getChildCount() {
+    return this.childCount;
+  }
+}
@@ -0,0 +1,30 @@
+package ast;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node that never has children, such as a literal, a name or a type.
+ */
+public abstract class LeafAST extends AST {
+
+  @Override
+  public AST addChild(AST child) {
+    throw tooManyChildren(0);
+  }
+
+  @Override
+  public AST getChild(int index) {
+    return null;
+  }
+
+  @Override
+  public int getChildCount() {
+    return 0;
+  }
+
+  @Override
+  public List<AST> getChildren() {
+    return Collections.emptyList();
+  }
+}
@@ -0,0 +1,50 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node with any number of children, such as a block or an argument list.
+ * The list is only allocated once the first child is added, so an empty node
+ * shares the empty list.
+ */
+public abstract class ListAST extends AST {
+  private static final int INITIAL_CAPACITY = 4;
+
+  private List<AST> children;
+
+  public ListAST() {
+    this.children = Collections.emptyList();
+  }
+
+  @Override
+  public AST addChild(AST child) {
+    if (this.children.isEmpty()) {
+      this.children = new ArrayList<>(INITIAL_CAPACITY);
+    }
+
+    this.children.add(child);
+
+    return this;
+  }
+
+  @Override
+  public AST getChild(int index) {
+    if (index < 0 || index >= this.children.size()) {
+      return null;
+    }
+
+    return this.children.get(index);
+  }
+
+  @Override
+  public int getChildCount() {
+    return this.children.size();
+  }
+
+  @Override
+  public List<AST> getChildren() {
+    return Collections.unmodifiableList(this.children);
+  }
+}
@@ -0,0 +1,60 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ast.trees.NodeKind;
+import lexer.daos.Symbol;
+
+/**
+ * Builds the tree out of AST objects. Trees do not record spans, so the spans
+ * the Parser reports are dropped.
+ */
+public class ObjectTreeBuilder implements TreeBuilder {
+  private List<AST> nodes;
+
+  public ObjectTreeBuilder() {
+    this.nodes = new ArrayList<>();
+  }
+
+  @Override
+  public int addNode(NodeKind kind, Symbol symbol, int start) {
+    AST node = kind.create(symbol);
+
+    node.setNodeNumber(this.nodes.size());
+    this.nodes.add(node);
+
+    return node.getNodeNumber();
+  }
+
+  @Override
+  public void addChild(int parent, int child) {
+    this.nodes.get(parent).addChild(getNode(child));
+  }
+
+  @Override
+  public void setEnd(int node, int end) {
+  }
+
+  @Override
+  public NodeKind getKind(int node) {
+    return this.nodes.get(node).getKind();
+  }
+
+  @Override
+  public int size() {
+    return this.nodes.size();
+  }
+
+  @Override
+  public void truncate(int size) {
+    this.nodes.subList(size, this.nodes.size()).clear();
+  }
+
+  /**
+   * Returns the tree with the given handle, or null for NONE.
+   */
+  public AST getNode(int node) {
+    return node == NONE ? null : this.nodes.get(node);
+  }
+}
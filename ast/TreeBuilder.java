@@ -0,0 +1,45 @@
+package ast;
+
+import ast.trees.NodeKind;
+import lexer.daos.Symbol;
+
+/**
+ * Receives the nodes of a tree as the Parser recognizes them. Nodes are
+ * referred to by int handles, handed out densely from 0 in the order the
+ * nodes are added, so a node's handle is also its node number.
+ *
+ * Spans are source offsets: a node starts at the first character of its first
+ * token and ends just after its last token.
+ */
+public interface TreeBuilder {
+  public static final int NONE = -1;
+
+  /**
+   * Adds a node without a parent and returns its handle. symbol is null for
+   * kinds that do not hold one.
+   */
+  public int addNode(NodeKind kind, Symbol symbol, int start);
+
+  /**
+   * Appends child to the children of parent. A parent whose first child starts
+   * earlier than the parent itself (an operator and its left operand) is
+   * widened to start there.
+   */
+  public void addChild(int parent, int child);
+
+  public void setEnd(int node, int end);
+
+  public NodeKind getKind(int node);
+
+  /**
+   * The number of nodes added so far.
+   */
+  public int size();
+
+  /**
+   * Removes every node added since size() returned size, so that the next
+   * node added gets that handle again. None of the removed nodes may have
+   * been added as a child of a node that is kept.
+   */
+  public void truncate(int size);
+}
@@ -0,0 +1,31 @@
+package ast;
+
+/**
+ * A node with exactly one child, held in a field.
+ */
+public abstract class UnaryAST extends AST {
+  private AST child;
+  private int childCount;
+
+  @Override
+  public AST addChild(AST child) {
+    if (this.childCount == 1) {
+      throw tooManyChildren(1);
+    }
+
+    this.child = child;
+    this.childCount++;
+
+    return this;
+  }
+
+  @Override
+  public AST getChild(int index) {
+    return index == 0 ? this.child : null;
+  }
+
+  @Override
+  public int getChildCount() {
+    return this.childCount;
+  }
+}
@@ -0,0 +1,86 @@
+package ast.serialization;
+
+import java.io.IOException;
+
+/**
+ * The layout of serialized trees and token streams, version 1. All
+ * multi-byte integers are unsigned LEB128 varints; signed ones are zigzag
+ * encoded first.
+ *
+ * <pre>
+ * header   magic ("XAST" or "XTOK"), version byte, flags byte, schema (4 bytes)
+ * symbols  count, then per symbol: token kind, lexeme length, UTF-8 lexeme
+ *
+ * tree     node count, then per node in preorder:
+ *            kind byte
+ *            symbol index + 1 (0 for none), only for kinds that hold one
+ *            child count
+ *            node number - preorder index (signed)
+ *            span start - previous span start (signed), span length,
+ *              only if the spans flag is set
+ *
+ * tokens   line count, then the start of each line after the first as the
+ *          distance from the previous one; token count, then per token:
+ *            symbol index, offset - previous offset (signed), length
+ * </pre>
+ *
+ * The schema is the hash AstSchema holds of tokens.txt, asts.txt and
+ * grammar.txt, so a file written before any of them changed is rejected
+ * rather than misread, even if the change only made the Parser build a
+ * different tree from the same tokens.
+ */
+public final class AstFormat {
+  public static final int VERSION = 1;
+  public static final int SCHEMA = AstSchema.DEFINITIONS;
+
+  static final byte[] TREE_MAGIC = { 'X', 'A', 'S', 'T' };
+  static final byte[] TOKEN_MAGIC = { 'X', 'T', 'O', 'K' };
+  static final int FLAG_SPANS = 1;
+
+  private AstFormat() {
+  }
+
+  static void writeHeader(ByteSink file, byte[] magic, int flags) {
+    file.writeBytes(magic, magic.length);
+    file.writeByte(VERSION);
+    file.writeByte(flags);
+    file.writeInt(SCHEMA);
+  }
+
+  /**
+   * Checks the header at source's position and returns its flags.
+   */
+  static int readHeader(ByteSource source, byte[] magic) throws IOException {
+    for (byte expected : magic) {
+      if (source.remaining() == 0 || source.readByte() != expected) {
+        throw new IOException(String.format("Not a serialized %s", new String(magic)));
+      }
+    }
+
+    if (source.remaining() < 6) {
+      throw new IOException("Truncated header");
+    }
+
+    int version = source.readByte();
+
+    if (version != VERSION) {
+      throw new IOException(String.format("Unsupported format version %d", version));
+    }
+
+    int flags = source.readByte();
+
+    if (source.readInt() != SCHEMA) {
+      throw new IOException("Written for different tree or token definitions");
+    }
+
+    return flags;
+  }
+
+  static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
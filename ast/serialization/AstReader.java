@@ -0,0 +1,172 @@
+package ast.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import ast.AST;
+import ast.AstArena;
+import ast.trees.NodeKind;
+import lexer.CompilationContext;
+import lexer.daos.Symbol;
+
+/**
+ * Reads a tree written by AstWriter. Opening a file maps it and checks its
+ * header; nothing else is decoded until it is asked for. A tree can be
+ * rebuilt as AST objects or as an AstArena, or walked in place with an
+ * AstView. Symbols are decoded on first use and recorded in the given
+ * context.
+ */
+public class AstReader {
+  private ByteBuffer buffer;
+  private CompilationContext context;
+  private boolean spans;
+  private SymbolSectionReader symbols;
+  private int nodeCount;
+  private int nodesOffset;
+
+  public AstReader(Path path, CompilationContext context) throws IOException {
+    this(map(path), context);
+  }
+
+  public AstReader(byte[] bytes, CompilationContext context) throws IOException {
+    this(ByteBuffer.wrap(bytes), context);
+  }
+
+  public AstReader(ByteBuffer buffer, CompilationContext context) throws IOException {
+    ByteSource source = new ByteSource(buffer, 0);
+
+    this.spans = (AstFormat.readHeader(source, AstFormat.TREE_MAGIC) & AstFormat.FLAG_SPANS) != 0;
+    this.symbols = new SymbolSectionReader(buffer, source, context);
+    this.nodeCount = source.readVarint();
+    this.nodesOffset = source.position;
+    this.buffer = buffer;
+    this.context = context;
+  }
+
+  public int getNodeCount() {
+    return this.nodeCount;
+  }
+
+  public boolean hasSpans() {
+    return this.spans;
+  }
+
+  /**
+   * Returns a view that walks the nodes in preorder straight from the buffer.
+   */
+  public AstView view() {
+    return new AstView(this, new ByteSource(this.buffer, this.nodesOffset));
+  }
+
+  /**
+   * Rebuilds the tree as AST objects with their original node numbers.
+   */
+  public AST readTree() {
+    AstView view = view();
+    AST[] path = new AST[16];
+    AST root = null;
+
+    while (view.next()) {
+      AST node = view.getKind().create(view.getSymbol());
+      int depth = view.getDepth();
+
+      node.setNodeNumber(view.getNodeNumber());
+
+      if (depth == 0) {
+        root = node;
+      } else {
+        path[depth - 1].addChild(node);
+      }
+
+      if (depth == path.length) {
+        path = Arrays.copyOf(path, path.length * 2);
+      }
+
+      path[depth] = node;
+    }
+
+    return root;
+  }
+
+  /**
+   * Rebuilds the tree as an AstArena whose indices are the original node
+   * numbers. A tree whose nodes were not numbered densely from 0 is numbered
+   * in preorder instead.
+   */
+  public AstArena readArena() {
+    int[] numbers = new int[this.nodeCount];
+    int[] parents = new int[this.nodeCount];
+    int[] kinds = new int[this.nodeCount];
+    int[] symbolIndices = new int[this.nodeCount];
+    int[] starts = new int[this.nodeCount];
+    int[] ends = new int[this.nodeCount];
+    boolean[] seen = new boolean[this.nodeCount];
+    boolean dense = true;
+    int[] path = new int[16];
+    AstView view = view();
+
+    while (view.next()) {
+      int index = view.getIndex();
+      int number = view.getNodeNumber();
+      int depth = view.getDepth();
+
+      if (number < 0 || number >= this.nodeCount || seen[number]) {
+        dense = false;
+      } else {
+        seen[number] = true;
+      }
+
+      if (depth == path.length) {
+        path = Arrays.copyOf(path, path.length * 2);
+      }
+
+      path[depth] = index;
+      parents[index] = depth == 0 ? AstArena.NONE : path[depth - 1];
+      numbers[index] = number;
+      kinds[index] = view.getKind().ordinal();
+      symbolIndices[index] = view.getSymbolIndex();
+      starts[index] = view.getSpanStart();
+      ends[index] = view.getSpanEnd();
+    }
+
+    int[] byNumber = new int[this.nodeCount];
+
+    for (int index = 0; index < this.nodeCount; index++) {
+      if (!dense) {
+        numbers[index] = index;
+      }
+
+      byNumber[numbers[index]] = index;
+    }
+
+    AstArena arena = new AstArena(this.context, this.nodeCount);
+
+    for (int number = 0; number < this.nodeCount; number++) {
+      int index = byNumber[number];
+
+      arena.addNode(NodeKind.of(kinds[index]), getSymbol(symbolIndices[index]), starts[index]);
+      arena.setEnd(number, ends[index]);
+    }
+
+    for (int index = 1; index < this.nodeCount; index++) {
+      arena.addChild(numbers[parents[index]], numbers[index]);
+    }
+
+    return arena;
+  }
+
+  Symbol getSymbol(int index) {
+    return this.symbols.get(index);
+  }
+
+  private static ByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+}
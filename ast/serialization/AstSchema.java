@@ -0,0 +1,13 @@
+package ast.serialization;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+final class AstSchema {
+  // The first four bytes of a SHA-256 of tokens.txt, asts.txt and grammar.txt
+  static final int DEFINITIONS = 0x05be6864;
+
+  private AstSchema() {
+  }
+}
@@ -0,0 +1,131 @@
+package ast.serialization;
+
+import java.util.Arrays;
+
+import ast.trees.NodeKind;
+import lexer.daos.Symbol;
+
+/**
+ * Walks a serialized tree in preorder, decoding each node from the buffer as
+ * the view moves onto it. Nothing is copied out of the buffer apart from the
+ * symbols, which are decoded once per file.
+ */
+public class AstView {
+  private AstReader reader;
+  private ByteSource source;
+  private int[] pending;
+  private int index;
+  private int depth;
+  private NodeKind kind;
+  private int symbolIndex;
+  private int childCount;
+  private int nodeNumber;
+  private int spanStart;
+  private int spanEnd;
+  private int previousStart;
+
+  AstView(AstReader reader, ByteSource source) {
+    this.reader = reader;
+    this.source = source;
+    this.pending = new int[16];
+    this.index = -1;
+  }
+
+  /**
+   * Moves to the next node in preorder, the root on the first call. Returns
+   * false once every node has been visited.
+   */
+  public boolean next() {
+    if (this.index + 1 >= this.reader.getNodeCount()) {
+      return false;
+    }
+
+    if (this.index >= 0) {
+      if (this.childCount > 0) {
+        this.depth++;
+
+        if (this.depth == this.pending.length) {
+          this.pending = Arrays.copyOf(this.pending, this.pending.length * 2);
+        }
+
+        this.pending[this.depth] = this.childCount;
+      }
+
+      while (this.depth > 0 && this.pending[this.depth] == 0) {
+        this.depth--;
+      }
+    }
+
+    if (this.depth > 0) {
+      this.pending[this.depth]--;
+    }
+
+    this.index++;
+    decode();
+
+    return true;
+  }
+
+  /**
+   * The position of the node in preorder, counting from 0 at the root.
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * The number of ancestors of the node.
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  public NodeKind getKind() {
+    return this.kind;
+  }
+
+  public Symbol getSymbol() {
+    return this.reader.getSymbol(this.symbolIndex);
+  }
+
+  int getSymbolIndex() {
+    return this.symbolIndex;
+  }
+
+  public int getChildCount() {
+    return this.childCount;
+  }
+
+  public int getNodeNumber() {
+    return this.nodeNumber;
+  }
+
+  /**
+   * The source offset the node starts at, or -1 if the file has no spans.
+   */
+  public int getSpanStart() {
+    return this.spanStart;
+  }
+
+  public int getSpanEnd() {
+    return this.spanEnd;
+  }
+
+  private void decode() {
+    ByteSource source = this.source;
+
+    this.kind = NodeKind.of(source.readByte());
+    this.symbolIndex = this.kind.isSymbolTree() ? source.readVarint() - 1 : -1;
+    this.childCount = source.readVarint();
+    this.nodeNumber = this.index + AstFormat.unzigzag(source.readVarint());
+
+    if (this.reader.hasSpans()) {
+      this.spanStart = this.previousStart + AstFormat.unzigzag(source.readVarint());
+      this.spanEnd = this.spanStart + source.readVarint();
+      this.previousStart = this.spanStart;
+    } else {
+      this.spanStart = -1;
+      this.spanEnd = -1;
+    }
+  }
+}
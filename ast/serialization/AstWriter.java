@@ -0,0 +1,109 @@
+package ast.serialization;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import ast.AST;
+import ast.AstArena;
+import ast.ISymbolTree;
+import ast.trees.NodeKind;
+import lexer.daos.Symbol;
+
+/**
+ * Writes trees in the format described by AstFormat. AST objects carry no
+ * spans, so only trees written from an AstArena have them.
+ */
+public class AstWriter {
+  private ByteSink nodes;
+  private SymbolSectionWriter symbols;
+  private int nodeCount;
+  private int previousStart;
+
+  private AstWriter() {
+    this.nodes = new ByteSink(256);
+    this.symbols = new SymbolSectionWriter();
+  }
+
+  public static byte[] serialize(AST tree) {
+    AstWriter writer = new AstWriter();
+
+    writer.writeTree(tree);
+
+    return writer.finish(0);
+  }
+
+  public static byte[] serialize(AstArena arena) {
+    AstWriter writer = new AstWriter();
+
+    if (arena.size() > 0) {
+      writer.writeArena(arena, arena.getRoot());
+    }
+
+    return writer.finish(AstFormat.FLAG_SPANS);
+  }
+
+  public static void write(AST tree, Path path) throws IOException {
+    Files.write(path, serialize(tree));
+  }
+
+  public static void write(AstArena arena, Path path) throws IOException {
+    Files.write(path, serialize(arena));
+  }
+
+  private void writeTree(AST tree) {
+    NodeKind kind = tree.getKind();
+
+    writeNode(kind,
+        kind.isSymbolTree() ? ((ISymbolTree) tree).getSymbol() : null,
+        tree.getChildCount(),
+        tree.getNodeNumber());
+
+    for (int child = 0; child < tree.getChildCount(); child++) {
+      writeTree(tree.getChild(child));
+    }
+  }
+
+  private void writeArena(AstArena arena, int node) {
+    int childCount = 0;
+
+    for (int child = arena.getFirstChild(node); child != AstArena.NONE; child = arena.getNextSibling(child)) {
+      childCount++;
+    }
+
+    writeNode(arena.getKind(node), arena.getSymbol(node), childCount, node);
+
+    int start = arena.getSpanStart(node);
+
+    this.nodes.writeVarint(AstFormat.zigzag(start - this.previousStart));
+    this.nodes.writeVarint(arena.getSpanEnd(node) - start);
+    this.previousStart = start;
+
+    for (int child = arena.getFirstChild(node); child != AstArena.NONE; child = arena.getNextSibling(child)) {
+      writeArena(arena, child);
+    }
+  }
+
+  private void writeNode(NodeKind kind, Symbol symbol, int childCount, int nodeNumber) {
+    this.nodes.writeByte(kind.ordinal());
+
+    if (kind.isSymbolTree()) {
+      this.nodes.writeVarint(symbol == null ? 0 : this.symbols.indexOf(symbol) + 1);
+    }
+
+    this.nodes.writeVarint(childCount);
+    this.nodes.writeVarint(AstFormat.zigzag(nodeNumber - this.nodeCount));
+    this.nodeCount++;
+  }
+
+  private byte[] finish(int flags) {
+    ByteSink file = new ByteSink(16 + this.symbols.size() + this.nodes.size);
+
+    AstFormat.writeHeader(file, AstFormat.TREE_MAGIC, flags);
+    this.symbols.writeTo(file);
+    file.writeVarint(this.nodeCount);
+    file.writeBytes(this.nodes.bytes, this.nodes.size);
+
+    return file.toByteArray();
+  }
+}
@@ -0,0 +1,56 @@
+package ast.serialization;
+
+import java.util.Arrays;
+
+/**
+ * A growable byte array that varints and fixed-width integers are appended
+ * to.
+ */
+final class ByteSink {
+  byte[] bytes;
+  int size;
+
+  ByteSink(int capacity) {
+    this.bytes = new byte[capacity];
+  }
+
+  void writeByte(int value) {
+    ensure(1);
+    this.bytes[this.size++] = (byte) value;
+  }
+
+  void writeInt(int value) {
+    ensure(4);
+
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      this.bytes[this.size++] = (byte) (value >>> shift);
+    }
+  }
+
+  void writeVarint(int value) {
+    ensure(5);
+
+    while ((value & ~0x7F) != 0) {
+      this.bytes[this.size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    this.bytes[this.size++] = (byte) value;
+  }
+
+  void writeBytes(byte[] source, int length) {
+    ensure(length);
+    System.arraycopy(source, 0, this.bytes, this.size, length);
+    this.size += length;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(this.bytes, this.size);
+  }
+
+  private void ensure(int length) {
+    if (this.size + length > this.bytes.length) {
+      this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + length));
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package ast.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads integers from a buffer by absolute position, so several readers can
+ * share one buffer.
+ */
+final class ByteSource {
+  private ByteBuffer buffer;
+  int position;
+
+  ByteSource(ByteBuffer buffer, int position) {
+    this.buffer = buffer;
+    this.position = position;
+  }
+
+  int remaining() {
+    return this.buffer.limit() - this.position;
+  }
+
+  int readByte() {
+    return this.buffer.get(this.position++) & 0xFF;
+  }
+
+  int readInt() {
+    int value = 0;
+
+    for (int index = 0; index < 4; index++) {
+      value = (value << 8) | readByte();
+    }
+
+    return value;
+  }
+
+  int readVarint() {
+    int value = 0;
+
+    for (int shift = 0; ; shift += 7) {
+      int next = readByte();
+
+      value |= (next & 0x7F) << shift;
+
+      if ((next & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+}
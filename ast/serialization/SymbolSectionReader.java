@@ -0,0 +1,66 @@
+package ast.serialization;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import lexer.CompilationContext;
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+
+/**
+ * Finds the entries of a symbol section and decodes each one the first time
+ * it is asked for, recording it in a CompilationContext so keywords and
+ * operators come back as the built-in symbols.
+ */
+final class SymbolSectionReader {
+  private static final TokenKind[] TOKEN_KINDS = TokenKind.values();
+
+  private ByteBuffer buffer;
+  private CompilationContext context;
+  private int[] offsets;
+  private Symbol[] symbols;
+
+  /**
+   * Reads the section starting at source's position and leaves source just
+   * after it.
+   */
+  SymbolSectionReader(ByteBuffer buffer, ByteSource source, CompilationContext context) {
+    this.buffer = buffer;
+    this.context = context;
+    this.offsets = new int[source.readVarint()];
+    this.symbols = new Symbol[this.offsets.length];
+
+    for (int symbol = 0; symbol < this.offsets.length; symbol++) {
+      this.offsets[symbol] = source.position;
+      source.readVarint();
+
+      int length = source.readVarint();
+
+      source.position += length;
+    }
+  }
+
+  /**
+   * Returns the symbol at index, or null for a negative index.
+   */
+  Symbol get(int index) {
+    if (index < 0) {
+      return null;
+    }
+
+    Symbol symbol = this.symbols[index];
+
+    if (symbol == null) {
+      ByteSource source = new ByteSource(this.buffer, this.offsets[index]);
+      TokenKind kind = TOKEN_KINDS[source.readVarint()];
+      int length = source.readVarint();
+      String lexeme = StandardCharsets.UTF_8.decode(this.buffer.slice(source.position, length))
+          .toString();
+
+      symbol = this.context.recordSymbol(lexeme, kind);
+      this.symbols[index] = symbol;
+    }
+
+    return symbol;
+  }
+}
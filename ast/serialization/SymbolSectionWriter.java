@@ -0,0 +1,46 @@
+package ast.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import lexer.daos.Symbol;
+
+/**
+ * Numbers the symbols a file refers to in the order they are first seen and
+ * collects their entries for the symbol section.
+ */
+final class SymbolSectionWriter {
+  private ByteSink entries;
+  private Map<Symbol, Integer> indices;
+
+  SymbolSectionWriter() {
+    this.entries = new ByteSink(64);
+    this.indices = new IdentityHashMap<>();
+  }
+
+  int indexOf(Symbol symbol) {
+    Integer index = this.indices.get(symbol);
+
+    if (index == null) {
+      byte[] lexeme = symbol.getLexeme().getBytes(StandardCharsets.UTF_8);
+
+      index = this.indices.size();
+      this.indices.put(symbol, index);
+      this.entries.writeVarint(symbol.getTokenKind().ordinal());
+      this.entries.writeVarint(lexeme.length);
+      this.entries.writeBytes(lexeme, lexeme.length);
+    }
+
+    return index;
+  }
+
+  int size() {
+    return this.entries.size;
+  }
+
+  void writeTo(ByteSink file) {
+    file.writeVarint(this.indices.size());
+    file.writeBytes(this.entries.bytes, this.entries.size);
+  }
+}
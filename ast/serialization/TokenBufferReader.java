@@ -0,0 +1,52 @@
+package ast.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import lexer.CompilationContext;
+import lexer.LineIndex;
+import lexer.TokenBuffer;
+
+/**
+ * Reads a token stream written by TokenBufferWriter back into a TokenBuffer
+ * whose symbols are recorded in the given context.
+ */
+public class TokenBufferReader {
+
+  private TokenBufferReader() {
+  }
+
+  public static TokenBuffer read(byte[] bytes, CompilationContext context) throws IOException {
+    return read(ByteBuffer.wrap(bytes), context);
+  }
+
+  public static TokenBuffer read(ByteBuffer buffer, CompilationContext context)
+      throws IOException {
+    ByteSource source = new ByteSource(buffer, 0);
+
+    AstFormat.readHeader(source, AstFormat.TOKEN_MAGIC);
+
+    SymbolSectionReader symbols = new SymbolSectionReader(buffer, source, context);
+    LineIndex lines = new LineIndex();
+    int lineCount = source.readVarint();
+    int lineStart = 0;
+
+    for (int line = 2; line <= lineCount; line++) {
+      lineStart += source.readVarint();
+      lines.addLineStart(lineStart);
+    }
+
+    int count = source.readVarint();
+    TokenBuffer tokens = new TokenBuffer(lines, count, context);
+    int offset = 0;
+
+    for (int index = 0; index < count; index++) {
+      int symbol = source.readVarint();
+
+      offset += AstFormat.unzigzag(source.readVarint());
+      tokens.add(symbols.get(symbol), offset, source.readVarint());
+    }
+
+    return tokens;
+  }
+}
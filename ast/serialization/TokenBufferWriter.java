@@ -0,0 +1,45 @@
+package ast.serialization;
+
+import lexer.LineIndex;
+import lexer.TokenBuffer;
+
+/**
+ * Writes a TokenBuffer, together with the line starts of its LineIndex, in
+ * the format described by AstFormat.
+ */
+public class TokenBufferWriter {
+
+  private TokenBufferWriter() {
+  }
+
+  public static byte[] serialize(TokenBuffer tokens) {
+    SymbolSectionWriter symbols = new SymbolSectionWriter();
+    ByteSink body = new ByteSink(16 + tokens.size() * 4);
+    LineIndex lines = tokens.getLineIndex();
+
+    body.writeVarint(lines.getLineCount());
+
+    for (int line = 2; line <= lines.getLineCount(); line++) {
+      body.writeVarint(lines.getLineStart(line) - lines.getLineStart(line - 1));
+    }
+
+    body.writeVarint(tokens.size());
+
+    int previousOffset = 0;
+
+    for (int index = 0; index < tokens.size(); index++) {
+      body.writeVarint(symbols.indexOf(tokens.getSymbol(index)));
+      body.writeVarint(AstFormat.zigzag(tokens.getOffset(index) - previousOffset));
+      body.writeVarint(tokens.getLength(index));
+      previousOffset = tokens.getOffset(index);
+    }
+
+    ByteSink file = new ByteSink(16 + symbols.size() + body.size);
+
+    AstFormat.writeHeader(file, AstFormat.TOKEN_MAGIC, 0);
+    symbols.writeTo(file);
+    file.writeBytes(body.bytes, body.size);
+
+    return file.toByteArray();
+  }
+}
@@ -1,15 +1,20 @@
 package ast.trees;
 
-import ast.AST;
+import ast.ListAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class ActualArgumentsTree extends AST {
+public class ActualArgumentsTree extends ListAST {
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.ActualArguments;
+  }
 }
\ No newline at end of file
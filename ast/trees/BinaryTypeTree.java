@@ -1,15 +1,20 @@
 package ast.trees;
 
-import ast.AST;
+import ast.LeafAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class BinaryTypeTree extends AST {
+public class BinaryTypeTree extends LeafAST {
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BinaryType;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ast.trees;
+
+import ast.LeafAST;
+import visitor.TreeVisitor;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+public class ErrorTree extends LeafAST {
+  @Override
+  public Object accept(TreeVisitor visitor) {
+    return visitor.visit(this);
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.Error;
+  }
+}
\ No newline at end of file
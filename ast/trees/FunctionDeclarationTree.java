@@ -1,15 +1,24 @@
 package ast.trees;
 
-import ast.AST;
+import ast.FixedAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class FunctionDeclarationTree extends AST {
+public class FunctionDeclarationTree extends FixedAST {
+  public FunctionDeclarationTree() {
+    super(4);
+  }
+
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.FunctionDeclaration;
+  }
 }
\ No newline at end of file
@@ -1,17 +1,16 @@
 package ast.trees;
 
-import ast.AST;
+import ast.LeafAST;
 import visitor.TreeVisitor;
 
 import ast.ISymbolTree;
-import lexer.SymbolTable;
 import lexer.daos.*;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class IdentifierTree extends AST implements ISymbolTree {
+public class IdentifierTree extends LeafAST implements ISymbolTree {
   private Symbol symbol;
 
   @Override
@@ -19,8 +18,17 @@ public class IdentifierTree extends AST implements ISymbolTree {
     return visitor.visit(this);
   }
 
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.Identifier;
+  }
+
   public IdentifierTree(Token token) {
-    this.symbol = SymbolTable.recordSymbol(token.getLexeme(), TokenKind.BogusToken);
+    this(token.getSymbol());
+  }
+
+  public IdentifierTree(Symbol symbol) {
+    this.symbol = symbol;
   }
 
   public Symbol getSymbol() {
@@ -1,15 +1,24 @@
 package ast.trees;
 
-import ast.AST;
+import ast.FixedAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class IfTree extends AST {
+public class IfTree extends FixedAST {
+  public IfTree() {
+    super(3);
+  }
+
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.If;
+  }
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package ast.trees;
 
-import ast.AST;
+import ast.BinaryAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class IterationTree extends AST {
+public class IterationTree extends BinaryAST {
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.Iteration;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ast.trees;
+
+import java.util.function.Function;
+
+import ast.AST;
+import lexer.daos.Symbol;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+public enum NodeKind {
+  Program(false, symbol -> new ProgramTree()),
+  Block(false, symbol -> new BlockTree()),
+  Declaration(false, symbol -> new DeclarationTree()),
+  FunctionDeclaration(false, symbol -> new FunctionDeclarationTree()),
+  Formals(false, symbol -> new FormalsTree()),
+  IntType(false, symbol -> new IntTypeTree()),
+  BoolType(false, symbol -> new BoolTypeTree()),
+  If(false, symbol -> new IfTree()),
+  While(false, symbol -> new WhileTree()),
+  Return(false, symbol -> new ReturnTree()),
+  Assignment(false, symbol -> new AssignmentTree()),
+  Call(false, symbol -> new CallTree()),
+  ActualArguments(false, symbol -> new ActualArgumentsTree()),
+  RelOp(true, RelOpTree::new),
+  AddOp(true, AddOpTree::new),
+  MultOp(true, MultOpTree::new),
+  Int(true, IntTree::new),
+  Identifier(true, IdentifierTree::new),
+  BinaryType(false, symbol -> new BinaryTypeTree()),
+  CharType(false, symbol -> new CharTypeTree()),
+  BinaryLit(true, BinaryLitTree::new),
+  CharLit(true, CharLitTree::new),
+  Iteration(false, symbol -> new IterationTree()),
+  Range(false, symbol -> new RangeTree()),
+  Error(false, symbol -> new ErrorTree());
+
+  private static final NodeKind[] KINDS = values();
+
+  private boolean symbolTree;
+  private Function<Symbol, AST> factory;
+
+  private NodeKind(boolean symbolTree, Function<Symbol, AST> factory) {
+    this.symbolTree = symbolTree;
+    this.factory = factory;
+  }
+
+  public static NodeKind of(int ordinal) {
+    return KINDS[ordinal];
+  }
+
+  public boolean isSymbolTree() {
+    return this.symbolTree;
+  }
+
+  /**
+   * Creates a tree of this kind. symbol is ignored unless isSymbolTree().
+   */
+  public AST create(Symbol symbol) {
+    return this.factory.apply(symbol);
+  }
+}
\ No newline at end of file
@@ -1,15 +1,20 @@
 package ast.trees;
 
-import ast.AST;
+import ast.UnaryAST;
 import visitor.TreeVisitor;
 
 /**
  * This file is automatically generated!
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
-public class ReturnTree extends AST {
+public class ReturnTree extends UnaryAST {
   @Override
   public Object accept(TreeVisitor visitor) {
     return visitor.visit(this);
   }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.Return;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import ast.AST;
+import ast.serialization.AstReader;
+import ast.serialization.AstView;
+import ast.serialization.AstWriter;
+import lexer.CompilationContext;
+import lexer.Lexer;
+import lexer.readers.CharArraySourceReader;
+import parser.Parser;
+
+/**
+ * Compares getting a tree by lexing and parsing a generated source with
+ * loading it from a serialized file: rebuilt as AST objects, rebuilt as an
+ * arena, or walked in place through an AstView.
+ *
+ * usage: java benchmarks.AstSerializationBenchmark [lines] [parse|tree|arena|view]
+ */
+public class AstSerializationBenchmark {
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  public static void main(String[] args) throws Exception {
+    int lines = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    String mode = args.length > 1 ? args[1] : "parse";
+    char[] source = BenchmarkSources.program(lines, 12).toCharArray();
+    Path file = Files.createTempFile("benchmark", ".ast");
+
+    file.toFile().deleteOnExit();
+    AstWriter.write(new Parser(lexer(source, new CompilationContext())).executeArena(), file);
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      load(source, file, mode);
+    }
+
+    long nodes = 0, nanos = 0;
+
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+
+      nodes += load(source, file, mode);
+
+      nanos += System.nanoTime() - start;
+    }
+
+    System.out.println(String.format(
+        "%s, %d lines: %.1f ns/node, file of %.1f bytes/node",
+        mode,
+        lines,
+        (double) nanos / nodes,
+        (double) Files.size(file) / (nodes / MEASURED_ROUNDS)));
+  }
+
+  private static long load(char[] source, Path file, String mode) throws Exception {
+    CompilationContext context = new CompilationContext();
+
+    switch (mode) {
+      case "tree":
+        return count(new AstReader(file, context).readTree());
+      case "arena":
+        return new AstReader(file, context).readArena().size();
+      case "view": {
+        AstView view = new AstReader(file, context).view();
+        long count = 0;
+
+        while (view.next()) {
+          count++;
+        }
+
+        return count;
+      }
+      default:
+        return count(new Parser(lexer(source, context)).execute());
+    }
+  }
+
+  private static Lexer lexer(char[] source, CompilationContext context) {
+    return new Lexer(new CharArraySourceReader(source, 0, source.length), context);
+  }
+
+  private static long count(AST node) {
+    long count = 1;
+
+    for (int child = 0; child < node.getChildCount(); child++) {
+      count += count(node.getChild(child));
+    }
+
+    return count;
+  }
+}
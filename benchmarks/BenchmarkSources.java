@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Generates synthetic X sources shaped like our generated corpus: deep
+ * indentation, comment banners, long identifiers and arithmetic.
+ */
+public class BenchmarkSources {
+
+  public static File generate(int lines, int identifierLength) throws IOException {
+    File file = File.createTempFile("benchmark", ".x");
+    file.deleteOnExit();
+
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write(program(lines, identifierLength));
+    }
+
+    return file;
+  }
+
+  public static String program(int lines, int identifierLength) {
+    StringBuilder source = new StringBuilder();
+    String[] names = new String[16];
+
+    for (int index = 0; index < names.length; index++) {
+      names[index] = identifier(index, identifierLength);
+    }
+
+    source.append("program {\n");
+
+    for (String name : names) {
+      source.append("    int ").append(name).append('\n');
+    }
+
+    for (int line = 0; line < lines; line++) {
+      if (line % 50 == 0) {
+        source.append("    // ------------------------------------------------------------\n");
+      }
+
+      String target = names[line % names.length];
+      String left = names[(line + 3) % names.length];
+      String right = names[(line + 7) % names.length];
+
+      source.append("        ")
+          .append(target).append(" = ")
+          .append(left).append(" * (").append(line).append(" + ")
+          .append(right).append(") - 12345 / ").append(left).append('\n');
+    }
+
+    source.append("}\n");
+
+    return source.toString();
+  }
+
+  private static String identifier(int index, int length) {
+    StringBuilder name = new StringBuilder("generated_");
+
+    while (name.length() < length - 3) {
+      name.append((char) ('a' + (name.length() * 7 + index) % 26));
+    }
+    name.append(String.format("%03d", index));
+
+    return name.toString();
+  }
+}
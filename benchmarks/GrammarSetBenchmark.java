@@ -0,0 +1,188 @@
+package benchmarks;
+
+import java.util.EnumSet;
+
+import lexer.CompilationContext;
+import lexer.Lexer;
+import lexer.TokenBuffer;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+import parser.GrammarSets;
+import parser.Parser;
+
+/**
+ * Compares three ways of making the parser's decisions over every token of a
+ * generated program: scanning a varargs array (the original match()), an
+ * EnumSet lookup, and a GrammarSets mask test. Each token is tested against
+ * the declaration, statement and operator start sets, as block() and the
+ * expression loops do. A full parse of the same tokens is timed as well.
+ *
+ * usage: java benchmarks.GrammarSetBenchmark [lines]
+ */
+public class GrammarSetBenchmark {
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 50;
+
+  private static final EnumSet<TokenKind> DECLARATION_STARTS = EnumSet.of(
+      TokenKind.IntType, TokenKind.BooleanType, TokenKind.CharType, TokenKind.BinaryType);
+  private static final EnumSet<TokenKind> STATEMENT_STARTS = EnumSet.of(
+      TokenKind.If, TokenKind.While, TokenKind.Return, TokenKind.LeftBrace,
+      TokenKind.Identifier, TokenKind.Iterate);
+  private static final EnumSet<TokenKind> RELATIONAL_OPERATORS = EnumSet.of(
+      TokenKind.Equal, TokenKind.NotEqual, TokenKind.Less, TokenKind.LessEqual,
+      TokenKind.Greater, TokenKind.GreaterEqual);
+  private static final EnumSet<TokenKind> ADDITION_OPERATORS = EnumSet.of(
+      TokenKind.Plus, TokenKind.Minus, TokenKind.Or, TokenKind.BoolOr, TokenKind.BoolXor);
+  private static final EnumSet<TokenKind> MULTIPLICATION_OPERATORS = EnumSet.of(
+      TokenKind.Multiply, TokenKind.Divide, TokenKind.And, TokenKind.BoolAnd);
+
+  private interface Strategy {
+    long decide(TokenKind[] kinds);
+  }
+
+  public static void main(String[] args) throws Exception {
+    int lines = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    char[] source = BenchmarkSources.program(lines, 12).toCharArray();
+    TokenBuffer tokens = new Lexer(
+        new CharArraySourceReader(source, 0, source.length), new CompilationContext()).tokenize();
+    TokenKind[] kinds = new TokenKind[tokens.size()];
+
+    for (int index = 0; index < kinds.length; index++) {
+      kinds[index] = tokens.getTokenKind(index);
+    }
+
+    long varargs = measure(kinds, GrammarSetBenchmark::varargs);
+    long enumSets = measure(kinds, GrammarSetBenchmark::enumSets);
+    long masks = measure(kinds, GrammarSetBenchmark::masks);
+
+    report("varargs", varargs, kinds.length);
+    report("EnumSet", enumSets, kinds.length);
+    report("mask", masks, kinds.length);
+    report("parse", measure(kinds, ignored -> parse(tokens)), kinds.length);
+  }
+
+  private static long measure(TokenKind[] kinds, Strategy strategy) {
+    long checksum = 0;
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      checksum += strategy.decide(kinds);
+    }
+
+    long start = System.nanoTime();
+
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      checksum += strategy.decide(kinds);
+    }
+
+    long nanos = System.nanoTime() - start;
+
+    if (checksum == 42) {
+      System.out.println();
+    }
+
+    return nanos;
+  }
+
+  private static void report(String name, long nanos, int tokens) {
+    System.out.println(String.format(
+        "%-8s %d tokens: %.2f ns/token", name, tokens, (double) nanos / MEASURED_ROUNDS / tokens));
+  }
+
+  private static long varargs(TokenKind[] kinds) {
+    long matches = 0;
+
+    for (TokenKind kind : kinds) {
+      if (match(kind, TokenKind.IntType, TokenKind.BooleanType, TokenKind.CharType,
+          TokenKind.BinaryType)) {
+        matches++;
+      }
+      if (match(kind, TokenKind.If, TokenKind.While, TokenKind.Return, TokenKind.LeftBrace,
+          TokenKind.Identifier, TokenKind.Iterate)) {
+        matches++;
+      }
+      if (match(kind, TokenKind.Equal, TokenKind.NotEqual, TokenKind.Less, TokenKind.LessEqual,
+          TokenKind.Greater, TokenKind.GreaterEqual)) {
+        matches++;
+      }
+      if (match(kind, TokenKind.Plus, TokenKind.Minus, TokenKind.Or, TokenKind.BoolOr,
+          TokenKind.BoolXor)) {
+        matches++;
+      }
+      if (match(kind, TokenKind.Multiply, TokenKind.Divide, TokenKind.And, TokenKind.BoolAnd)) {
+        matches++;
+      }
+    }
+
+    return matches;
+  }
+
+  private static boolean match(TokenKind kind, TokenKind... kinds) {
+    for (TokenKind candidate : kinds) {
+      if (kind == candidate) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static long enumSets(TokenKind[] kinds) {
+    long matches = 0;
+
+    for (TokenKind kind : kinds) {
+      if (DECLARATION_STARTS.contains(kind)) {
+        matches++;
+      }
+      if (STATEMENT_STARTS.contains(kind)) {
+        matches++;
+      }
+      if (RELATIONAL_OPERATORS.contains(kind)) {
+        matches++;
+      }
+      if (ADDITION_OPERATORS.contains(kind)) {
+        matches++;
+      }
+      if (MULTIPLICATION_OPERATORS.contains(kind)) {
+        matches++;
+      }
+    }
+
+    return matches;
+  }
+
+  private static long masks(TokenKind[] kinds) {
+    long matches = 0;
+
+    for (TokenKind kind : kinds) {
+      if (GrammarSets.contains(GrammarSets.FIRST_DECLARATION, kind)) {
+        matches++;
+      }
+      if (GrammarSets.contains(GrammarSets.FIRST_STATEMENT, kind)) {
+        matches++;
+      }
+      if (GrammarSets.contains(GrammarSets.FIRST_RELOP, kind)) {
+        matches++;
+      }
+      if (GrammarSets.contains(GrammarSets.FIRST_ADDOP, kind)) {
+        matches++;
+      }
+      if (GrammarSets.contains(GrammarSets.FIRST_MULTOP, kind)) {
+        matches++;
+      }
+    }
+
+    return matches;
+  }
+
+  private static long parse(TokenBuffer tokens) {
+    try {
+      Parser parser = new Parser(tokens);
+
+      parser.executeArena();
+
+      return parser.getNodeCount();
+    } catch (Exception exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+}
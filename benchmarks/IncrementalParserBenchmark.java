@@ -0,0 +1,91 @@
+package benchmarks;
+
+import ast.AstArena;
+import lexer.IncrementalLexer;
+import lexer.TokenBuffer;
+import parser.IncrementalParser;
+import parser.Parser;
+
+/**
+ * Times bringing the tree of a program with many functions up to date after
+ * an edit inside the middle one: a whole parse against an IncrementalParser
+ * reparse. Each edit is made and undone in turn: replacing an operand with
+ * one of the same length, typing a digit, and adding an operand, which
+ * changes the length of the source and then also the number of nodes.
+ *
+ * usage: java benchmarks.IncrementalParserBenchmark [functions]
+ */
+public class IncrementalParserBenchmark {
+  private static final int WARMUP_ROUNDS = 200;
+  private static final int MEASURED_ROUNDS = 1000;
+
+  public static void main(String[] args) throws Exception {
+    int functions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    String source = program(functions);
+    int offset = source.indexOf("a * 1 ", source.length() / 2) + "a * ".length();
+    TokenBuffer tokens = new IncrementalLexer(source).getTokens();
+    AstArena tree = null;
+    long nanos = 0;
+
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+
+      tree = new Parser(tokens).executeArena();
+
+      if (round >= WARMUP_ROUNDS) {
+        nanos += System.nanoTime() - start;
+      }
+    }
+
+    report("whole", nanos, tree.size());
+    reparse("replace", source, offset, "1", "2");
+    reparse("type", source, offset, "1", "12");
+    reparse("operand", source, offset, "1", "1 + c");
+  }
+
+  /**
+   * Times reparsing after replacing before at offset with after, and back.
+   */
+  private static void reparse(String name, String source, int offset, String before, String after)
+      throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(source);
+    IncrementalParser parser = new IncrementalParser(new Parser(lexer.getTokens()).executeArena());
+    TokenBuffer[] tokens = {
+        lexer.edit(offset, before.length(), after), lexer.edit(offset, after.length(), before)};
+    long nanos = 0;
+
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      boolean forward = round % 2 == 0;
+      long start = System.nanoTime();
+
+      parser.reparse(offset, (forward ? before : after).length(),
+          (forward ? after : before).length(), tokens[round % 2]);
+
+      if (round >= WARMUP_ROUNDS) {
+        nanos += System.nanoTime() - start;
+      }
+    }
+
+    report(name, nanos, parser.getReparsedNodeCount());
+  }
+
+  private static String program(int functions) {
+    StringBuilder source = new StringBuilder("program {\n");
+
+    for (int function = 0; function < functions; function++) {
+      source.append("  int f").append(function).append("(int a, int b) {\n")
+          .append("    int c\n")
+          .append("    c = a * 1 + (b - ").append(function).append(")\n")
+          .append("    while c > 0 { c = c - b }\n")
+          .append("    return c\n")
+          .append("  }\n");
+    }
+
+    return source.append("}\n").toString();
+  }
+
+  private static void report(String name, long nanos, int nodes) {
+    System.out.println(String.format(
+        "%-8s %d nodes parsed: %.1f us/edit", name, nodes, nanos / 1000.0 / MEASURED_ROUNDS));
+  }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import lexer.DfaLexer;
+import lexer.ILexer;
+import lexer.Lexception;
+import lexer.Lexer;
+import lexer.daos.TokenKind;
+import lexer.readers.IReader;
+import lexer.readers.MappedSourceReader;
+import lexer.readers.Utf8SourceReader;
+
+/**
+ * Measures the bytes allocated and the time spent per token while lexing a
+ * generated source with long identifiers and integer literals.
+ *
+ * usage: java benchmarks.LexerAllocationBenchmark [lines] [identifierLength] [lexer|dfa|buffer]
+ *     [mapped|utf8]
+ */
+public class LexerAllocationBenchmark {
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  private static String lexerName;
+  private static String readerName;
+
+  public static void main(String[] args) throws Exception {
+    int lines = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    int identifierLength = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+    lexerName = args.length > 2 ? args[2] : "lexer";
+    readerName = args.length > 3 ? args[3] : "mapped";
+
+    File source = BenchmarkSources.generate(lines, identifierLength);
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      lex(source);
+    }
+
+    long tokens = 0, bytes = 0, nanos = 0;
+
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+
+      tokens += lex(source);
+
+      nanos += System.nanoTime() - start;
+      bytes += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+    }
+
+    System.out.println(String.format(
+        "%s over %s, %d lines, identifiers of %d chars: %.1f bytes/token, %.1f ns/token",
+        lexerName,
+        readerName,
+        lines,
+        identifierLength,
+        (double) bytes / tokens,
+        (double) nanos / tokens));
+  }
+
+  private static IReader open(File source) {
+    return readerName.equals("utf8")
+        ? new Utf8SourceReader(source.getAbsolutePath())
+        : new MappedSourceReader(source.getAbsolutePath());
+  }
+
+  private static long lex(File source) throws Exception {
+    return lex(open(source));
+  }
+
+  private static long lex(IReader reader) throws Exception {
+    long count = 0;
+
+    if (lexerName.equals("buffer")) {
+      try (Lexer lexer = new Lexer(reader)) {
+        return lexer.tokenize().size() - 1;
+      } catch (Lexception exception) {
+        System.err.println(exception.getMessage());
+        System.exit(1);
+      }
+    }
+
+    ILexer lexer = lexerName.equals("dfa") ? new DfaLexer(reader) : new Lexer(reader);
+
+    try {
+      while (lexer.nextToken().getTokenKind() != TokenKind.EOF) {
+        count++;
+      }
+    } catch (Lexception exception) {
+      System.err.println(exception.getMessage());
+      System.exit(1);
+    }
+
+    ((AutoCloseable) lexer).close();
+
+    return count;
+  }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import java.io.File;
+import java.nio.CharBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+import lexer.Lexer;
+import lexer.ParallelLexer;
+import lexer.readers.CharArraySourceReader;
+import lexer.readers.MappedSourceReader;
+
+/**
+ * Compares the wall-clock time of lexing a generated source into a TokenBuffer
+ * with Lexer and with ParallelLexer at increasing thread counts.
+ *
+ * usage: java benchmarks.ParallelLexerBenchmark [lines] [chunkSize]
+ */
+public class ParallelLexerBenchmark {
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 5;
+
+  public static void main(String[] args) throws Exception {
+    int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+    int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : ParallelLexer.DEFAULT_CHUNK_SIZE;
+
+    File file = BenchmarkSources.generate(lines, 24);
+    CharBuffer source = MappedSourceReader.decode(file.getAbsolutePath());
+
+    System.out.println(String.format(
+        "%d lines (%d chars), %d available processors",
+        lines,
+        source.limit(),
+        Runtime.getRuntime().availableProcessors()));
+    System.out.println(String.format("sequential: %.1f ms", time(() -> {
+      try (Lexer lexer = new Lexer(new CharArraySourceReader(source.array(), 0, source.limit()))) {
+        return lexer.tokenize().size();
+      }
+    })));
+
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors() * 2; threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      ParallelLexer lexer = new ParallelLexer(source.array(), source.limit(), chunkSize, pool);
+
+      System.out.println(String.format(
+          "%d threads: %.1f ms", threads, time(() -> lexer.tokenize().size())));
+      pool.shutdown();
+    }
+  }
+
+  private interface Run {
+    int run() throws Exception;
+  }
+
+  private static double time(Run run) throws Exception {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      run.run();
+    }
+
+    long nanos = 0;
+
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+      run.run();
+      nanos += System.nanoTime() - start;
+    }
+
+    return nanos / 1e6 / MEASURED_ROUNDS;
+  }
+}
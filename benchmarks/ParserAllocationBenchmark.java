@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import ast.AST;
+import ast.AstArena;
+import ast.AstCursor;
+import lexer.CompilationContext;
+import lexer.Lexer;
+import lexer.TokenBuffer;
+import lexer.readers.CharArraySourceReader;
+import parser.Parser;
+import parser.TableParser;
+
+/**
+ * Measures the bytes allocated and the time spent per node while parsing a
+ * generated source into AST objects or into an AstArena, and then walking
+ * every node of the result once. The table mode builds the arena with the
+ * table-driven TableParser instead of the recursive Parser. The source is
+ * tokenized up front so only the parse and the walk are measured.
+ *
+ * usage: java benchmarks.ParserAllocationBenchmark [lines] [objects|arena|table]
+ */
+public class ParserAllocationBenchmark {
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  public static void main(String[] args) throws Exception {
+    int lines = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    String mode = args.length > 1 ? args[1] : "objects";
+    char[] source = BenchmarkSources.program(lines, 12).toCharArray();
+    TokenBuffer tokens = new Lexer(
+        new CharArraySourceReader(source, 0, source.length), new CompilationContext()).tokenize();
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      parseAndWalk(tokens, mode);
+    }
+
+    long nodes = 0, bytes = 0, nanos = 0;
+
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+
+      nodes += parseAndWalk(tokens, mode);
+
+      nanos += System.nanoTime() - start;
+      bytes += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+    }
+
+    System.out.println(String.format(
+        "%s, %d lines: %.1f bytes/node, %.1f ns/node",
+        mode,
+        lines,
+        (double) bytes / nodes,
+        (double) nanos / nodes));
+  }
+
+  private static long parseAndWalk(TokenBuffer tokens, String mode) throws Exception {
+    if (mode.equals("arena") || mode.equals("table")) {
+      AstArena arena = mode.equals("arena")
+          ? new Parser(tokens).executeArena()
+          : new TableParser(tokens).executeArena();
+      AstCursor cursor = arena.cursor();
+      long count = 1;
+
+      while (cursor.next()) {
+        count++;
+      }
+
+      return count;
+    }
+
+    return count(new Parser(tokens).execute());
+  }
+
+  private static long count(AST node) {
+    long count = 1;
+
+    for (int child = 0; child < node.getChildCount(); child++) {
+      count += count(node.getChild(child));
+    }
+
+    return count;
+  }
+}
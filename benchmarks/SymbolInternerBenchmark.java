@@ -0,0 +1,124 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import lexer.SymbolInterner;
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+
+/**
+ * Measures how many lexemes per second a SymbolInterner interns at increasing
+ * thread counts, with its own striped locking and with every call serialized
+ * on a single lock as SymbolTable used to do. Every thread interns the same
+ * vocabulary in a different order, so it first races to add the lexemes and
+ * then finds them.
+ *
+ * usage: java benchmarks.SymbolInternerBenchmark [vocabulary] [lookupsPerThread]
+ */
+public class SymbolInternerBenchmark {
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 5;
+
+  private static char[] text;
+  private static int[] starts;
+  private static int[] lengths;
+
+  public static void main(String[] args) throws Exception {
+    int vocabulary = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+    int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 2000000;
+
+    StringBuilder builder = new StringBuilder();
+    starts = new int[vocabulary];
+    lengths = new int[vocabulary];
+
+    for (int index = 0; index < vocabulary; index++) {
+      String lexeme = "identifier_" + Integer.toString(index * 7919, 36);
+
+      starts[index] = builder.length();
+      lengths[index] = lexeme.length();
+      builder.append(lexeme).append(' ');
+    }
+
+    text = builder.toString().toCharArray();
+
+    System.out.println(String.format(
+        "%d lexemes, %d lookups per thread, %d available processors",
+        vocabulary,
+        lookups,
+        Runtime.getRuntime().availableProcessors()));
+
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors() * 2; threads *= 2) {
+      System.out.println(String.format(
+          "%d threads: striped %.1f, single lock %.1f million lookups/s",
+          threads,
+          throughput(threads, lookups, false),
+          throughput(threads, lookups, true)));
+    }
+  }
+
+  private static double throughput(int threads, int lookups, boolean singleLock) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long nanos = 0;
+
+    try {
+      for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+        SymbolInterner interner = new SymbolInterner();
+        List<Callable<Integer>> workers = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+          int first = thread * 7;
+
+          workers.add(() -> intern(interner, first, lookups, singleLock));
+        }
+
+        long start = System.nanoTime();
+
+        executor.invokeAll(workers);
+
+        if (round >= WARMUP_ROUNDS) {
+          nanos += System.nanoTime() - start;
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    return (double) threads * lookups * MEASURED_ROUNDS / nanos * 1e3;
+  }
+
+  private static int intern(SymbolInterner interner, int first, int lookups, boolean singleLock) {
+    int ids = 0;
+
+    for (int lookup = 0; lookup < lookups; lookup++) {
+      int index = (int) ((first + lookup * 31L) % starts.length);
+      Symbol symbol;
+
+      if (singleLock) {
+        synchronized (interner) {
+          symbol = intern(interner, index);
+        }
+      } else {
+        symbol = intern(interner, index);
+      }
+
+      ids += symbol.getId();
+    }
+
+    return ids;
+  }
+
+  private static Symbol intern(SymbolInterner interner, int index) {
+    Symbol symbol = interner.get(text, starts[index], lengths[index]);
+
+    if (symbol == null) {
+      symbol = interner.putIfAbsent(
+          new String(text, starts[index], lengths[index]), TokenKind.Identifier);
+    }
+
+    return symbol;
+  }
+}
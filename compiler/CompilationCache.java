@@ -0,0 +1,309 @@
+package compiler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import ast.AstArena;
+import ast.serialization.AstFormat;
+import ast.serialization.AstReader;
+import ast.serialization.AstWriter;
+import ast.serialization.TokenBufferReader;
+import ast.serialization.TokenBufferWriter;
+import lexer.CompilationContext;
+import lexer.TokenBuffer;
+
+/**
+ * A directory of lexed and parsed sources, so that a source that has not
+ * changed since it was last compiled skips the Lexer and the Parser. Entries
+ * are named by a hash of the source bytes and of the definitions the
+ * serialized formats depend on, so an edited source, or a change to
+ * tokens.txt, asts.txt or grammar.txt, simply misses.
+ *
+ * An entry is written to a temporary file and moved into place, so processes
+ * sharing the directory never see half an entry; two processes writing the
+ * same entry write the same bytes. Reading an entry refreshes its
+ * modification time, and once the directory grows past its size limit the
+ * entries used least recently are deleted first.
+ */
+public class CompilationCache {
+  private static final String ENTRY_SUFFIX = ".cache";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+  // A temporary file this old was left behind by a writer that died
+  private static final long ABANDONED_MILLIS = 60 * 60 * 1000;
+
+  private Path directory;
+  private long maxBytes;
+  private AtomicLong hits;
+  private AtomicLong misses;
+  private AtomicLong evictions;
+
+  public CompilationCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+    this.evictions = new AtomicLong();
+  }
+
+  /**
+   * Returns the key of the entry for a source with the given bytes.
+   */
+  public static String key(byte[] source) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+      digest.update(source);
+      digest.update(new byte[] {
+          (byte) AstFormat.VERSION,
+          (byte) (AstFormat.SCHEMA >>> 24),
+          (byte) (AstFormat.SCHEMA >>> 16),
+          (byte) (AstFormat.SCHEMA >>> 8),
+          (byte) AstFormat.SCHEMA });
+
+      StringBuilder key = new StringBuilder();
+
+      for (byte value : digest.digest()) {
+        key.append(String.format("%02x", value));
+      }
+
+      return key.toString();
+    } catch (NoSuchAlgorithmException exception) {
+      // Every Java platform is required to provide SHA-256
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Returns the entry for key with its tokens and tree decoded into context,
+   * or null if there is none or it cannot be read. An entry is only a hit
+   * once it has been decoded in full; one that fails its checksum or does not
+   * decode is deleted and counted as a miss.
+   */
+  public Entry get(String key, CompilationContext context) {
+    Path path = entryPath(key);
+
+    if (!Files.exists(path)) {
+      this.misses.incrementAndGet();
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      Entry entry = new Entry(mapped, context);
+
+      touch(path);
+      this.hits.incrementAndGet();
+
+      return entry;
+    } catch (IOException | RuntimeException exception) {
+      delete(path);
+      this.misses.incrementAndGet();
+
+      return null;
+    }
+  }
+
+  /**
+   * Stores the tokens and the tree of a source under key, then evicts entries
+   * until the directory is back under its size limit.
+   */
+  public void put(String key, TokenBuffer tokens, AstArena tree) throws IOException {
+    byte[] tokenBytes = TokenBufferWriter.serialize(tokens);
+    byte[] treeBytes = AstWriter.serialize(tree);
+    ByteBuffer contents = ByteBuffer.allocate(8 + tokenBytes.length + treeBytes.length);
+    CRC32 checksum = new CRC32();
+
+    contents.position(4);
+    contents.putInt(tokenBytes.length).put(tokenBytes).put(treeBytes);
+    checksum.update(contents.array(), 4, contents.capacity() - 4);
+    contents.putInt(0, (int) checksum.getValue());
+
+    createDirectory();
+
+    Path temporary = Files.createTempFile(this.directory, key, TEMPORARY_SUFFIX);
+
+    try {
+      Files.write(temporary, contents.array());
+      move(temporary, entryPath(key));
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+
+    evict();
+  }
+
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  public long getEvictions() {
+    return this.evictions.get();
+  }
+
+  /**
+   * Creates the directory, where the file system allows it, readable and
+   * writable only by its owner, so other users can neither read entries nor
+   * plant their own. The entries themselves are created the same way.
+   */
+  private void createDirectory() throws IOException {
+    if (Files.isDirectory(this.directory)) {
+      return;
+    }
+
+    if (this.directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(this.directory,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(this.directory);
+    }
+  }
+
+  private Path entryPath(String key) {
+    return this.directory.resolve(key + ENTRY_SUFFIX);
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException exception) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private void evict() throws IOException {
+    List<Path> entries = new ArrayList<>();
+    long total = 0;
+    long now = System.currentTimeMillis();
+
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+
+        try {
+          if (name.endsWith(ENTRY_SUFFIX)) {
+            entries.add(file);
+            total += Files.size(file);
+          } else if (name.endsWith(TEMPORARY_SUFFIX)
+              && now - Files.getLastModifiedTime(file).toMillis() > ABANDONED_MILLIS) {
+            delete(file);
+          }
+        } catch (IOException exception) {
+          // Another process removed the file while we were listing
+        }
+      }
+    }
+
+    if (total <= this.maxBytes) {
+      return;
+    }
+
+    entries.sort(Comparator.comparing(CompilationCache::lastUsed));
+
+    for (Path entry : entries) {
+      if (total <= this.maxBytes) {
+        break;
+      }
+
+      try {
+        long size = Files.size(entry);
+
+        if (delete(entry)) {
+          total -= size;
+          this.evictions.incrementAndGet();
+        }
+      } catch (IOException exception) {
+        // Evicted by another process
+      }
+    }
+  }
+
+  private static FileTime lastUsed(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException exception) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static void touch(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException exception) {
+      // Evicted by another process; the mapping stays readable
+    }
+  }
+
+  private static boolean delete(Path file) {
+    try {
+      return Files.deleteIfExists(file);
+    } catch (IOException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * A cached source: its token stream and its tree, decoded from an entry
+   * laid out as a CRC-32 of the rest, the length of the tokens, the tokens
+   * and the tree.
+   */
+  public static class Entry {
+    private TokenBuffer tokens;
+    private AstArena tree;
+
+    private Entry(ByteBuffer contents, CompilationContext context) throws IOException {
+      if (contents.limit() < 8) {
+        throw new IOException("Truncated cache entry");
+      }
+
+      CRC32 checksum = new CRC32();
+
+      checksum.update(contents.slice(4, contents.limit() - 4));
+
+      if (contents.getInt(0) != (int) checksum.getValue()) {
+        throw new IOException("Corrupt cache entry");
+      }
+
+      int tokenLength = contents.getInt(4);
+
+      if (tokenLength < 0 || 8 + tokenLength > contents.limit()) {
+        throw new IOException("Truncated cache entry");
+      }
+
+      this.tokens = TokenBufferReader.read(contents.slice(8, tokenLength), context);
+      this.tree = new AstReader(
+          contents.slice(8 + tokenLength, contents.limit() - 8 - tokenLength), context)
+          .readArena();
+    }
+
+    public TokenBuffer getTokens() {
+      return this.tokens;
+    }
+
+    /**
+     * The tree, indexed by its original node numbers.
+     */
+    public AstArena getTree() {
+      return this.tree;
+    }
+  }
+}
@@ -3,28 +3,61 @@ package compiler;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import ast.AST;
+import ast.AstArena;
 import ast.trees.ProgramTree;
-import lexer.ILexer;
+import config.CompilerConfiguration;
+import lexer.CompilationContext;
 import lexer.Lexception;
 import lexer.Lexer;
+import lexer.LineIndex;
+import lexer.SymbolCache;
+import lexer.TokenBuffer;
+import lexer.readers.CharArraySourceReader;
+import lexer.readers.SourceFileReader;
+import parser.Diagnostic;
 import parser.Parser;
 import parser.SyntaxErrorException;
 import visitor.PrintVisitor;
 
 public class Compiler {
+  private static final SymbolCache SYMBOL_CACHE =
+      new SymbolCache(CompilerConfiguration.SYMBOL_CACHE_CAPACITY);
+  private static final CompilationCache CACHE =
+      CompilerConfiguration.CACHE_DIRECTORY == null
+          ? null
+          : new CompilationCache(
+              Paths.get(CompilerConfiguration.CACHE_DIRECTORY),
+              CompilerConfiguration.CACHE_MAX_BYTES);
 
   private String sourceFile;
+  private CompilationCache cache;
+  private List<Diagnostic> diagnostics = List.of();
+  private LineIndex lineIndex;
 
   public Compiler(String sourceFile) {
+    this(sourceFile, CACHE);
+  }
+
+  /**
+   * Compiles sourceFile through cache, or from scratch if cache is null.
+   */
+  public Compiler(String sourceFile, CompilationCache cache) {
     this.sourceFile = sourceFile;
+    this.cache = cache;
   }
 
   public void compileProgram() {
     try {
-      ILexer lexer = new Lexer(sourceFile);
-      Parser parser = new Parser(lexer);
+      // Symbols recorded for this program are released with its context
+      CompilationContext context = new CompilationContext(SYMBOL_CACHE);
 
-      ProgramTree ast = (ProgramTree) parser.execute();
+      ProgramTree ast = (ProgramTree) parse(context);
 
       try (BufferedReader br = new BufferedReader(new FileReader(sourceFile))) {
         String line;
@@ -43,6 +76,14 @@ public class Compiler {
       PrintVisitor printVisitor = new PrintVisitor();
       printVisitor.visit(ast);
 
+      for (Diagnostic diagnostic : this.diagnostics) {
+        System.err.println(String.format("%s:%d:%d: %s",
+            this.sourceFile,
+            this.lineIndex.getLineNumber(diagnostic.getOffset()),
+            this.lineIndex.getColumn(diagnostic.getOffset()) + 1,
+            diagnostic.getMessage()));
+      }
+
     } catch (Lexception e) {
       e.printStackTrace();
     } catch (SyntaxErrorException e) {
@@ -50,6 +91,94 @@ public class Compiler {
     }
   }
 
+  /**
+   * Returns the tree of the source, from the cache if the same bytes have
+   * been compiled before. Otherwise the source is lexed and parsed, and with
+   * a cache the tokens and tree are stored for the next run. The parse
+   * recovers from syntax errors, so a source with errors yields a partial
+   * tree with Error nodes, and getDiagnostics() lists every error. Such a
+   * tree is not cached.
+   */
+  public AST parse(CompilationContext context) throws Lexception, SyntaxErrorException {
+    if (this.cache == null) {
+      return parseFile(context);
+    }
+
+    byte[] source;
+
+    try {
+      source = Files.readAllBytes(Paths.get(this.sourceFile));
+    } catch (IOException exception) {
+      // Compile without the cache, so that the Lexer reports the missing file
+      return parseFile(context);
+    }
+
+    String key = CompilationCache.key(source);
+    CompilationCache.Entry entry = this.cache.get(key, context);
+
+    if (entry != null) {
+      AstArena tree = entry.getTree();
+
+      this.lineIndex = entry.getTokens().getLineIndex();
+
+      return tree.toTree(tree.getRoot());
+    }
+
+    // The tokens come from the bytes that were hashed, so the entry cannot
+    // hold the tree of a file that changed in between
+    char[] text = new String(source, StandardCharsets.UTF_8).toCharArray();
+    TokenBuffer tokens =
+        new Lexer(new CharArraySourceReader(text, 0, text.length), context).tokenize();
+    Parser parser = recovering(tokens);
+    AstArena arena = parser.executeArena();
+
+    this.diagnostics = parser.getDiagnostics();
+
+    if (this.diagnostics.isEmpty()) {
+      try {
+        this.cache.put(key, tokens, arena);
+      } catch (IOException exception) {
+        System.err.println(String.format("Could not cache %s: %s", this.sourceFile, exception));
+      }
+    }
+
+    return arena.toTree(arena.getRoot());
+  }
+
+  /**
+   * Lexes the file through a SourceFileReader and parses it straight into
+   * AST objects, bypassing the cache.
+   */
+  private AST parseFile(CompilationContext context) throws Lexception, SyntaxErrorException {
+    TokenBuffer tokens = new Lexer(new SourceFileReader(this.sourceFile), context).tokenize();
+    Parser parser = recovering(tokens);
+    AST tree = parser.execute();
+
+    this.diagnostics = parser.getDiagnostics();
+
+    return tree;
+  }
+
+  /**
+   * A parser that recovers from syntax errors over tokens, whose line starts
+   * are kept to place its diagnostics.
+   */
+  private Parser recovering(TokenBuffer tokens) {
+    Parser parser = new Parser(tokens);
+
+    parser.setRecovering(true);
+    this.lineIndex = tokens.getLineIndex();
+
+    return parser;
+  }
+
+  /**
+   * The syntax errors found by the last parse(); a cached tree has none.
+   */
+  public List<Diagnostic> getDiagnostics() {
+    return this.diagnostics;
+  }
+
   public static void main(String[] args) {
     if (args.length == 0) {
       System.err.println("usage: java compiler.Compiler <file>");
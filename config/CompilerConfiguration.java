@@ -3,4 +3,11 @@ package config;
 public class CompilerConfiguration {
   public static final String TOOLS_PACKAGE = "tools";
   public static final String DEFINITIONS_PACKAGE = "definitions";
+  // Lexemes kept in the SymbolCache shared by every compilation in the process
+  public static final int SYMBOL_CACHE_CAPACITY = 4096;
+  // Where compiled sources are cached between runs, or null to compile from
+  // scratch. Caching is opt in: set the compiler.cache system property to a
+  // directory of your own, which is created readable only by you
+  public static final String CACHE_DIRECTORY = System.getProperty("compiler.cache");
+  public static final long CACHE_MAX_BYTES = 64L * 1024 * 1024;
 }
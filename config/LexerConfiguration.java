@@ -13,6 +13,9 @@ public class LexerConfiguration {
   public static final String UNIQUE_SYMBOL_MAP_CLASS_NAME = "SymbolTable";
   public static final String UNIQUE_SYMBOL_MAP_FILE_NAME =
       String.format("%s.java", UNIQUE_SYMBOL_MAP_CLASS_NAME);
+  public static final String LEXER_TABLES_CLASS_NAME = "LexerTables";
+  public static final String LEXER_TABLES_FILE_NAME =
+      String.format("%s.java", LEXER_TABLES_CLASS_NAME);
 
   public static final Path TOKEN_FILE_PATH = Paths.get(
       CompilerConfiguration.TOOLS_PACKAGE,
@@ -22,4 +25,6 @@ public class LexerConfiguration {
       Paths.get(LEXER_PACKAGE, DAO_PACKAGE, TOKEN_KIND_FILE_NAME);
   public static final Path UNIQUE_SYMBOL_MAP_FILE_PATH =
       Paths.get(LEXER_PACKAGE, UNIQUE_SYMBOL_MAP_FILE_NAME);
+  public static final Path LEXER_TABLES_FILE_PATH =
+      Paths.get(LEXER_PACKAGE, LEXER_TABLES_FILE_NAME);
 }
@@ -6,7 +6,19 @@ import java.nio.file.Paths;
 public class ParserConfiguration {
   public static final String AST_PACKAGE = "ast";
   public static final String TREE_PACKAGE = "trees";
+  public static final String SERIALIZATION_PACKAGE = "serialization";
+  public static final String AST_SCHEMA_CLASS_NAME = "AstSchema";
+  public static final String AST_SCHEMA_FILE_NAME =
+      String.format("%s.java", AST_SCHEMA_CLASS_NAME);
   public static final String AST_FILE_NAME = "asts.txt";
+  public static final String PARSER_PACKAGE = "parser";
+  public static final String GRAMMAR_FILE_NAME = "grammar.txt";
+  public static final String GRAMMAR_SETS_CLASS_NAME = "GrammarSets";
+  public static final String GRAMMAR_SETS_FILE_NAME =
+      String.format("%s.java", GRAMMAR_SETS_CLASS_NAME);
+  public static final String PARSER_TABLES_CLASS_NAME = "ParserTables";
+  public static final String PARSER_TABLES_FILE_NAME =
+      String.format("%s.java", PARSER_TABLES_CLASS_NAME);
 
   public static final Path AST_FILE_PATH = Paths.get(
       CompilerConfiguration.TOOLS_PACKAGE,
@@ -14,5 +26,15 @@ public class ParserConfiguration {
       AST_FILE_NAME);
 
   public static final Path TREE_DIRECTORY = Paths.get(AST_PACKAGE, TREE_PACKAGE);
+  public static final Path AST_SCHEMA_FILE_PATH =
+      Paths.get(AST_PACKAGE, SERIALIZATION_PACKAGE, AST_SCHEMA_FILE_NAME);
 
+  public static final Path GRAMMAR_FILE_PATH = Paths.get(
+      CompilerConfiguration.TOOLS_PACKAGE,
+      CompilerConfiguration.DEFINITIONS_PACKAGE,
+      GRAMMAR_FILE_NAME);
+  public static final Path GRAMMAR_SETS_FILE_PATH =
+      Paths.get(PARSER_PACKAGE, GRAMMAR_SETS_FILE_NAME);
+  public static final Path PARSER_TABLES_FILE_PATH =
+      Paths.get(PARSER_PACKAGE, PARSER_TABLES_FILE_NAME);
 }
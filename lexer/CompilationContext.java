@@ -0,0 +1,93 @@
+package lexer;
+
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+
+/**
+ * Holds the symbols recorded while compiling one source. The keywords and
+ * operators from tokens.txt live in SymbolTable's read-only built-in table and
+ * are shared by every context. Identifiers and literals are interned here, and
+ * their ids continue after the built-ins. Everything a compilation records is
+ * released along with its context, so a long-running process does not grow
+ * with every source it compiles.
+ *
+ * Contexts can share a SymbolCache so that frequent lexemes reuse one String.
+ * Each context still creates its own Symbols.
+ *
+ * SymbolTable's static recordSymbol() and getSymbol() use the global context,
+ * which is never released.
+ */
+public class CompilationContext {
+  private static final CompilationContext GLOBAL = new CompilationContext();
+
+  private SymbolInterner symbols;
+  private SymbolCache cache;
+
+  public CompilationContext() {
+    this(null);
+  }
+
+  public CompilationContext(SymbolCache cache) {
+    this.symbols = new SymbolInterner(SymbolTable.getBuiltInCount());
+    this.cache = cache;
+  }
+
+  public static CompilationContext global() {
+    return GLOBAL;
+  }
+
+  public Symbol recordSymbol(String lexeme, TokenKind kind) {
+    Symbol symbol = SymbolTable.getBuiltIn(lexeme);
+
+    if (symbol == null) {
+      symbol = this.symbols.get(lexeme);
+    }
+
+    if (symbol == null) {
+      if (kind == TokenKind.BogusToken) {
+        // bogus string so don't enter into symbols
+        return null;
+      }
+
+      symbol = this.symbols.putIfAbsent(
+          this.cache == null ? lexeme : this.cache.intern(lexeme), kind);
+    }
+
+    return symbol;
+  }
+
+  public Symbol recordSymbol(char[] buffer, int start, int length, TokenKind kind) {
+    Symbol symbol = SymbolTable.getBuiltIn(buffer, start, length);
+
+    if (symbol == null) {
+      symbol = this.symbols.get(buffer, start, length);
+    }
+
+    if (symbol == null) {
+      if (kind == TokenKind.BogusToken) {
+        // bogus string so don't enter into symbols
+        return null;
+      }
+
+      symbol = this.symbols.putIfAbsent(
+          this.cache == null
+              ? new String(buffer, start, length)
+              : this.cache.intern(buffer, start, length),
+          kind);
+    }
+
+    return symbol;
+  }
+
+  public Symbol getSymbol(int id) {
+    return id < SymbolTable.getBuiltInCount() ? SymbolTable.getBuiltIn(id) : this.symbols.get(id);
+  }
+
+  /**
+   * The number of symbols recorded in this context, not counting the
+   * built-ins.
+   */
+  public int size() {
+    return this.symbols.size();
+  }
+}
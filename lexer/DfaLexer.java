@@ -0,0 +1,175 @@
+package lexer;
+
+import lexer.daos.Symbol;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.BufferedSource;
+import lexer.readers.IReader;
+import lexer.readers.SourceFileReader;
+
+/**
+ * A lexer driven by the tables the ToolRunner generates from tokens.txt into
+ * LexerTables. Each character is classified with one table lookup and makes
+ * one transition; operators are resolved through the symbol of their
+ * accepting state instead of by probing the SymbolTable with candidate
+ * lexemes. It produces the same tokens and errors as Lexer.
+ */
+public class DfaLexer implements ILexer, AutoCloseable {
+    private static final Symbol[] ACCEPTING_SYMBOLS =
+        new Symbol[LexerTables.ACCEPTING_LEXEMES.length];
+
+    static {
+        for (int state = 0; state < ACCEPTING_SYMBOLS.length; state++) {
+            if (LexerTables.ACCEPTING_LEXEMES[state] != null) {
+                ACCEPTING_SYMBOLS[state] = SymbolTable.getBuiltIn(LexerTables.ACCEPTING_LEXEMES[state]);
+            }
+        }
+    }
+
+    private BufferedSource source;
+    private int characterClass;
+    private int startOffset;
+    private LineIndex lineIndex;
+    private CompilationContext context;
+    private Symbol endOfInput;
+
+    public DfaLexer(IReader reader) {
+        this(reader, CompilationContext.global());
+    }
+
+    public DfaLexer(IReader reader, CompilationContext context) {
+        this.source = new BufferedSource(reader);
+        this.characterClass = LexerTables.WHITESPACE;
+        this.lineIndex = new LineIndex();
+        this.context = context;
+        this.endOfInput = context.recordSymbol("\0", TokenKind.EOF);
+    }
+
+    public DfaLexer(String sourceFilePath) {
+        this(new SourceFileReader(sourceFilePath));
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.source.close();
+    }
+
+    @Override
+    public Token nextToken() throws Lexception {
+        while (true) {
+            ignoreWhitespace();
+            this.startOffset = this.source.getOffset();
+
+            if (this.characterClass == LexerTables.END_OF_INPUT) {
+                return new Token(this.endOfInput, this.startOffset, 1, this.lineIndex);
+            }
+
+            int state = longestMatch();
+
+            if (state == LexerTables.NO_STATE) {
+                throw new Lexception(
+                    String.valueOf(this.source.getBuffer()[this.source.getMark()]),
+                    this.lineIndex.getLineNumber(this.source.getOffset()),
+                    this.lineIndex.getColumn(this.source.getOffset()));
+            }
+
+            switch (LexerTables.ACCEPTING_KINDS[state]) {
+                case Comment:
+                    this.source.clearMark();
+                    ignoreComment();
+                    break;
+                case Identifier:
+                    Symbol keyword = SymbolTable.keyword(
+                        this.source.getBuffer(), this.source.getMark(), this.source.getMarkedLength());
+
+                    return newToken(keyword != null ? keyword : recordLexeme(TokenKind.Identifier));
+                case IntLit:
+                    return newToken(recordLexeme(TokenKind.IntLit));
+                default:
+                    return newToken(ACCEPTING_SYMBOLS[state]);
+            }
+        }
+    }
+
+    private void ignoreWhitespace() {
+        while (this.characterClass == LexerTables.WHITESPACE
+                || this.characterClass == LexerTables.NEWLINE) {
+            if (this.characterClass == LexerTables.NEWLINE) {
+                this.lineIndex.addLineStart(this.source.getOffset() + 1);
+            }
+
+            this.characterClass = LexerTables.classify(this.source.nextNonBlank());
+        }
+    }
+
+    /**
+     * Runs the transition table from the current character and leaves the source
+     * positioned just past the longest lexeme that reached an accepting state,
+     * which is returned. When no prefix is accepted the source is left just past
+     * the first character, as Lexer does before reporting it.
+     */
+    private int longestMatch() {
+        this.source.mark();
+
+        int state = LexerTables.START;
+        int accepted = LexerTables.NO_STATE;
+        int acceptedLength = 1;
+        int length = 0;
+
+        while (true) {
+            int next = LexerTables.TRANSITIONS[state * LexerTables.CLASS_COUNT + this.characterClass];
+
+            if (next == LexerTables.NO_STATE) {
+                break;
+            }
+
+            state = next;
+            length++;
+            advance();
+
+            if (LexerTables.ACCEPTING_KINDS[state] != null) {
+                accepted = state;
+                acceptedLength = length;
+            }
+        }
+
+        if (length != acceptedLength) {
+            this.source.reset(acceptedLength);
+            advance();
+        }
+
+        return accepted;
+    }
+
+    private void ignoreComment() {
+        if (this.characterClass != LexerTables.NEWLINE
+                && this.characterClass != LexerTables.END_OF_INPUT) {
+            this.characterClass = LexerTables.classify(this.source.nextLineEnd());
+        }
+    }
+
+    private void advance() {
+        this.characterClass = LexerTables.classify(this.source.next());
+    }
+
+    private Symbol recordLexeme(TokenKind kind) {
+        return this.context.recordSymbol(
+            this.source.getBuffer(), this.source.getMark(), this.source.getMarkedLength(), kind);
+    }
+
+    private Token newToken(Symbol symbol) {
+        this.source.clearMark();
+
+        return new Token(symbol, this.startOffset, this.source.getOffset() - this.startOffset, this.lineIndex);
+    }
+
+    @Override
+    public CompilationContext getContext() {
+        return this.context;
+    }
+
+    @Override
+    public String toString() {
+        return this.source.toString();
+    }
+}
@@ -4,4 +4,11 @@ import lexer.daos.Token;
 
 public interface ILexer {
   public Token nextToken() throws Lexception;
+
+  /**
+   * The context the symbols of the returned tokens are recorded in.
+   */
+  public default CompilationContext getContext() {
+    return CompilationContext.global();
+  }
 }
@@ -0,0 +1,173 @@
+package lexer;
+
+import java.util.Arrays;
+
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+
+/**
+ * Keeps the text and tokens of a source that is edited in place, as in an
+ * editor, and brings the tokens up to date after each edit by relexing only
+ * around it. Lexing restarts at the token before the first token the edit
+ * touches and stops as soon as a new token, past the inserted text, starts
+ * where an old token (moved by the size change) started and has the same
+ * kind. Lexing carries no state from one token to the next and no token spans
+ * a newline, so from there on the old tokens are still right and are copied
+ * with their offsets and line starts shifted.
+ */
+public class IncrementalLexer {
+    private char[] text;
+    private int length;
+    private TokenBuffer tokens;
+    private CompilationContext context;
+    private int relexedTokenCount;
+
+    public IncrementalLexer(char[] text, int length) throws Lexception {
+        this(text, length, CompilationContext.global());
+    }
+
+    public IncrementalLexer(char[] text, int length, CompilationContext context) throws Lexception {
+        this.text = Arrays.copyOf(text, length);
+        this.length = length;
+        this.context = context;
+        this.tokens = new Lexer(new CharArraySourceReader(this.text, 0, length), context).tokenize();
+        this.relexedTokenCount = this.tokens.size();
+    }
+
+    public IncrementalLexer(String text) throws Lexception {
+        this(text.toCharArray(), text.length());
+    }
+
+    public char[] getText() {
+        return this.text;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public TokenBuffer getTokens() {
+        return this.tokens;
+    }
+
+    /**
+     * The number of tokens lexed to bring the tokens up to date after the last
+     * edit (or to lex the initial text).
+     */
+    public int getRelexedTokenCount() {
+        return this.relexedTokenCount;
+    }
+
+    /**
+     * Replaces removedLength characters at offset with insertedText and returns
+     * the updated tokens. If the edited text fails to lex the Lexception is
+     * thrown and neither the text nor the tokens are changed.
+     */
+    public TokenBuffer edit(int offset, int removedLength, String insertedText) throws Lexception {
+        if (offset < 0 || removedLength < 0 || offset + removedLength > this.length) {
+            throw new IndexOutOfBoundsException(String.format(
+                "Edit [%d, %d) is outside the text of length %d.",
+                offset, offset + removedLength, this.length));
+        }
+
+        int shift = insertedText.length() - removedLength;
+        char[] newText = new char[this.length + shift];
+
+        System.arraycopy(this.text, 0, newText, 0, offset);
+        insertedText.getChars(0, insertedText.length(), newText, offset);
+        System.arraycopy(
+            this.text, offset + removedLength,
+            newText, offset + insertedText.length(),
+            this.length - offset - removedLength);
+
+        this.tokens = relex(newText, offset, offset + insertedText.length(), shift);
+        this.text = newText;
+        this.length = newText.length;
+
+        return this.tokens;
+    }
+
+    private TokenBuffer relex(char[] newText, int editStart, int editEnd, int shift) throws Lexception {
+        TokenBuffer old = this.tokens;
+        int restartIndex = Math.max(firstTouchedToken(editStart) - 1, 0);
+        int restart = restartIndex == 0 ? 0 : old.getOffset(restartIndex);
+
+        LineIndex lines = new LineIndex();
+        TokenBuffer tokens = new TokenBuffer(lines, old.size() + 16, this.context);
+        LineIndex oldLines = old.getLineIndex();
+        int line = 2;
+
+        for (; line <= oldLines.getLineCount() && oldLines.getLineStart(line) <= restart; line++) {
+            lines.addLineStart(oldLines.getLineStart(line));
+        }
+
+        tokens.append(old, 0, restartIndex, 0);
+
+        Lexer lexer = new Lexer(new CharArraySourceReader(newText, restart, newText.length), this.context);
+        int oldIndex = restartIndex;
+        this.relexedTokenCount = 0;
+
+        while (true) {
+            Token token = lexer.nextToken();
+            int offset = token.getOffset() + restart;
+            this.relexedTokenCount++;
+
+            if (offset >= editEnd) {
+                while (oldIndex < old.size() - 1 && old.getOffset(oldIndex) + shift < offset) {
+                    oldIndex++;
+                }
+
+                if (old.getOffset(oldIndex) + shift == offset
+                        && old.getTokenKind(oldIndex) == token.getTokenKind()) {
+                    addLineStarts(lines, lexer.getLineIndex(), restart);
+
+                    for (; line <= oldLines.getLineCount(); line++) {
+                        if (oldLines.getLineStart(line) > old.getOffset(oldIndex)) {
+                            lines.addLineStart(oldLines.getLineStart(line) + shift);
+                        }
+                    }
+
+                    tokens.append(old, oldIndex, old.size() - oldIndex, shift);
+
+                    return tokens;
+                }
+            }
+
+            tokens.add(token.getSymbol(), offset, token.getLength());
+
+            if (token.getTokenKind() == TokenKind.EOF) {
+                addLineStarts(lines, lexer.getLineIndex(), restart);
+
+                return tokens;
+            }
+        }
+    }
+
+    /**
+     * The index of the first token that ends at or after offset, so a token
+     * that the edit could extend counts as touched.
+     */
+    private int firstTouchedToken(int offset) {
+        int low = 0;
+        int high = this.tokens.size() - 1;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (this.tokens.getOffset(middle) + this.tokens.getLength(middle) < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private static void addLineStarts(LineIndex lines, LineIndex relexedLines, int restart) {
+        for (int line = 2; line <= relexedLines.getLineCount(); line++) {
+            lines.addLineStart(relexedLines.getLineStart(line) + restart);
+        }
+    }
+}
@@ -8,19 +8,34 @@ import java.io.IOException;
 import lexer.daos.Symbol;
 import lexer.daos.Token;
 import lexer.daos.TokenKind;
+import lexer.readers.BufferedSource;
 import lexer.readers.IReader;
 import lexer.readers.SourceFileReader;
 
 public class Lexer implements ILexer, AutoCloseable {
-    private IReader reader;
+    /**
+     * ASCII characters are classified with a lookup in the generated
+     * LexerTables, which agree with Character on all of them; only other
+     * characters go through the Character methods.
+     */
+    private static final byte[] ASCII_CLASSES = LexerTables.CHARACTER_CLASSES;
+
+    private BufferedSource source;
     private char ch;
-    private int startPosition, endPosition;
-    private int lineNumber = 1;
+    private int startOffset;
+    private int tokenLength;
+    private LineIndex lineIndex;
+    private CompilationContext context;
     
     public Lexer(IReader reader) {
-        this.reader = reader;
+        this(reader, CompilationContext.global());
+    }
+
+    public Lexer(IReader reader, CompilationContext context) {
+        this.source = new BufferedSource(reader);
         this.ch = ' ';
-        this.lineNumber = 1; 
+        this.lineIndex = new LineIndex();
+        this.context = context;
     }
 
     public Lexer(String sourceFilePath) {
@@ -29,147 +44,231 @@ public class Lexer implements ILexer, AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        this.reader.close();
+        this.source.close();
     }
 
     @Override
     public Token nextToken() throws Lexception {
-        ignoreWhitespace();
-        beginNewToken();
+        Symbol symbol = nextSymbol();
 
-        if (Character.isJavaIdentifierStart(this.ch)) {
-            return identifierOrKeyword();
-        }
+        return new Token(symbol, this.startOffset, this.tokenLength, this.lineIndex);
+    }
 
-        if (Character.isDigit(this.ch)) {
-            return integer();
-        }
+    /**
+     * Lexes the rest of the source, up to and including the EOF token, into a
+     * TokenBuffer without creating a Token object per token.
+     */
+    public TokenBuffer tokenize() throws Lexception {
+        TokenBuffer tokens = new TokenBuffer(this.lineIndex, this.context);
+        Symbol symbol;
+
+        do {
+            symbol = nextSymbol();
+            tokens.add(symbol, this.startOffset, this.tokenLength);
+        } while (symbol.getTokenKind() != TokenKind.EOF);
+
+        return tokens;
+    }
+
+    /**
+     * Comments are skipped in place, so a run of comment lines is lexed in a
+     * loop rather than with a nested call per line.
+     */
+    private Symbol nextSymbol() throws Lexception {
+        Symbol symbol;
+
+        do {
+            ignoreWhitespace();
+            beginNewToken();
+
+            if (isIdentifierStart(this.ch)) {
+                return identifierOrKeyword();
+            }
+
+            if (isDigit(this.ch)) {
+                return integer();
+            }
 
-        return operatorOrSeparator();
+            symbol = operatorOrSeparator();
+        } while (symbol.getTokenKind() == TokenKind.Comment);
+
+        return symbol;
     }
 
     private void ignoreWhitespace() {
-        while (Character.isWhitespace(this.ch)) {
-            advance();
+        while (isWhitespace(this.ch)) {
+            if (this.ch == '\n') {
+                this.lineIndex.addLineStart(currentOffset() + 1);
+            }
+
+            this.ch = this.source.nextNonBlank();
         }
     }
 
     private void beginNewToken() {
-        this.startPosition = this.reader.getColumn();
-        this.endPosition = this.startPosition;
+        this.startOffset = currentOffset();
     }
 
-    private boolean isKeyword(String lexeme) {
-        try {
-            TokenKind.valueOf(lexeme);  
-            return true;  
-        } catch (IllegalArgumentException e) {
-            return false;  
-        }
-    }
-
-    
-    private Token identifierOrKeyword() {
-        String lexeme = "";
+    private Symbol identifierOrKeyword() {
+        this.source.mark();
 
         do {
-            lexeme += this.ch;
             advance();
-        } while (Character.isJavaIdentifierPart(this.ch) && !atEof());
+        } while (isIdentifierPart(this.ch) && !atEof());
 
-        return new Token(
-            SymbolTable.recordSymbol(lexeme, TokenKind.Identifier),
-            this.startPosition,
-            this.endPosition - 1,
-            reader.getLineNumber());
+        Symbol keyword = SymbolTable.keyword(
+            this.source.getBuffer(), this.source.getMark(), this.source.getMarkedLength());
+
+        return endToken(keyword != null ? keyword : recordLexeme(TokenKind.Identifier));
     }
 
-    private Token integer() {
-        String lexeme = "";
+    private Symbol integer() {
+        this.source.mark();
 
         do {
-            lexeme += this.ch;
             advance();
-        } while (Character.isDigit(this.ch) && !atEof());
-
-        
-        return new Token(
-            SymbolTable.recordSymbol(lexeme, TokenKind.IntLit),
-            this.startPosition,
-            this.endPosition - 1,
-            reader.getLineNumber());
+        } while (isDigit(this.ch) && !atEof());
+
+        return endToken(recordLexeme(TokenKind.IntLit));
     }  
 
     private boolean isBinaryDigit() {
         return this.ch == '0' || this.ch == '1';
     }
  
-    private Token operatorOrSeparator() throws Lexception {
-        String singleCharacter = "" + this.ch;
+    private Symbol operatorOrSeparator() throws Lexception {
+        this.source.mark();
 
         if (atEof()) {
-            return new Token(
-                SymbolTable.recordSymbol(singleCharacter, TokenKind.EOF),
-                this.startPosition,
-                this.endPosition,
-                this.lineNumber); 
+            return endToken(recordLexeme(1, TokenKind.EOF), 1);
         }
 
         advance();
 
-        String doubleCharacter = singleCharacter + this.ch;
-        Symbol symbol = SymbolTable.recordSymbol(doubleCharacter, TokenKind.BogusToken);
+        Symbol symbol = recordLexeme(2, TokenKind.BogusToken);
 
         if (symbol == null) {
-            return singleCharacterOperatorOrSeparator(singleCharacter);
+            return singleCharacterOperatorOrSeparator();
         } else if (symbol.getTokenKind() == TokenKind.Comment) {
+            this.source.clearMark();
             ignoreComment();
-            return nextToken();
+
+            return symbol;
         } else {
             advance();
 
-            return new Token(
-                symbol,
-                this.startPosition,
-                this.endPosition - 1,
-                this.lineNumber);
+            return endToken(symbol);
         }
     }
 
-    private Token singleCharacterOperatorOrSeparator(String lexeme) throws Lexception {
-        Symbol symbol = SymbolTable.recordSymbol(lexeme, TokenKind.BogusToken);
+    private Symbol singleCharacterOperatorOrSeparator() throws Lexception {
+        Symbol symbol = recordLexeme(1, TokenKind.BogusToken);
 
         if (symbol == null) {
-            throw new Lexception(lexeme, this.reader.getLineNumber(), this.reader.getColumn());
+            throw new Lexception(
+                String.valueOf(this.source.getBuffer()[this.source.getMark()]),
+                this.lineIndex.getLineNumber(currentOffset()),
+                this.lineIndex.getColumn(currentOffset()));
         } else {
-            return new Token(
-                symbol,
-                this.startPosition,
-                this.endPosition - 1,
-                this.lineNumber); 
+            return endToken(symbol);
         }
     }
 
-    private void ignoreComment() {
-        int currentLine = this.reader.getLineNumber();
+    private Symbol endToken(Symbol symbol) {
+        return endToken(symbol, currentOffset() - this.startOffset);
+    }
 
-        while (currentLine == this.reader.getLineNumber() && !atEof()) {
-            advance();
+    private Symbol endToken(Symbol symbol, int length) {
+        this.source.clearMark();
+        this.tokenLength = length;
+
+        return symbol;
+    }
+
+    private void ignoreComment() {
+        if (this.ch != '\n' && !atEof()) {
+            this.ch = this.source.nextLineEnd();
         }
     }
 
     private void advance() {
-        this.ch = this.reader.read();
-        this.endPosition++;
+        this.ch = this.source.next();
+    }
+
+    /**
+     * Looks up the characters scanned since the mark, excluding the current
+     * character, directly in the source buffer. A String is only allocated when
+     * the lexeme is seen for the first time.
+     */
+    private Symbol recordLexeme(TokenKind kind) {
+        return recordLexeme(this.source.getMarkedLength(), kind);
+    }
+
+    private Symbol recordLexeme(int length, TokenKind kind) {
+        return this.context.recordSymbol(this.source.getBuffer(), this.source.getMark(), length, kind);
+    }
+
+    private int currentOffset() {
+        return this.source.getOffset();
     }
 
     private boolean atEof() {
         return this.ch == '\0';
     }
 
+    private static boolean isWhitespace(char ch) {
+        if (ch < ASCII_CLASSES.length) {
+            int characterClass = ASCII_CLASSES[ch];
+
+            return characterClass == LexerTables.WHITESPACE || characterClass == LexerTables.NEWLINE;
+        }
+
+        return Character.isWhitespace(ch);
+    }
+
+    private static boolean isIdentifierStart(char ch) {
+        if (ch < ASCII_CLASSES.length) {
+            return ASCII_CLASSES[ch] == LexerTables.IDENTIFIER_START;
+        }
+
+        return Character.isJavaIdentifierStart(ch);
+    }
+
+    private static boolean isIdentifierPart(char ch) {
+        if (ch < ASCII_CLASSES.length) {
+            int characterClass = ASCII_CLASSES[ch];
+
+            return characterClass == LexerTables.IDENTIFIER_START
+                || characterClass == LexerTables.DIGIT
+                || characterClass == LexerTables.IDENTIFIER_PART;
+        }
+
+        return Character.isJavaIdentifierPart(ch);
+    }
+
+    private static boolean isDigit(char ch) {
+        if (ch < ASCII_CLASSES.length) {
+            return ASCII_CLASSES[ch] == LexerTables.DIGIT;
+        }
+
+        return Character.isDigit(ch);
+    }
+
+    /**
+     * The start of every line the lexer has moved past so far.
+     */
+    public LineIndex getLineIndex() {
+        return this.lineIndex;
+    }
+
+    @Override
+    public CompilationContext getContext() {
+        return this.context;
+    }
+
     @Override
     public String toString() {
-        return this.reader.toString();
+        return this.source.toString();
     }
 
     public static void main(String[] args) {
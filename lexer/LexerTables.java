@@ -0,0 +1,174 @@
+package lexer;
+
+import lexer.daos.TokenKind;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+public class LexerTables {
+  // Character classes
+  public static final int WHITESPACE = 0;
+  public static final int NEWLINE = 1;
+  public static final int END_OF_INPUT = 2;
+  public static final int IDENTIFIER_START = 3;
+  public static final int DIGIT = 4;
+  public static final int IDENTIFIER_PART = 5;
+  public static final int OTHER = 6;
+  // 7: '{'
+  // 8: '}'
+  // 9: '('
+  // 10: ')'
+  // 11: ','
+  // 12: '='
+  // 13: '!'
+  // 14: '<'
+  // 15: '+'
+  // 16: '-'
+  // 17: '|'
+  // 18: '&'
+  // 19: '*'
+  // 20: '/'
+  // 21: '>'
+  // 22: '~'
+  public static final int CLASS_COUNT = 23;
+
+  public static final int START = 0;
+  public static final int NO_STATE = -1;
+
+  public static final byte[] CHARACTER_CLASSES = {
+    2, 5, 5, 5, 5, 5, 5, 5, 5, 0, 1, 0, 0, 0, 5, 5,
+    5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 0, 0, 0, 0,
+    0, 13, 6, 6, 3, 6, 18, 6, 9, 10, 19, 15, 11, 16, 6, 20,
+    4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 6, 6, 14, 12, 21, 6,
+    6, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+    3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 6, 6, 6, 6, 3,
+    6, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+    3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 7, 17, 8, 22, 5,
+  };
+
+  public static final short[] TRANSITIONS = {
+    // 0: start
+    -1, -1, -1, 1, 2, -1, -1, 3, 4, 5, 6, 7, 8, 10, 12, 14, 15, 16, 17, 18, 19, 21, 24,
+    // 1: <id>
+    -1, -1, -1, 1, 1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 2: <int>
+    -1, -1, -1, -1, 2, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 3: {
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 4: }
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 5: (
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 6: )
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 7: ,
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 8: =
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 9, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 9: ==
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 10: !
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 11, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 11: !=
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 12: <
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 13, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 13: <=
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 14: +
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 15: -
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 16: |
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 23, -1, -1, -1, -1, -1, -1,
+    // 17: &
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 18: *
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 19: /
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 20, -1, -1,
+    // 20: //
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 21: >
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 22, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 22: >=
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 23: |-
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    // 24: ~
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+  };
+
+  public static final TokenKind[] ACCEPTING_KINDS = {
+    null,
+    TokenKind.Identifier,
+    TokenKind.IntLit,
+    TokenKind.LeftBrace,
+    TokenKind.RightBrace,
+    TokenKind.LeftParen,
+    TokenKind.RightParen,
+    TokenKind.Comma,
+    TokenKind.Assign,
+    TokenKind.Equal,
+    null,
+    TokenKind.NotEqual,
+    TokenKind.Less,
+    TokenKind.LessEqual,
+    TokenKind.Plus,
+    TokenKind.Minus,
+    TokenKind.Or,
+    TokenKind.And,
+    TokenKind.Multiply,
+    TokenKind.Divide,
+    TokenKind.Comment,
+    TokenKind.Greater,
+    TokenKind.GreaterEqual,
+    TokenKind.Pipette,
+    TokenKind.Tilde,
+  };
+
+  public static final String[] ACCEPTING_LEXEMES = {
+    null,
+    null,
+    null,
+    "{",
+    "}",
+    "(",
+    ")",
+    ",",
+    "=",
+    "==",
+    null,
+    "!=",
+    "<",
+    "<=",
+    "+",
+    "-",
+    "|",
+    "&",
+    "*",
+    "/",
+    "//",
+    ">",
+    ">=",
+    "|-",
+    "~",
+  };
+
+  public static int classify(char ch) {
+    if (ch < CHARACTER_CLASSES.length) {
+      return CHARACTER_CLASSES[ch];
+    } else if (Character.isWhitespace(ch)) {
+      return WHITESPACE;
+    } else if (Character.isJavaIdentifierStart(ch)) {
+      return IDENTIFIER_START;
+    } else if (Character.isDigit(ch)) {
+      return DIGIT;
+    } else if (Character.isJavaIdentifierPart(ch)) {
+      return IDENTIFIER_PART;
+    }
+
+    return OTHER;
+  }
+}
@@ -0,0 +1,77 @@
+package lexer;
+
+import java.util.Arrays;
+
+/**
+ * Records the offset at which each line of a source starts so that an absolute
+ * character offset can be resolved to a line number and column on demand with
+ * a binary search. Lines are numbered from 1 and columns from 0.
+ */
+public class LineIndex {
+  private static final int INITIAL_CAPACITY = 64;
+
+  private int[] lineStarts;
+  private int lineCount;
+
+  public LineIndex() {
+    this.lineStarts = new int[INITIAL_CAPACITY];
+    this.lineStarts[0] = 0;
+    this.lineCount = 1;
+  }
+
+  /**
+   * Builds the index for the characters of source in [start, end) in a single
+   * pass. Offsets are relative to start.
+   */
+  public static LineIndex of(char[] source, int start, int end) {
+    LineIndex index = new LineIndex();
+
+    for (int position = start; position < end; position++) {
+      if (source[position] == '\n') {
+        index.addLineStart(position + 1 - start);
+      }
+    }
+
+    return index;
+  }
+
+  /**
+   * Records that a new line starts at offset. Offsets must be added in
+   * increasing order.
+   */
+  public void addLineStart(int offset) {
+    if (this.lineCount == this.lineStarts.length) {
+      this.lineStarts = Arrays.copyOf(this.lineStarts, this.lineCount * 2);
+    }
+
+    this.lineStarts[this.lineCount++] = offset;
+  }
+
+  public int getLineCount() {
+    return this.lineCount;
+  }
+
+  public int getLineStart(int lineNumber) {
+    return this.lineStarts[lineNumber - 1];
+  }
+
+  public int getLineNumber(int offset) {
+    int low = 0, high = this.lineCount - 1;
+
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+
+      if (this.lineStarts[middle] <= offset) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return low + 1;
+  }
+
+  public int getColumn(int offset) {
+    return offset - this.lineStarts[getLineNumber(offset) - 1];
+  }
+}
@@ -0,0 +1,191 @@
+package lexer;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+import lexer.readers.MappedSourceReader;
+
+/**
+ * Lexes a source held in memory by cutting it into newline-aligned chunks and
+ * lexing each chunk with its own Lexer on a ForkJoinPool. No token spans a
+ * newline (comments are line comments and there are no multi-line literals),
+ * so every chunk starts at the beginning of a line and its tokens are the same
+ * as the sequential Lexer's once their offsets are moved by the chunk start.
+ * The per-chunk token arrays and line starts are then joined in order.
+ *
+ * If any chunk fails to lex the source is lexed again sequentially, so the
+ * tokens before the error and the Lexception itself are exactly Lexer's.
+ * All chunks record their symbols in the same CompilationContext, so symbol
+ * ids agree across chunks.
+ */
+public class ParallelLexer implements ILexer {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private char[] source;
+    private int length;
+    private int chunkSize;
+    private ForkJoinPool pool;
+    private CompilationContext context;
+    private ILexer tokens;
+
+    public ParallelLexer(char[] source, int length) {
+        this(source, length, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ParallelLexer(char[] source, int length, int chunkSize, ForkJoinPool pool) {
+        this(source, length, chunkSize, pool, CompilationContext.global());
+    }
+
+    public ParallelLexer(
+            char[] source, int length, int chunkSize, ForkJoinPool pool, CompilationContext context) {
+        this.source = source;
+        this.length = length;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.context = context;
+    }
+
+    public ParallelLexer(CharBuffer source) {
+        this(source.array(), source.limit());
+    }
+
+    public ParallelLexer(String sourceFilePath) {
+        this(MappedSourceReader.decode(sourceFilePath));
+    }
+
+    @Override
+    public Token nextToken() throws Lexception {
+        if (this.tokens == null) {
+            try {
+                this.tokens = new TokenBufferLexer(tokenize());
+            } catch (Lexception exception) {
+                this.tokens = new Lexer(
+                    new CharArraySourceReader(this.source, 0, this.length), this.context);
+            }
+        }
+
+        return this.tokens.nextToken();
+    }
+
+    @Override
+    public CompilationContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * Lexes the whole source, up to and including the EOF token, into a
+     * TokenBuffer with the same contents Lexer.tokenize() would produce.
+     */
+    public TokenBuffer tokenize() throws Lexception {
+        List<Integer> starts = split();
+        List<ForkJoinTask<TokenBuffer>> chunks = new ArrayList<>();
+
+        for (int chunk = 0; chunk < starts.size() - 1; chunk++) {
+            int start = starts.get(chunk);
+            int end = starts.get(chunk + 1);
+
+            chunks.add(this.pool.submit(() -> lexChunk(start, end)));
+        }
+
+        List<TokenBuffer> results = new ArrayList<>();
+        int tokenCount = 0;
+
+        for (ForkJoinTask<TokenBuffer> chunk : chunks) {
+            TokenBuffer result = chunk.join();
+
+            if (result == null) {
+                return new Lexer(
+                    new CharArraySourceReader(this.source, 0, this.length), this.context).tokenize();
+            }
+
+            results.add(result);
+            tokenCount += result.size();
+        }
+
+        return join(starts, results, tokenCount);
+    }
+
+    /**
+     * Returns the offsets at which chunks start, followed by the source length.
+     * Every chunk but the last ends just after a newline.
+     */
+    private List<Integer> split() {
+        List<Integer> starts = new ArrayList<>();
+        int start = 0;
+
+        do {
+            starts.add(start);
+            start = chunkEnd(start);
+        } while (start < this.length);
+
+        starts.add(this.length);
+
+        return starts;
+    }
+
+    private int chunkEnd(int start) {
+        int end = start + this.chunkSize;
+
+        if (end >= this.length) {
+            return this.length;
+        }
+
+        while (end < this.length && this.source[end] != '\n') {
+            end++;
+        }
+
+        return Math.min(end + 1, this.length);
+    }
+
+    /**
+     * Lexes one chunk, or returns null if it fails to lex so that tokenize()
+     * can relex the whole source and report the error where Lexer would. Any
+     * other exception is a bug and propagates. A CharArraySourceReader holds
+     * nothing that needs closing.
+     */
+    private TokenBuffer lexChunk(int start, int end) {
+        try {
+            return new Lexer(
+                new CharArraySourceReader(this.source, start, end), this.context).tokenize();
+        } catch (Lexception exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops the EOF token that ends each chunk, except where the chunk ended
+     * early at a '\0' (which Lexer also treats as the end of the source), and
+     * moves offsets and line starts by the chunk start.
+     */
+    private TokenBuffer join(List<Integer> starts, List<TokenBuffer> results, int tokenCount) {
+        LineIndex lines = new LineIndex();
+        TokenBuffer tokens = new TokenBuffer(lines, tokenCount, this.context);
+
+        for (int chunk = 0; chunk < results.size(); chunk++) {
+            TokenBuffer result = results.get(chunk);
+            LineIndex chunkLines = result.getLineIndex();
+            int start = starts.get(chunk);
+            int end = starts.get(chunk + 1);
+            int eof = result.size() - 1;
+
+            for (int line = 2; line <= chunkLines.getLineCount(); line++) {
+                lines.addLineStart(chunkLines.getLineStart(line) + start);
+            }
+
+            if (chunk == results.size() - 1 || result.getOffset(eof) + start < end) {
+                tokens.append(result, 0, result.size(), start);
+                break;
+            }
+
+            tokens.append(result, 0, eof, start);
+        }
+
+        return tokens;
+    }
+}
@@ -0,0 +1,70 @@
+package lexer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size cache of lexemes that compilations share so that identifiers
+ * seen over and over (common names, small integers) are not copied into a new
+ * String by every compilation. Each lexeme has a single slot, chosen by its
+ * hash, and a lexeme that misses replaces whatever its slot held. The cache
+ * therefore never holds more than its capacity, and lexemes that keep being
+ * used keep winning their slot back. Slots are replaced whole, so the cache is
+ * safe to share between threads without locking.
+ */
+public class SymbolCache {
+  private AtomicReferenceArray<String> lexemes;
+  private int mask;
+
+  /**
+   * Creates a cache of at least capacity slots (rounded up to a power of two).
+   */
+  public SymbolCache(int capacity) {
+    int slots = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+
+    this.lexemes = new AtomicReferenceArray<>(slots);
+    this.mask = slots - 1;
+  }
+
+  /**
+   * Returns the cached String equal to the characters in the range, caching a
+   * new one if there is none.
+   */
+  public String intern(char[] buffer, int start, int length) {
+    int slot = slot(SymbolInterner.hash(buffer, start, length));
+    String lexeme = this.lexemes.get(slot);
+
+    if (lexeme != null && SymbolInterner.matches(lexeme, buffer, start, length)) {
+      return lexeme;
+    }
+
+    lexeme = new String(buffer, start, length);
+    this.lexemes.set(slot, lexeme);
+
+    return lexeme;
+  }
+
+  /**
+   * Returns the cached String equal to lexeme, caching lexeme itself if there
+   * is none.
+   */
+  public String intern(String lexeme) {
+    int slot = slot(lexeme.hashCode());
+    String cached = this.lexemes.get(slot);
+
+    if (lexeme.equals(cached)) {
+      return cached;
+    }
+
+    this.lexemes.set(slot, lexeme);
+
+    return lexeme;
+  }
+
+  public int getCapacity() {
+    return this.lexemes.length();
+  }
+
+  private int slot(int hash) {
+    return (hash ^ (hash >>> 16)) & this.mask;
+  }
+}
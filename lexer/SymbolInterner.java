@@ -0,0 +1,269 @@
+package lexer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+
+/**
+ * An open-addressing table of symbols keyed by lexeme. Lookups can be made
+ * either with a String or directly over a range of a character buffer; the
+ * range is hashed in place (with the same function as String.hashCode()) so a
+ * hit never allocates. Symbols created with an id can also be fetched by it.
+ *
+ * The table is safe to share between threads. It is split into segments by
+ * hash, and each segment is guarded by its own lock for writes only. Lookups
+ * take no lock. A symbol is published into its slot after its hash, so a
+ * reader that finds it also sees the hash. A reader racing with a resize can
+ * miss a symbol that was just added. putIfAbsent() therefore checks again
+ * under the segment lock before adding, so each lexeme maps to one Symbol.
+ */
+public class SymbolInterner {
+  private static final int SEGMENT_COUNT = 16;
+  private static final int SEGMENT_SHIFT = 28;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+  private static final int PAGE_BITS = 10;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+  private Segment[] segments;
+  private volatile Symbol[][] pages;
+  private AtomicInteger size;
+  private int firstId;
+
+  public SymbolInterner() {
+    this(0);
+  }
+
+  /**
+   * Numbers the symbols added by putIfAbsent() from firstId, so they can share
+   * an id space with symbols held elsewhere.
+   */
+  public SymbolInterner(int firstId) {
+    this.segments = new Segment[SEGMENT_COUNT];
+
+    for (int segment = 0; segment < SEGMENT_COUNT; segment++) {
+      this.segments[segment] = new Segment();
+    }
+
+    this.pages = new Symbol[1][];
+    this.size = new AtomicInteger();
+    this.firstId = firstId;
+  }
+
+  public Symbol get(String lexeme) {
+    int hash = lexeme.hashCode();
+
+    return segmentFor(hash).get(hash, lexeme);
+  }
+
+  public Symbol get(char[] buffer, int start, int length) {
+    int hash = hash(buffer, start, length);
+
+    return segmentFor(hash).get(hash, buffer, start, length);
+  }
+
+  public Symbol get(int id) {
+    Symbol[][] pages = this.pages;
+    int page = id >>> PAGE_BITS;
+
+    if (id < 0 || page >= pages.length || pages[page] == null) {
+      return null;
+    }
+
+    return pages[page][id & (PAGE_SIZE - 1)];
+  }
+
+  /**
+   * Adds symbol under lexeme. The caller is responsible for checking that the
+   * lexeme is not already present.
+   */
+  public void put(String lexeme, Symbol symbol) {
+    int hash = lexeme.hashCode();
+    Segment segment = segmentFor(hash);
+
+    synchronized (segment) {
+      index(symbol);
+      segment.insert(hash, symbol);
+      this.size.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the symbol for lexeme, adding a new one of the given kind if there
+   * is none yet. A new symbol's id is firstId plus the number of symbols added
+   * before it.
+   */
+  public Symbol putIfAbsent(String lexeme, TokenKind kind) {
+    int hash = lexeme.hashCode();
+    Segment segment = segmentFor(hash);
+
+    synchronized (segment) {
+      Symbol symbol = segment.get(hash, lexeme);
+
+      if (symbol == null) {
+        symbol = new Symbol(lexeme, kind, this.firstId + this.size.getAndIncrement());
+        index(symbol);
+        segment.insert(hash, symbol);
+      }
+
+      return symbol;
+    }
+  }
+
+  public int size() {
+    return this.size.get();
+  }
+
+  private Segment segmentFor(int hash) {
+    return this.segments[(hash * 0x9E3779B9) >>> SEGMENT_SHIFT];
+  }
+
+  /**
+   * Records symbol under its id. This happens before the symbol is published
+   * in its segment, so any thread that holds the symbol, or an id read from
+   * it, finds it here too.
+   */
+  private void index(Symbol symbol) {
+    int id = symbol.getId();
+
+    if (id < 0) {
+      return;
+    }
+
+    int page = id >>> PAGE_BITS;
+
+    if (page >= this.pages.length || this.pages[page] == null) {
+      addPage(page);
+    }
+
+    this.pages[page][id & (PAGE_SIZE - 1)] = symbol;
+  }
+
+  private synchronized void addPage(int page) {
+    Symbol[][] pages = this.pages;
+
+    if (page < pages.length && pages[page] != null) {
+      return;
+    }
+
+    if (page >= pages.length) {
+      pages = Arrays.copyOf(pages, Math.max(pages.length * 2, page + 1));
+    }
+
+    pages[page] = new Symbol[PAGE_SIZE];
+    this.pages = pages;
+  }
+
+  static int hash(char[] buffer, int start, int length) {
+    int hash = 0;
+
+    for (int index = start; index < start + length; index++) {
+      hash = 31 * hash + buffer[index];
+    }
+
+    return hash;
+  }
+
+  static boolean matches(String lexeme, char[] buffer, int start, int length) {
+    if (lexeme.length() != length) {
+      return false;
+    }
+
+    for (int index = 0; index < length; index++) {
+      if (lexeme.charAt(index) != buffer[start + index]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * One open-addressing table. Writers hold the segment's lock; a resize
+   * builds the larger table completely before publishing it.
+   */
+  private static final class Segment {
+    private volatile Table table;
+    private int size;
+
+    Segment() {
+      this.table = new Table(INITIAL_SEGMENT_CAPACITY);
+      this.size = 0;
+    }
+
+    Symbol get(int hash, String lexeme) {
+      Table table = this.table;
+      int mask = table.hashes.length - 1;
+      Symbol symbol;
+
+      for (int slot = hash & mask; (symbol = table.symbols.get(slot)) != null; slot = (slot + 1) & mask) {
+        if (table.hashes[slot] == hash && symbol.getLexeme().equals(lexeme)) {
+          return symbol;
+        }
+      }
+
+      return null;
+    }
+
+    Symbol get(int hash, char[] buffer, int start, int length) {
+      Table table = this.table;
+      int mask = table.hashes.length - 1;
+      Symbol symbol;
+
+      for (int slot = hash & mask; (symbol = table.symbols.get(slot)) != null; slot = (slot + 1) & mask) {
+        if (table.hashes[slot] == hash && matches(symbol.getLexeme(), buffer, start, length)) {
+          return symbol;
+        }
+      }
+
+      return null;
+    }
+
+    void insert(int hash, Symbol symbol) {
+      if ((this.size + 1) * 2 > this.table.hashes.length) {
+        this.table = this.table.resize();
+      }
+
+      this.table.insert(hash, symbol);
+      this.size++;
+    }
+  }
+
+  private static final class Table {
+    private final AtomicReferenceArray<Symbol> symbols;
+    private final int[] hashes;
+
+    Table(int capacity) {
+      this.symbols = new AtomicReferenceArray<>(capacity);
+      this.hashes = new int[capacity];
+    }
+
+    void insert(int hash, Symbol symbol) {
+      int mask = this.hashes.length - 1;
+      int slot = hash & mask;
+
+      while (this.symbols.get(slot) != null) {
+        slot = (slot + 1) & mask;
+      }
+
+      this.hashes[slot] = hash;
+      this.symbols.set(slot, symbol);
+    }
+
+    Table resize() {
+      Table table = new Table(this.hashes.length * 2);
+
+      for (int slot = 0; slot < this.hashes.length; slot++) {
+        Symbol symbol = this.symbols.get(slot);
+
+        if (symbol != null) {
+          table.insert(this.hashes[slot], symbol);
+        }
+      }
+
+      return table;
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package lexer;
 
-import java.util.Map;
-import java.util.HashMap;
 import lexer.daos.TokenKind;
 import lexer.daos.Symbol;
 
@@ -10,66 +8,245 @@ import lexer.daos.Symbol;
  * Do not manually update! (Use the ToolRunner to regenerate.)
  **/
 public class SymbolTable {
-  private static Map<String, Symbol> symbols;
+  private static SymbolInterner builtIns;
+  private static Symbol[] keywords;
 
   static {
-    symbols = new HashMap<>();
+    builtIns = new SymbolInterner();
 
-    symbols.put("program", new Symbol("program", TokenKind.Program));
-    symbols.put("int", new Symbol("int", TokenKind.IntType));
-    symbols.put("boolean", new Symbol("boolean", TokenKind.BooleanType));
-    symbols.put("if", new Symbol("if", TokenKind.If));
-    symbols.put("then", new Symbol("then", TokenKind.Then));
-    symbols.put("else", new Symbol("else", TokenKind.Else));
-    symbols.put("while", new Symbol("while", TokenKind.While));
-    symbols.put("function", new Symbol("function", TokenKind.Function));
-    symbols.put("return", new Symbol("return", TokenKind.Return));
-    symbols.put("<id>", new Symbol("<id>", TokenKind.Identifier));
-    symbols.put("<int>", new Symbol("<int>", TokenKind.IntLit));
-    symbols.put("{", new Symbol("{", TokenKind.LeftBrace));
-    symbols.put("}", new Symbol("}", TokenKind.RightBrace));
-    symbols.put("(", new Symbol("(", TokenKind.LeftParen));
-    symbols.put(")", new Symbol(")", TokenKind.RightParen));
-    symbols.put(",", new Symbol(",", TokenKind.Comma));
-    symbols.put("=", new Symbol("=", TokenKind.Assign));
-    symbols.put("==", new Symbol("==", TokenKind.Equal));
-    symbols.put("!=", new Symbol("!=", TokenKind.NotEqual));
-    symbols.put("<", new Symbol("<", TokenKind.Less));
-    symbols.put("<=", new Symbol("<=", TokenKind.LessEqual));
-    symbols.put("+", new Symbol("+", TokenKind.Plus));
-    symbols.put("-", new Symbol("-", TokenKind.Minus));
-    symbols.put("|", new Symbol("|", TokenKind.Or));
-    symbols.put("&", new Symbol("&", TokenKind.And));
-    symbols.put("*", new Symbol("*", TokenKind.Multiply));
-    symbols.put("/", new Symbol("/", TokenKind.Divide));
-    symbols.put("//", new Symbol("//", TokenKind.Comment));
-    symbols.put(">", new Symbol(">", TokenKind.Greater));
-    symbols.put(">=", new Symbol(">=", TokenKind.GreaterEqual));
-    symbols.put("binary", new Symbol("binary", TokenKind.BinaryType));
-    symbols.put("<binary>", new Symbol("<binary>", TokenKind.BinaryLit));
-    symbols.put("char", new Symbol("char", TokenKind.CharType));
-    symbols.put("<char>", new Symbol("<char>", TokenKind.CharLit));
-    symbols.put("and", new Symbol("and", TokenKind.BoolAnd));
-    symbols.put("or", new Symbol("or", TokenKind.BoolOr));
-    symbols.put("xor", new Symbol("xor", TokenKind.BoolXor));
-    symbols.put("iter", new Symbol("iter", TokenKind.Iterate));
-    symbols.put("|-", new Symbol("|-", TokenKind.Pipette));
-    symbols.put("~", new Symbol("~", TokenKind.Tilde));
+    builtIns.put("program", new Symbol("program", TokenKind.Program, 0));
+    builtIns.put("int", new Symbol("int", TokenKind.IntType, 1));
+    builtIns.put("boolean", new Symbol("boolean", TokenKind.BooleanType, 2));
+    builtIns.put("if", new Symbol("if", TokenKind.If, 3));
+    builtIns.put("then", new Symbol("then", TokenKind.Then, 4));
+    builtIns.put("else", new Symbol("else", TokenKind.Else, 5));
+    builtIns.put("while", new Symbol("while", TokenKind.While, 6));
+    builtIns.put("function", new Symbol("function", TokenKind.Function, 7));
+    builtIns.put("return", new Symbol("return", TokenKind.Return, 8));
+    builtIns.put("<id>", new Symbol("<id>", TokenKind.Identifier, 9));
+    builtIns.put("<int>", new Symbol("<int>", TokenKind.IntLit, 10));
+    builtIns.put("{", new Symbol("{", TokenKind.LeftBrace, 11));
+    builtIns.put("}", new Symbol("}", TokenKind.RightBrace, 12));
+    builtIns.put("(", new Symbol("(", TokenKind.LeftParen, 13));
+    builtIns.put(")", new Symbol(")", TokenKind.RightParen, 14));
+    builtIns.put(",", new Symbol(",", TokenKind.Comma, 15));
+    builtIns.put("=", new Symbol("=", TokenKind.Assign, 16));
+    builtIns.put("==", new Symbol("==", TokenKind.Equal, 17));
+    builtIns.put("!=", new Symbol("!=", TokenKind.NotEqual, 18));
+    builtIns.put("<", new Symbol("<", TokenKind.Less, 19));
+    builtIns.put("<=", new Symbol("<=", TokenKind.LessEqual, 20));
+    builtIns.put("+", new Symbol("+", TokenKind.Plus, 21));
+    builtIns.put("-", new Symbol("-", TokenKind.Minus, 22));
+    builtIns.put("|", new Symbol("|", TokenKind.Or, 23));
+    builtIns.put("&", new Symbol("&", TokenKind.And, 24));
+    builtIns.put("*", new Symbol("*", TokenKind.Multiply, 25));
+    builtIns.put("/", new Symbol("/", TokenKind.Divide, 26));
+    builtIns.put("//", new Symbol("//", TokenKind.Comment, 27));
+    builtIns.put(">", new Symbol(">", TokenKind.Greater, 28));
+    builtIns.put(">=", new Symbol(">=", TokenKind.GreaterEqual, 29));
+    builtIns.put("binary", new Symbol("binary", TokenKind.BinaryType, 30));
+    builtIns.put("<binary>", new Symbol("<binary>", TokenKind.BinaryLit, 31));
+    builtIns.put("char", new Symbol("char", TokenKind.CharType, 32));
+    builtIns.put("<char>", new Symbol("<char>", TokenKind.CharLit, 33));
+    builtIns.put("and", new Symbol("and", TokenKind.BoolAnd, 34));
+    builtIns.put("or", new Symbol("or", TokenKind.BoolOr, 35));
+    builtIns.put("xor", new Symbol("xor", TokenKind.BoolXor, 36));
+    builtIns.put("iter", new Symbol("iter", TokenKind.Iterate, 37));
+    builtIns.put("|-", new Symbol("|-", TokenKind.Pipette, 38));
+    builtIns.put("~", new Symbol("~", TokenKind.Tilde, 39));
+
+    keywords = new Symbol[] {
+        builtIns.get("program"),
+        builtIns.get("int"),
+        builtIns.get("boolean"),
+        builtIns.get("if"),
+        builtIns.get("then"),
+        builtIns.get("else"),
+        builtIns.get("while"),
+        builtIns.get("function"),
+        builtIns.get("return"),
+        builtIns.get("binary"),
+        builtIns.get("char"),
+        builtIns.get("and"),
+        builtIns.get("or"),
+        builtIns.get("xor"),
+        builtIns.get("iter"),
+    };
   }
 
   public static Symbol recordSymbol(String lexeme, TokenKind kind) {
-    Symbol s = symbols.get(lexeme);
+    return CompilationContext.global().recordSymbol(lexeme, kind);
+  }
 
-    if (s == null) {
-      if (kind == TokenKind.BogusToken) {
-        // bogus string so don't enter into symbols
-        return null;
-      }
+  public static Symbol recordSymbol(char[] buffer, int start, int length, TokenKind kind) {
+    return CompilationContext.global().recordSymbol(buffer, start, length, kind);
+  }
+
+  public static Symbol getSymbol(int id) {
+    return CompilationContext.global().getSymbol(id);
+  }
 
-      s = new Symbol(lexeme, kind);
-      symbols.put(lexeme, s);
+  public static Symbol getBuiltIn(String lexeme) {
+    return builtIns.get(lexeme);
+  }
+
+  public static Symbol getBuiltIn(char[] buffer, int start, int length) {
+    return builtIns.get(buffer, start, length);
+  }
+
+  public static Symbol getBuiltIn(int id) {
+    return builtIns.get(id);
+  }
+
+  public static int getBuiltInCount() {
+    return builtIns.size();
+  }
+
+  public static Symbol keyword(char[] buffer, int start, int length) {
+    switch (length) {
+      case 2:
+        switch (buffer[start]) {
+          case 'i':
+            if (buffer[start + 1] == 'f') {
+              return keywords[3];
+            }
+            return null;
+          case 'o':
+            if (buffer[start + 1] == 'r') {
+              return keywords[12];
+            }
+            return null;
+        }
+        return null;
+      case 3:
+        switch (buffer[start]) {
+          case 'a':
+            if (buffer[start + 1] == 'n' &&
+                    buffer[start + 2] == 'd') {
+              return keywords[11];
+            }
+            return null;
+          case 'i':
+            if (buffer[start + 1] == 'n' &&
+                    buffer[start + 2] == 't') {
+              return keywords[1];
+            }
+            return null;
+          case 'x':
+            if (buffer[start + 1] == 'o' &&
+                    buffer[start + 2] == 'r') {
+              return keywords[13];
+            }
+            return null;
+        }
+        return null;
+      case 4:
+        switch (buffer[start]) {
+          case 'c':
+            if (buffer[start + 1] == 'h' &&
+                    buffer[start + 2] == 'a' &&
+                    buffer[start + 3] == 'r') {
+              return keywords[10];
+            }
+            return null;
+          case 'e':
+            if (buffer[start + 1] == 'l' &&
+                    buffer[start + 2] == 's' &&
+                    buffer[start + 3] == 'e') {
+              return keywords[5];
+            }
+            return null;
+          case 'i':
+            if (buffer[start + 1] == 't' &&
+                    buffer[start + 2] == 'e' &&
+                    buffer[start + 3] == 'r') {
+              return keywords[14];
+            }
+            return null;
+          case 't':
+            if (buffer[start + 1] == 'h' &&
+                    buffer[start + 2] == 'e' &&
+                    buffer[start + 3] == 'n') {
+              return keywords[4];
+            }
+            return null;
+        }
+        return null;
+      case 5:
+        switch (buffer[start]) {
+          case 'w':
+            if (buffer[start + 1] == 'h' &&
+                    buffer[start + 2] == 'i' &&
+                    buffer[start + 3] == 'l' &&
+                    buffer[start + 4] == 'e') {
+              return keywords[6];
+            }
+            return null;
+        }
+        return null;
+      case 6:
+        switch (buffer[start]) {
+          case 'b':
+            if (buffer[start + 1] == 'i' &&
+                    buffer[start + 2] == 'n' &&
+                    buffer[start + 3] == 'a' &&
+                    buffer[start + 4] == 'r' &&
+                    buffer[start + 5] == 'y') {
+              return keywords[9];
+            }
+            return null;
+          case 'r':
+            if (buffer[start + 1] == 'e' &&
+                    buffer[start + 2] == 't' &&
+                    buffer[start + 3] == 'u' &&
+                    buffer[start + 4] == 'r' &&
+                    buffer[start + 5] == 'n') {
+              return keywords[8];
+            }
+            return null;
+        }
+        return null;
+      case 7:
+        switch (buffer[start]) {
+          case 'b':
+            if (buffer[start + 1] == 'o' &&
+                    buffer[start + 2] == 'o' &&
+                    buffer[start + 3] == 'l' &&
+                    buffer[start + 4] == 'e' &&
+                    buffer[start + 5] == 'a' &&
+                    buffer[start + 6] == 'n') {
+              return keywords[2];
+            }
+            return null;
+          case 'p':
+            if (buffer[start + 1] == 'r' &&
+                    buffer[start + 2] == 'o' &&
+                    buffer[start + 3] == 'g' &&
+                    buffer[start + 4] == 'r' &&
+                    buffer[start + 5] == 'a' &&
+                    buffer[start + 6] == 'm') {
+              return keywords[0];
+            }
+            return null;
+        }
+        return null;
+      case 8:
+        switch (buffer[start]) {
+          case 'f':
+            if (buffer[start + 1] == 'u' &&
+                    buffer[start + 2] == 'n' &&
+                    buffer[start + 3] == 'c' &&
+                    buffer[start + 4] == 't' &&
+                    buffer[start + 5] == 'i' &&
+                    buffer[start + 6] == 'o' &&
+                    buffer[start + 7] == 'n') {
+              return keywords[7];
+            }
+            return null;
+        }
+        return null;
     }
 
-    return s;
+    return null;
   }
 }
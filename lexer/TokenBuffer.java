@@ -0,0 +1,125 @@
+package lexer;
+
+import java.util.Arrays;
+
+import lexer.daos.Symbol;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+
+/**
+ * Holds a whole tokenized source as parallel primitive arrays: the kind, the
+ * SymbolTable id, the offset and the length of each token. Lexing a file into
+ * a TokenBuffer costs a handful of arrays instead of a Token object per token;
+ * a Token is only created when getToken() is called. Line numbers and columns
+ * resolve through the LineIndex of the lexer that filled the buffer, and
+ * symbol ids through the CompilationContext it recorded them in.
+ */
+public class TokenBuffer {
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final TokenKind[] KINDS = TokenKind.values();
+
+  private byte[] kinds;
+  private int[] symbols;
+  private int[] offsets;
+  private int[] lengths;
+  private int size;
+  private LineIndex lineIndex;
+  private CompilationContext context;
+
+  public TokenBuffer(LineIndex lineIndex) {
+    this(lineIndex, CompilationContext.global());
+  }
+
+  public TokenBuffer(LineIndex lineIndex, CompilationContext context) {
+    this(lineIndex, INITIAL_CAPACITY, context);
+  }
+
+  public TokenBuffer(LineIndex lineIndex, int capacity, CompilationContext context) {
+    capacity = Math.max(capacity, 1);
+
+    this.kinds = new byte[capacity];
+    this.symbols = new int[capacity];
+    this.offsets = new int[capacity];
+    this.lengths = new int[capacity];
+    this.size = 0;
+    this.lineIndex = lineIndex;
+    this.context = context;
+  }
+
+  public void add(Symbol symbol, int offset, int length) {
+    if (this.size == this.kinds.length) {
+      grow();
+    }
+
+    this.kinds[this.size] = (byte) symbol.getTokenKind().ordinal();
+    this.symbols[this.size] = symbol.getId();
+    this.offsets[this.size] = offset;
+    this.lengths[this.size] = length;
+    this.size++;
+  }
+
+  /**
+   * Appends count tokens of other starting at from, moving their offsets by
+   * shift. Both buffers must record symbols in the same CompilationContext.
+   */
+  public void append(TokenBuffer other, int from, int count, int shift) {
+    while (this.size + count > this.kinds.length) {
+      grow();
+    }
+
+    System.arraycopy(other.kinds, from, this.kinds, this.size, count);
+    System.arraycopy(other.symbols, from, this.symbols, this.size, count);
+    System.arraycopy(other.lengths, from, this.lengths, this.size, count);
+
+    for (int index = 0; index < count; index++) {
+      this.offsets[this.size + index] = other.offsets[from + index] + shift;
+    }
+
+    this.size += count;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public TokenKind getTokenKind(int index) {
+    return KINDS[this.kinds[index]];
+  }
+
+  public int getSymbolId(int index) {
+    return this.symbols[index];
+  }
+
+  public Symbol getSymbol(int index) {
+    return this.context.getSymbol(this.symbols[index]);
+  }
+
+  public int getOffset(int index) {
+    return this.offsets[index];
+  }
+
+  public int getLength(int index) {
+    return this.lengths[index];
+  }
+
+  public LineIndex getLineIndex() {
+    return this.lineIndex;
+  }
+
+  public CompilationContext getContext() {
+    return this.context;
+  }
+
+  public Token getToken(int index) {
+    return new Token(getSymbol(index), this.offsets[index], this.lengths[index], this.lineIndex);
+  }
+
+  private void grow() {
+    int capacity = this.kinds.length * 2;
+
+    this.kinds = Arrays.copyOf(this.kinds, capacity);
+    this.symbols = Arrays.copyOf(this.symbols, capacity);
+    this.offsets = Arrays.copyOf(this.offsets, capacity);
+    this.lengths = Arrays.copyOf(this.lengths, capacity);
+  }
+}
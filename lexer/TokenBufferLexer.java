@@ -0,0 +1,38 @@
+package lexer;
+
+import lexer.daos.Token;
+
+/**
+ * Replays a TokenBuffer through the ILexer interface, creating each Token as
+ * it is asked for. Once the buffer is exhausted the last token (EOF, for a
+ * buffer filled by Lexer.tokenize()) is returned again, as Lexer does.
+ */
+public class TokenBufferLexer implements ILexer {
+  private TokenBuffer tokens;
+  private int index;
+
+  public TokenBufferLexer(TokenBuffer tokens) {
+    this.tokens = tokens;
+    this.index = 0;
+  }
+
+  @Override
+  public Token nextToken() {
+    if (this.tokens.size() == 0) {
+      return null;
+    }
+
+    Token token = this.tokens.getToken(this.index);
+
+    if (this.index < this.tokens.size() - 1) {
+      this.index++;
+    }
+
+    return token;
+  }
+
+  @Override
+  public CompilationContext getContext() {
+    return this.tokens.getContext();
+  }
+}
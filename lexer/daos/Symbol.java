@@ -3,10 +3,20 @@ package lexer.daos;
 public class Symbol {
   private String lexeme;
   private TokenKind kind;
+  private int id;
 
   public Symbol(String lexeme, TokenKind kind) {
+    this(lexeme, kind, -1);
+  }
+
+  /**
+   * Creates a symbol numbered by the table that records it, so it can be
+   * referred to by id wherever holding a reference per token is too costly.
+   */
+  public Symbol(String lexeme, TokenKind kind, int id) {
     this.lexeme = lexeme;
     this.kind = kind;
+    this.id = id;
   }
 
   public String getLexeme() {
@@ -16,4 +26,8 @@ public class Symbol {
   public TokenKind getTokenKind() {
     return this.kind;
   }
+
+  public int getId() {
+    return this.id;
+  }
 }
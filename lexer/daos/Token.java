@@ -1,7 +1,11 @@
 package lexer.daos;
 
+import lexer.LineIndex;
+
 public class Token {
     private int leftPosition, rightPosition, lineNumber; 
+    private int offset, length;
+    private LineIndex lineIndex;
     private Symbol symbol;
 
     public Token(Symbol symbol, int leftPosition, int rightPosition) {
@@ -13,16 +17,49 @@ public class Token {
         this.leftPosition = leftPosition;
         this.rightPosition = rightPosition;
         this.lineNumber = lineNumber; 
+        this.offset = -1;
+        this.length = rightPosition - leftPosition + 1;
+    }
+
+    /**
+     * Creates a token positioned by its absolute offset in the source. Line and
+     * column are resolved through the line index only when they are asked for.
+     */
+    public Token(Symbol symbol, int offset, int length, LineIndex lineIndex) {
+        this.symbol = symbol;
+        this.offset = offset;
+        this.length = length;
+        this.lineIndex = lineIndex;
     }
 
     public int getRightPosition() {
+        if (this.lineIndex != null) {
+            return this.lineIndex.getColumn(this.offset) + this.length - 1;
+        }
+
         return rightPosition;
     }
 
     public int getLeftPosition() {
+        if (this.lineIndex != null) {
+            return this.lineIndex.getColumn(this.offset);
+        }
+
         return leftPosition;
     }
 
+    public int getOffset() {
+        return this.offset;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public Symbol getSymbol() {
+        return this.symbol;
+    }
+
     public String getLexeme() {
         return this.symbol.getLexeme();
     }
@@ -32,6 +69,10 @@ public class Token {
     }
 
     public int getLineNumber() {
+        if (this.lineIndex != null) {
+            return this.lineIndex.getLineNumber(this.offset);
+        }
+
         return this.lineNumber;
     }
 
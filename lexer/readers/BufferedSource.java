@@ -0,0 +1,153 @@
+package lexer.readers;
+
+/**
+ * Pulls characters from an IReader in bulk into a local buffer so a lexer can
+ * scan them with an array index. A marked lexeme is kept contiguous across
+ * refills, so it can be interned straight out of getBuffer() from getMark().
+ * Once the reader is exhausted next() keeps returning a '\0' sentinel.
+ */
+public class BufferedSource implements AutoCloseable {
+  private static final int BUFFER_SIZE = 8192;
+
+  private IReader reader;
+  private char[] buffer;
+  private int position, limit, mark;
+  private int bufferOffset;
+
+  public BufferedSource(IReader reader) {
+    this.reader = reader;
+    this.buffer = new char[BUFFER_SIZE];
+    this.position = 0;
+    this.limit = 0;
+    this.mark = -1;
+    this.bufferOffset = 0;
+  }
+
+  @Override
+  public void close() throws Exception {
+    this.reader.close();
+  }
+
+  public char next() {
+    if (this.position == this.limit) {
+      refill();
+    }
+
+    return this.buffer[this.position++];
+  }
+
+  /**
+   * Skips any spaces, tabs and carriage returns that follow the character last
+   * returned by next() and returns the first character after them.
+   */
+  public char nextNonBlank() {
+    while (true) {
+      if (this.position == this.limit) {
+        refill();
+      }
+
+      this.position = CharacterScanner.skipBlanks(this.buffer, this.position, this.limit);
+
+      if (this.position < this.limit) {
+        return this.buffer[this.position++];
+      }
+    }
+  }
+
+  /**
+   * Skips to the first newline, or the end of input, after the character last
+   * returned by next() and returns it.
+   */
+  public char nextLineEnd() {
+    while (true) {
+      if (this.position == this.limit) {
+        refill();
+      }
+
+      this.position = CharacterScanner.findLineEnd(this.buffer, this.position, this.limit);
+
+      if (this.position < this.limit) {
+        return this.buffer[this.position++];
+      }
+    }
+  }
+
+  /**
+   * The offset in the source of the character last returned by next().
+   */
+  public int getOffset() {
+    return this.bufferOffset + this.position - 1;
+  }
+
+  /**
+   * Starts a lexeme at the character last returned by next().
+   */
+  public void mark() {
+    this.mark = this.position - 1;
+  }
+
+  public void clearMark() {
+    this.mark = -1;
+  }
+
+  public int getMark() {
+    return this.mark;
+  }
+
+  /**
+   * The number of characters from the mark up to, but excluding, the character
+   * last returned by next().
+   */
+  public int getMarkedLength() {
+    return this.position - 1 - this.mark;
+  }
+
+  /**
+   * Rewinds so that the next call to next() returns the character markedLength
+   * characters after the mark.
+   */
+  public void reset(int markedLength) {
+    this.position = this.mark + markedLength;
+  }
+
+  public char[] getBuffer() {
+    return this.buffer;
+  }
+
+  /**
+   * A marked lexeme is moved to the front (growing the buffer if it fills it)
+   * so that it stays contiguous. Once the reader is exhausted a '\0' sentinel
+   * is buffered in its place.
+   */
+  private void refill() {
+    int kept = 0;
+
+    if (this.mark >= 0) {
+      kept = this.limit - this.mark;
+      char[] target = kept == this.buffer.length
+          ? new char[this.buffer.length * 2]
+          : this.buffer;
+
+      System.arraycopy(this.buffer, this.mark, target, 0, kept);
+      this.buffer = target;
+      this.mark = 0;
+    }
+
+    this.bufferOffset += this.limit - kept;
+    this.position = kept;
+
+    int count = this.reader.fill(this.buffer, kept, this.buffer.length - kept);
+
+    if (count <= 0) {
+      this.buffer[kept] = '\0';
+      count = 1;
+    }
+
+    this.limit = kept + count;
+  }
+
+  @Override
+  public String toString() {
+    return this.reader.toString();
+  }
+}
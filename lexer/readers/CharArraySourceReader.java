@@ -0,0 +1,93 @@
+package lexer.readers;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+
+import lexer.LineIndex;
+
+/**
+ * Reads the characters of source in [start, end) as if they were a file of
+ * their own: offsets, columns and line numbers are relative to start. The
+ * LineIndex used for columns and line numbers is only built if they are asked
+ * for.
+ */
+public class CharArraySourceReader implements IReader {
+  private char[] source;
+  private int start;
+  private int end;
+  private int position;
+  private int offset;
+  private LineIndex lines;
+
+  public CharArraySourceReader(char[] source, int start, int end) {
+    this.source = source;
+    this.start = start;
+    this.end = end;
+    this.position = start;
+    this.offset = -1;
+  }
+
+  @Override
+  public void close() {
+    // The characters belong to the caller
+  }
+
+  @Override
+  public char read() {
+    this.offset++;
+
+    if (this.position >= this.end) {
+      return '\0';
+    }
+
+    return this.source[this.position++];
+  }
+
+  @Override
+  public int fill(char[] dst, int off, int len) {
+    if (this.position >= this.end) {
+      this.offset = this.end - this.start;
+
+      return -1;
+    }
+
+    int count = Math.min(len, this.end - this.position);
+    System.arraycopy(this.source, this.position, dst, off, count);
+
+    this.position += count;
+    this.offset = this.position - this.start - 1;
+
+    return count;
+  }
+
+  @Override
+  public int getColumn() {
+    return getLines().getColumn(this.offset);
+  }
+
+  @Override
+  public int getLineNumber() {
+    return getLines().getLineNumber(this.offset);
+  }
+
+  private LineIndex getLines() {
+    if (this.lines == null) {
+      this.lines = LineIndex.of(this.source, this.start, this.end);
+    }
+
+    return this.lines;
+  }
+
+  @Override
+  public String toString() {
+    try {
+      return SourceListing.toString(
+          new CharArrayReader(this.source, this.start, this.position - this.start),
+          getLines(),
+          getLineNumber(),
+          this.position - this.start);
+    } catch (IOException e) {
+      return "";
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package lexer.readers;
+
+/**
+ * Finds the end of a run of characters the lexer skips over without producing
+ * a token. Both methods scan buffer[from, to) in a tight loop over the array
+ * and return the index of the first character that ends the run, or to if
+ * there is none.
+ */
+public class CharacterScanner {
+  private CharacterScanner() {
+  }
+
+  /**
+   * Skips spaces, tabs and carriage returns, the indentation that makes up most
+   * of the whitespace between tokens. Newlines end the run so that the lexer can
+   * record where each line starts.
+   */
+  public static int skipBlanks(char[] buffer, int from, int to) {
+    int index = from;
+
+    while (index < to && isBlank(buffer[index])) {
+      index++;
+    }
+
+    return index;
+  }
+
+  /**
+   * Finds the newline, or the '\0' end-of-input sentinel, that ends a comment.
+   */
+  public static int findLineEnd(char[] buffer, int from, int to) {
+    int index = from;
+
+    while (index < to && buffer[index] != '\n' && buffer[index] != '\0') {
+      index++;
+    }
+
+    return index;
+  }
+
+  private static boolean isBlank(char ch) {
+    return ch == ' ' || ch == '\t' || ch == '\r';
+  }
+}
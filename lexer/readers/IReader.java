@@ -8,4 +8,26 @@ public interface IReader extends AutoCloseable {
   public int getColumn();
 
   public int getLineNumber();
+
+  /**
+   * Copies up to len characters into dst starting at off. Returns the number
+   * of characters copied, or -1 once the source is exhausted. Readers that
+   * can transfer characters in bulk should override this adapter, which falls
+   * back to one read() per character.
+   */
+  public default int fill(char[] dst, int off, int len) {
+    int count = 0;
+
+    while (count < len) {
+      char ch = read();
+
+      if (ch == '\0') {
+        break;
+      }
+
+      dst[off + count++] = ch;
+    }
+
+    return count == 0 ? -1 : count;
+  }
 }
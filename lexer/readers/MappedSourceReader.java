@@ -0,0 +1,113 @@
+package lexer.readers;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import lexer.LineIndex;
+
+/**
+ * Reads a whole source file up front by memory mapping it and decoding it into
+ * a single character buffer. Characters are served from an index into that
+ * buffer and columns and line numbers are resolved through a LineIndex built
+ * once for the file, with the same semantics as SourceFileReader.
+ */
+public class MappedSourceReader implements IReader {
+  private char[] source;
+  private int length;
+  private int position;
+  private int offset;
+  private LineIndex lines;
+
+  public MappedSourceReader(String filePath) {
+    CharBuffer decoded = decode(filePath);
+
+    this.source = decoded.array();
+    this.length = decoded.limit();
+    this.lines = LineIndex.of(this.source, 0, this.length);
+    this.position = 0;
+    this.offset = -1;
+  }
+
+  /**
+   * Maps the file and decodes it into a heap buffer whose array() holds the
+   * characters from index 0 up to limit().
+   */
+  public static CharBuffer decode(String filePath) {
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      return Charset.defaultCharset().decode(mapped);
+    } catch (NoSuchFileException e) {
+      System.err.println(String.format("Failed to find source file [%s].", filePath));
+      System.exit(1);
+    } catch (IOException e) {
+      System.err.println(String.format("Failed to read source file [%s].", filePath));
+      System.exit(1);
+    }
+
+    return CharBuffer.allocate(0);
+  }
+
+  @Override
+  public void close() {
+    // The mapping is released with the channel once decoding completes
+  }
+
+  @Override
+  public char read() {
+    this.offset++;
+
+    if (this.position >= this.length) {
+      return '\0';
+    }
+
+    return this.source[this.position++];
+  }
+
+  @Override
+  public int fill(char[] dst, int off, int len) {
+    if (this.position >= this.length) {
+      this.offset = this.length;
+
+      return -1;
+    }
+
+    int count = Math.min(len, this.length - this.position);
+    System.arraycopy(this.source, this.position, dst, off, count);
+
+    this.position += count;
+    this.offset = this.position - 1;
+
+    return count;
+  }
+
+  @Override
+  public int getColumn() {
+    return this.lines.getColumn(this.offset);
+  }
+
+  @Override
+  public int getLineNumber() {
+    return this.lines.getLineNumber(this.offset);
+  }
+
+  @Override
+  public String toString() {
+    try {
+      return SourceListing.toString(
+          new CharArrayReader(this.source, 0, this.position),
+          this.lines,
+          getLineNumber(),
+          this.position);
+    } catch (IOException e) {
+      return "";
+    }
+  }
+}
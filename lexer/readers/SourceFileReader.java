@@ -5,24 +5,21 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 
+import lexer.LineIndex;
+
 public class SourceFileReader implements IReader {
 
   private String filePath;
   private BufferedReader reader;
-  private StringBuffer buffer;
-  private String LINE_TEMPLATE = "%3d: ";
-
-  private int lineNumber;
-  private int column;
-  private char lastChar;
+  private LineIndex lines;
+  private int length;
+  private int offset;
 
   public SourceFileReader(String filePath) {
     this.filePath = filePath;
-    this.lineNumber = 1;
-    this.column = -1;
-
-    this.buffer = new StringBuffer();
-    this.buffer.append(String.format(LINE_TEMPLATE, 1));
+    this.lines = new LineIndex();
+    this.length = 0;
+    this.offset = -1;
 
     try {
       this.reader = new BufferedReader(new FileReader(filePath));
@@ -44,59 +41,81 @@ public class SourceFileReader implements IReader {
   @Override
   public char read() {
     try {
-        if (this.lastChar == '\n') {
-            this.lineNumber++;
-            this.column = -1;
-            this.buffer.append(String.format(LINE_TEMPLATE, this.lineNumber));
-        }
+      int i = this.reader.read();
+      this.offset++;
 
-        this.lastChar = advance();
+      if (i == -1) {
+        return '\0';
+      }
 
-        if (this.lastChar == '\0') {
-            return '\0';
-        } else {
-          this.buffer.append(this.lastChar);
-        }
+      if (i == '\n') {
+        this.lines.addLineStart(this.length + 1);
+      }
+      this.length++;
 
-        return this.lastChar;
+      return (char) i;
     } catch (IOException e) {
-      System.err.println(
-          String.format(
-              "Failed to read from source file [%s] on line [%d], column [%d]",
-              this.filePath,
-              this.lineNumber,
-              this.column));
-      System.exit(1);
+      reportReadFailure();
 
       return '\0';
     }
   }
-  
 
-  private char advance() throws IOException {
-    this.column++;
+  @Override
+  public int fill(char[] dst, int off, int len) {
+    try {
+      int count = this.reader.read(dst, off, len);
 
-    int i = this.reader.read();
+      if (count == -1) {
+        this.offset = this.length;
 
-    if (i == -1) {
-      return '\0';
+        return -1;
+      }
+
+      for (int index = off; index < off + count; index++) {
+        if (dst[index] == '\n') {
+          this.lines.addLineStart(this.length + index - off + 1);
+        }
+      }
+      this.length += count;
+      this.offset = this.length - 1;
+
+      return count;
+    } catch (IOException e) {
+      reportReadFailure();
+
+      return -1;
     }
+  }
 
-    return (char) i;
+  private void reportReadFailure() {
+    System.err.println(
+        String.format(
+            "Failed to read from source file [%s] on line [%d], column [%d]",
+            this.filePath,
+            getLineNumber(),
+            getColumn()));
+    System.exit(1);
   }
 
   @Override
   public int getColumn() {
-    return this.column;
+    return this.lines.getColumn(this.offset);
   }
 
   @Override
   public int getLineNumber() {
-    return this.lineNumber;
+    return this.lines.getLineNumber(this.offset);
   }
 
   @Override
   public String toString() {
-    return this.buffer.toString();
+    try (FileReader source = new FileReader(this.filePath)) {
+      return SourceListing.toString(source, this.lines, getLineNumber(), this.length);
+    } catch (IOException e) {
+      System.err.println(String.format("Failed to list source file [%s].", this.filePath));
+
+      return "";
+    }
   }
 }
@@ -0,0 +1,59 @@
+package lexer.readers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+import lexer.LineIndex;
+
+/**
+ * Produces the numbered source listing printed after lexing. The listing is
+ * streamed from the original source on demand, using the line index recorded
+ * by a reader, rather than echoed into a buffer while reading.
+ */
+public class SourceListing {
+  private static final String LINE_TEMPLATE = "%3d: ";
+  private static final int CHUNK_SIZE = 8192;
+
+  /**
+   * Copies the first length characters of source to out, prefixing each of
+   * the lineCount lines starting at the given offsets with its line number.
+   */
+  public static void write(Reader source, LineIndex lines, int lineCount, int length,
+      Appendable out) throws IOException {
+    char[] chunk = new char[CHUNK_SIZE];
+    CharBuffer view = CharBuffer.wrap(chunk);
+    int offset = 0, chunkLength = 0, chunkStart = 0;
+
+    for (int line = 1; line <= lineCount; line++) {
+      int lineEnd = line < lineCount ? lines.getLineStart(line + 1) : length;
+
+      out.append(String.format(LINE_TEMPLATE, line));
+
+      while (offset < lineEnd) {
+        if (offset == chunkStart + chunkLength) {
+          chunkStart = offset;
+          chunkLength = source.read(chunk, 0, Math.min(chunk.length, length - offset));
+
+          if (chunkLength == -1) {
+            return;
+          }
+        }
+
+        int end = Math.min(lineEnd, chunkStart + chunkLength);
+
+        out.append(view, offset - chunkStart, end - chunkStart);
+        offset = end;
+      }
+    }
+  }
+
+  public static String toString(Reader source, LineIndex lines, int lineCount, int length)
+      throws IOException {
+    StringBuilder buffer = new StringBuilder(length + lineCount * LINE_TEMPLATE.length());
+
+    write(source, lines, lineCount, length, buffer);
+
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,244 @@
+package lexer.readers;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import lexer.LineIndex;
+
+/**
+ * Reads a source file as UTF-8 straight from its memory mapped bytes, with no
+ * charset decoder in between. An ASCII byte is a character of its own and is
+ * copied as is; only a byte with the high bit set starts a multi-byte sequence
+ * that is decoded by hand (into a surrogate pair above U+FFFF), and a
+ * malformed sequence decodes to U+FFFD. Offsets count characters, not bytes,
+ * so tokens and line numbers match the other readers.
+ */
+public class Utf8SourceReader implements IReader {
+  private static final char REPLACEMENT = '\uFFFD';
+
+  private String filePath;
+  private MappedByteBuffer bytes;
+  private int byteLength;
+  private int bytePosition;
+  private char pending;
+  private LineIndex lines;
+  private int length;
+  private int offset;
+
+  public Utf8SourceReader(String filePath) {
+    this.filePath = filePath;
+    this.lines = new LineIndex();
+    this.length = 0;
+    this.offset = -1;
+
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      this.bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      this.byteLength = this.bytes.limit();
+    } catch (NoSuchFileException e) {
+      System.err.println(String.format("Failed to find source file [%s].", filePath));
+      System.exit(1);
+    } catch (IOException e) {
+      System.err.println(String.format("Failed to read source file [%s].", filePath));
+      System.exit(1);
+    }
+  }
+
+  @Override
+  public void close() {
+    // The mapping stays valid after the channel is closed and is released
+    // once the buffer is collected
+  }
+
+  @Override
+  public char read() {
+    this.offset++;
+
+    int ch = decodeNext();
+
+    if (ch == -1) {
+      return '\0';
+    }
+
+    if (ch == '\n') {
+      this.lines.addLineStart(this.length + 1);
+    }
+    this.length++;
+
+    return (char) ch;
+  }
+
+  @Override
+  public int fill(char[] dst, int off, int len) {
+    int count = 0;
+
+    while (count < len) {
+      if (this.pending == 0) {
+        int end = Math.min(this.bytePosition + len - count, this.byteLength);
+
+        while (this.bytePosition < end) {
+          byte b = this.bytes.get(this.bytePosition);
+
+          if (b < 0) {
+            break;
+          }
+
+          dst[off + count++] = (char) b;
+          this.bytePosition++;
+
+          if (b == '\n') {
+            this.lines.addLineStart(this.length + count);
+          }
+        }
+
+        if (count == len) {
+          break;
+        }
+      }
+
+      int ch = decodeNext();
+
+      if (ch == -1) {
+        break;
+      }
+
+      dst[off + count++] = (char) ch;
+    }
+
+    if (count == 0) {
+      this.offset = this.length;
+
+      return -1;
+    }
+
+    this.length += count;
+    this.offset = this.length - 1;
+
+    return count;
+  }
+
+  /**
+   * Returns the next character, or -1 once the bytes are exhausted. The low
+   * half of a surrogate pair is held back until the following call.
+   */
+  private int decodeNext() {
+    if (this.pending != 0) {
+      char low = this.pending;
+      this.pending = 0;
+
+      return low;
+    }
+
+    if (this.bytePosition >= this.byteLength) {
+      return -1;
+    }
+
+    int lead = this.bytes.get(this.bytePosition++) & 0xFF;
+
+    return lead < 0x80 ? lead : decodeSequence(lead);
+  }
+
+  private int decodeSequence(int lead) {
+    int continuations, codePoint, minimum;
+
+    if (lead >= 0xC2 && lead <= 0xDF) {
+      continuations = 1;
+      codePoint = lead & 0x1F;
+      minimum = 0x80;
+    } else if (lead >= 0xE0 && lead <= 0xEF) {
+      continuations = 2;
+      codePoint = lead & 0x0F;
+      minimum = 0x800;
+    } else if (lead >= 0xF0 && lead <= 0xF4) {
+      continuations = 3;
+      codePoint = lead & 0x07;
+      minimum = 0x10000;
+    } else {
+      return REPLACEMENT;
+    }
+
+    for (int index = 0; index < continuations; index++) {
+      if (this.bytePosition >= this.byteLength) {
+        return REPLACEMENT;
+      }
+
+      int b = this.bytes.get(this.bytePosition) & 0xFF;
+
+      if ((b & 0xC0) != 0x80) {
+        return REPLACEMENT;
+      }
+
+      this.bytePosition++;
+      codePoint = (codePoint << 6) | (b & 0x3F);
+    }
+
+    if (codePoint < minimum
+        || codePoint > Character.MAX_CODE_POINT
+        || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+      return REPLACEMENT;
+    }
+
+    if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      this.pending = Character.lowSurrogate(codePoint);
+
+      return Character.highSurrogate(codePoint);
+    }
+
+    return codePoint;
+  }
+
+  @Override
+  public int getColumn() {
+    return this.lines.getColumn(this.offset);
+  }
+
+  @Override
+  public int getLineNumber() {
+    return this.lines.getLineNumber(this.offset);
+  }
+
+  /**
+   * Lists the source from the characters this reader decodes, decoded again
+   * from the start rather than by a charset decoder, which replaces malformed
+   * sequences differently and would shift the listing against the offsets.
+   */
+  @Override
+  public String toString() {
+    try {
+      return SourceListing.toString(
+          new CharArrayReader(decodeFromStart(this.length)),
+          this.lines,
+          getLineNumber(),
+          this.length);
+    } catch (IOException e) {
+      System.err.println(String.format("Failed to list source file [%s].", this.filePath));
+
+      return "";
+    }
+  }
+
+  /**
+   * Decodes the first count characters again, leaving the reader where it was.
+   */
+  private char[] decodeFromStart(int count) {
+    int position = this.bytePosition;
+    char held = this.pending;
+    char[] chars = new char[count];
+
+    this.bytePosition = 0;
+    this.pending = 0;
+
+    for (int index = 0; index < count; index++) {
+      chars[index] = (char) decodeNext();
+    }
+
+    this.bytePosition = position;
+    this.pending = held;
+
+    return chars;
+  }
+}
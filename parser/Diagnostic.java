@@ -0,0 +1,46 @@
+package parser;
+
+import lexer.daos.TokenKind;
+
+/**
+ * A syntax error the Parser recovered from: the unexpected token, where it
+ * starts in the source, and the tokens that would have been accepted there.
+ */
+public class Diagnostic {
+  private int offset;
+  private TokenKind actual;
+  private TokenKind[] expected;
+
+  public Diagnostic(int offset, TokenKind actual, TokenKind... expected) {
+    this.offset = offset;
+    this.actual = actual;
+    this.expected = expected;
+  }
+
+  public int getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * The unexpected token's kind, or null if a lexer ran out of tokens.
+   */
+  public TokenKind getActual() {
+    return this.actual;
+  }
+
+  public TokenKind[] getExpected() {
+    return this.expected.clone();
+  }
+
+  /**
+   * The message a SyntaxErrorException for the same error carries.
+   */
+  public String getMessage() {
+    return SyntaxErrorException.describe(this.actual, this.expected);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d: %s", this.offset, getMessage());
+  }
+}
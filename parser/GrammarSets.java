@@ -0,0 +1,166 @@
+package parser;
+
+import java.util.Arrays;
+
+import ast.trees.NodeKind;
+import lexer.daos.TokenKind;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+public final class GrammarSets {
+  // Program
+  public static final long FIRST_PROGRAM = 0x2L;
+  // EOF
+  public static final long FOLLOW_PROGRAM = 0x20000000000L;
+
+  // LeftBrace
+  public static final long FIRST_BLOCK = 0x1000L;
+  // IntType BooleanType If Else While Return Identifier LeftBrace RightBrace RightParen Comma BinaryType CharType Iterate EOF
+  public static final long FOLLOW_BLOCK = 0x2428001b6dcL;
+
+  // IntType BooleanType BinaryType CharType (or empty)
+  public static final long FIRST_DECLARATIONS = 0x28000000cL;
+  // If While Return Identifier LeftBrace RightBrace Iterate
+  public static final long FOLLOW_DECLARATIONS = 0x4000003690L;
+
+  // If While Return Identifier LeftBrace Iterate (or empty)
+  public static final long FIRST_STATEMENTS = 0x4000001690L;
+  // RightBrace
+  public static final long FOLLOW_STATEMENTS = 0x2000L;
+
+  // IntType BooleanType BinaryType CharType
+  public static final long FIRST_DECLARATION = 0x28000000cL;
+  // IntType BooleanType If While Return Identifier LeftBrace RightBrace RightParen Comma BinaryType CharType Iterate
+  public static final long FOLLOW_DECLARATION = 0x428001b69cL;
+
+  // LeftParen (or empty)
+  public static final long FIRST_FUNCTION_REST = 0x4000L;
+  // IntType BooleanType If While Return Identifier LeftBrace RightBrace RightParen Comma BinaryType CharType Iterate
+  public static final long FOLLOW_FUNCTION_REST = 0x428001b69cL;
+
+  // IntType BooleanType BinaryType CharType
+  public static final long FIRST_TYPE = 0x28000000cL;
+  // Identifier
+  public static final long FOLLOW_TYPE = 0x400L;
+
+  // Identifier
+  public static final long FIRST_NAME = 0x400L;
+  // IntType BooleanType If Then While Return Identifier LeftBrace RightBrace LeftParen RightParen Comma Assign Equal NotEqual Less LessEqual Plus Minus Or And Multiply Divide Greater GreaterEqual BinaryType CharType BoolAnd BoolOr BoolXor Iterate Tilde
+  public static final long FOLLOW_NAME = 0x17aeffff6bcL;
+
+  // IntType BooleanType BinaryType CharType (or empty)
+  public static final long FIRST_FORMALS = 0x28000000cL;
+  // RightParen
+  public static final long FOLLOW_FORMALS = 0x8000L;
+
+  // IntType BooleanType BinaryType CharType (or empty)
+  public static final long FIRST_FORMAL_LIST = 0x28000000cL;
+  // RightParen
+  public static final long FOLLOW_FORMAL_LIST = 0x8000L;
+
+  // Comma (or empty)
+  public static final long FIRST_MORE_FORMALS = 0x10000L;
+  // RightParen
+  public static final long FOLLOW_MORE_FORMALS = 0x8000L;
+
+  // If While Return Identifier LeftBrace Iterate
+  public static final long FIRST_STATEMENT = 0x4000001690L;
+  // If While Return Identifier LeftBrace RightBrace Iterate
+  public static final long FOLLOW_STATEMENT = 0x4000003690L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FIRST_RANGE = 0x500004c00L;
+  // LeftBrace
+  public static final long FOLLOW_RANGE = 0x1000L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FIRST_EXPRESSION = 0x500004c00L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Iterate Tilde
+  public static final long FOLLOW_EXPRESSION = 0x1400001b6b0L;
+
+  // Equal NotEqual Less LessEqual Greater GreaterEqual (or empty)
+  public static final long FIRST_RELATIONS = 0x603c0000L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Iterate Tilde
+  public static final long FOLLOW_RELATIONS = 0x1400001b6b0L;
+
+  // Equal NotEqual Less LessEqual Greater GreaterEqual
+  public static final long FIRST_RELOP = 0x603c0000L;
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FOLLOW_RELOP = 0x500004c00L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FIRST_SIMPLE_EXPRESSION = 0x500004c00L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Greater GreaterEqual Iterate Tilde
+  public static final long FOLLOW_SIMPLE_EXPRESSION = 0x140603db6b0L;
+
+  // Plus Minus Or BoolOr BoolXor (or empty)
+  public static final long FIRST_ADDITIONS = 0x3001c00000L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Greater GreaterEqual Iterate Tilde
+  public static final long FOLLOW_ADDITIONS = 0x140603db6b0L;
+
+  // Plus Minus Or BoolOr BoolXor
+  public static final long FIRST_ADDOP = 0x3001c00000L;
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FOLLOW_ADDOP = 0x500004c00L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FIRST_TERM = 0x500004c00L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Plus Minus Or Greater GreaterEqual BoolOr BoolXor Iterate Tilde
+  public static final long FOLLOW_TERM = 0x17061fdb6b0L;
+
+  // And Multiply Divide BoolAnd (or empty)
+  public static final long FIRST_MULTIPLICATIONS = 0x80e000000L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Plus Minus Or Greater GreaterEqual BoolOr BoolXor Iterate Tilde
+  public static final long FOLLOW_MULTIPLICATIONS = 0x17061fdb6b0L;
+
+  // And Multiply Divide BoolAnd
+  public static final long FIRST_MULTOP = 0x80e000000L;
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FOLLOW_MULTOP = 0x500004c00L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit
+  public static final long FIRST_FACTOR = 0x500004c00L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Plus Minus Or And Multiply Divide Greater GreaterEqual BoolAnd BoolOr BoolXor Iterate Tilde
+  public static final long FOLLOW_FACTOR = 0x1786ffdb6b0L;
+
+  // LeftParen (or empty)
+  public static final long FIRST_CALL = 0x4000L;
+  // If Then While Return Identifier LeftBrace RightBrace RightParen Comma Equal NotEqual Less LessEqual Plus Minus Or And Multiply Divide Greater GreaterEqual BoolAnd BoolOr BoolXor Iterate Tilde
+  public static final long FOLLOW_CALL = 0x1786ffdb6b0L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit (or empty)
+  public static final long FIRST_ACTUAL_ARGUMENTS = 0x500004c00L;
+  // RightParen
+  public static final long FOLLOW_ACTUAL_ARGUMENTS = 0x8000L;
+
+  // Identifier IntLit LeftParen BinaryLit CharLit (or empty)
+  public static final long FIRST_ARGUMENT_LIST = 0x500004c00L;
+  // RightParen
+  public static final long FOLLOW_ARGUMENT_LIST = 0x8000L;
+
+  // Comma (or empty)
+  public static final long FIRST_MORE_ARGUMENTS = 0x10000L;
+  // RightParen
+  public static final long FOLLOW_MORE_ARGUMENTS = 0x8000L;
+
+  // The binding power of each TokenKind as a binary operator, by ordinal;
+  // 0 for a token that is not one
+  public static final int[] BINDING_POWERS = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 3, 3, 3, 0, 1, 1, 0, 0, 0, 0, 3, 2, 2, 0, 0, 0, 0 };
+  // The tree an operator of each binding power builds
+  public static final NodeKind[] OPERATOR_TREES = { null, NodeKind.RelOp, NodeKind.AddOp, NodeKind.MultOp };
+
+  private GrammarSets() {
+  }
+
+  public static boolean contains(long set, TokenKind kind) {
+    return kind != null && (set & 1L << kind.ordinal()) != 0;
+  }
+
+  public static TokenKind[] kinds(long set) {
+    return Arrays.stream(TokenKind.values())
+        .filter(kind -> contains(set, kind))
+        .toArray(TokenKind[]::new);
+  }
+}
@@ -0,0 +1,157 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ast.AstArena;
+import ast.TreeBuilder;
+import ast.trees.NodeKind;
+import lexer.Lexception;
+import lexer.TokenBuffer;
+
+/**
+ * Keeps the AstArena of a source that is edited in place, as in an editor,
+ * and brings it up to date after each edit by reparsing only the smallest
+ * Block or FunctionDeclaration whose span holds the edit. The new subtree is
+ * spliced into the arena in place of the old one, so the tree is the same as
+ * a parse of the whole edited source would build, node numbers included,
+ * while only the edited function or block is parsed again.
+ *
+ * A subtree is only reused when its first token is untouched and its parse
+ * ends exactly where the old subtree now ends. Otherwise, say the edit
+ * closed the block early or turned the function into a variable, the next
+ * enclosing Block or FunctionDeclaration is tried, and finally the whole
+ * program.
+ */
+public class IncrementalParser {
+  private static final int NONE = TreeBuilder.NONE;
+
+  private AstArena tree;
+  private int reparsedNodeCount;
+
+  /**
+   * Starts from tree, a whole parse of the source the edits apply to.
+   */
+  public IncrementalParser(AstArena tree) {
+    this.tree = tree;
+    this.reparsedNodeCount = tree.size();
+  }
+
+  public AstArena getTree() {
+    return this.tree;
+  }
+
+  /**
+   * The number of nodes parsed to bring the tree up to date after the last
+   * edit (or in the initial tree).
+   */
+  public int getReparsedNodeCount() {
+    return this.reparsedNodeCount;
+  }
+
+  /**
+   * Updates the tree after removedLength characters at offset were replaced
+   * by insertedLength others, given the tokens of the edited source in the
+   * context the tree was parsed in, such as an IncrementalLexer returns. The
+   * tree is changed in place unless the whole program had to be parsed
+   * again. If the edited source has a syntax error the exception is thrown
+   * and the tree is left as it was.
+   */
+  public AstArena reparse(int offset, int removedLength, int insertedLength, TokenBuffer tokens)
+      throws SyntaxErrorException, Lexception {
+    int shift = insertedLength - removedLength;
+
+    if (tokens.getContext() == this.tree.getContext()) {
+      for (int node : enclosing(offset, offset + removedLength)) {
+        AstArena subtree = reparse(node, tokens, shift);
+
+        if (subtree != null) {
+          this.tree.replace(node, subtree, shift);
+          this.reparsedNodeCount = subtree.size();
+
+          return this.tree;
+        }
+      }
+    }
+
+    this.tree = new Parser(tokens).executeArena();
+    this.reparsedNodeCount = this.tree.size();
+
+    return this.tree;
+  }
+
+  /**
+   * The Blocks and FunctionDeclarations whose spans hold [start, end) with
+   * at least their first and last characters to spare, innermost first.
+   */
+  private List<Integer> enclosing(int start, int end) {
+    List<Integer> nodes = new ArrayList<>();
+    int node = this.tree.getRoot();
+
+    while (node != NONE) {
+      NodeKind kind = this.tree.getKind(node);
+
+      if (kind == NodeKind.Block || kind == NodeKind.FunctionDeclaration) {
+        nodes.add(0, node);
+      }
+
+      int child = this.tree.getFirstChild(node);
+
+      while (child != NONE
+          && !(this.tree.getSpanStart(child) < start && end < this.tree.getSpanEnd(child))) {
+        child = this.tree.getNextSibling(child);
+      }
+
+      node = child;
+    }
+
+    return nodes;
+  }
+
+  /**
+   * Parses node again from the edited tokens, or returns null if the parse
+   * does not build a node of the same kind spanning the same tokens.
+   */
+  private AstArena reparse(int node, TokenBuffer tokens, int shift) throws Lexception {
+    NodeKind kind = this.tree.getKind(node);
+    int index = tokenAt(tokens, this.tree.getSpanStart(node));
+
+    if (index == NONE) {
+      return null;
+    }
+
+    try {
+      AstArena subtree = new Parser(tokens, index).executeArena(kind);
+      int root = subtree.getRoot();
+
+      if (subtree.getKind(root) == kind
+          && subtree.getSpanEnd(root) == this.tree.getSpanEnd(node) + shift) {
+        return subtree;
+      }
+    } catch (SyntaxErrorException error) {
+      // A wider reparse may still succeed, or report the error itself
+    }
+
+    return null;
+  }
+
+  /**
+   * The index of the token starting at offset, or NONE if no token does.
+   */
+  private static int tokenAt(TokenBuffer tokens, int offset) {
+    int low = 0;
+    int high = tokens.size() - 1;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (tokens.getOffset(middle) < offset) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return tokens.getOffset(low) == offset ? low : NONE;
+  }
+}
@@ -1,75 +1,285 @@
 package parser;
 
-import java.util.EnumSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import ast.AST;
-import ast.trees.*;
+import ast.AstArena;
+import ast.ObjectTreeBuilder;
+import ast.TreeBuilder;
+import ast.trees.NodeKind;
 import lexer.ILexer;
 import lexer.Lexception;
 import lexer.Lexer;
-import lexer.daos.Token;
+import lexer.TokenBuffer;
 import lexer.daos.TokenKind;
 
+/**
+ * A recursive descent parser for the grammar in the comments below. The
+ * productions refer to nodes by the int handles of a TreeBuilder, so the same
+ * parse can produce AST objects (execute()) or an AstArena (executeArena()).
+ * Every decision tests the current token against a FIRST or FOLLOW set that
+ * GrammarSets precomputes from grammar.txt. TableParser parses the same
+ * grammar from generated tables instead.
+ *
+ * By default the first syntax error is thrown. A recovering parse instead
+ * records a Diagnostic, replaces the declaration or statement it was in with
+ * an Error node, skips ahead to a token that can follow that declaration or
+ * statement and carries on, so a single run returns a partial tree together
+ * with every error.
+ */
 public class Parser {
-  private Token currentToken;
-  private ILexer lexer;
-
-  private EnumSet<TokenKind> relationalOperators = EnumSet.of(
-      TokenKind.Equal,
-      TokenKind.NotEqual,
-      TokenKind.Less,
-      TokenKind.LessEqual,
-      TokenKind.Greater,
-      TokenKind.GreaterEqual);
-  private EnumSet<TokenKind> additionOperators = EnumSet.of(
-      TokenKind.Plus,
-      TokenKind.Minus,
-      TokenKind.Or,
-      TokenKind.BoolOr,
-      TokenKind.BoolXor);
-  private EnumSet<TokenKind> multiplicationOperators = EnumSet.of(
-      TokenKind.Multiply,
-      TokenKind.Divide,
-      TokenKind.And,
-      TokenKind.BoolAnd);
+  private static final int NONE = TreeBuilder.NONE;
+  // A recovering parse resumes a block at a token that can start or end one
+  // of its declarations or statements
+  private static final long BLOCK_SYNC =
+      GrammarSets.FIRST_DECLARATION | GrammarSets.FOLLOW_DECLARATIONS;
+  // Until a statement has been parsed it only resumes at a declaration or the
+  // closing brace, since the rest of a broken function is no statement
+  private static final long DECLARATION_SYNC =
+      GrammarSets.FIRST_DECLARATION | GrammarSets.FOLLOW_STATEMENTS;
+
+  private TokenStream input;
+  private TokenKind currentKind;
+  private TreeBuilder builder;
+  private boolean recovering;
+  private List<Diagnostic> diagnostics = new ArrayList<>();
+
+  /**
+   * A production that can be retried from a synchronizing token when it
+   * fails.
+   */
+  private interface Production {
+    int parse() throws SyntaxErrorException, Lexception;
+  }
 
   public Parser(String sourceProgramPath) throws Lexception {
     this(new Lexer(sourceProgramPath));
   }
 
   public Parser(ILexer lexer) throws Lexception {
-    this.lexer = lexer;
-    scan();
+    this.input = new TokenStream(lexer);
+    this.currentKind = this.input.getKind();
+  }
+
+  /**
+   * Parses an already tokenized source. Token kinds and symbols are read
+   * straight from the buffer, so no Token is created.
+   */
+  public Parser(TokenBuffer tokens) {
+    this(tokens, 0);
+  }
+
+  /**
+   * Parses from the token at tokenIndex on; see executeArena(NodeKind).
+   */
+  Parser(TokenBuffer tokens, int tokenIndex) {
+    this.input = new TokenStream(tokens, tokenIndex);
+    this.currentKind = this.input.getKind();
   }
 
   private void expect(TokenKind expected) throws SyntaxErrorException, Lexception {
-    if (this.currentToken.getTokenKind() == expected) {
+    if (this.currentKind == expected) {
       scan();
     } else {
-      error(currentToken.getTokenKind(), expected);
+      error(currentKind, expected);
+    }
+  }
+
+  /**
+   * Like expect(), except that a recovering parse reports a missing token
+   * and carries on as if it had been there.
+   */
+  private void require(TokenKind expected) throws SyntaxErrorException, Lexception {
+    if (this.recovering && this.currentKind != expected) {
+      report(this.currentKind, expected);
+    } else {
+      expect(expected);
     }
   }
 
   private void error(TokenKind actual, TokenKind... expected) throws SyntaxErrorException {
+    report(actual, expected);
+
     throw new SyntaxErrorException(actual, expected);
   }
 
-  private void scan() throws Lexception {
-    this.currentToken = lexer.nextToken();
+  /**
+   * Records a diagnostic when recovering. A second error at the same token
+   * only follows from the first, so it is not recorded again.
+   */
+  private void report(TokenKind actual, TokenKind... expected) {
+    int offset = this.input.getStart();
+
+    if (!this.recovering || (!this.diagnostics.isEmpty()
+        && this.diagnostics.get(this.diagnostics.size() - 1).getOffset() == offset)) {
+      return;
+    }
+
+    this.diagnostics.add(new Diagnostic(offset, actual, expected));
   }
 
-  private boolean match(TokenKind... kinds) {
-    for (TokenKind tokenKind : kinds) {
-      if (this.currentToken.getTokenKind() == tokenKind) {
-        return true;
+  /**
+   * Parses production, or in a recovering parse replaces whatever it built
+   * with an Error node and skips to a token in sync when it fails. At least
+   * one token is skipped, so every recovery makes progress, and a block is
+   * skipped whole unless sync holds its opening brace.
+   */
+  private int recover(Production production, long sync) throws SyntaxErrorException, Lexception {
+    int mark = this.builder.size();
+    int start = this.input.getStart();
+
+    try {
+      return production.parse();
+    } catch (SyntaxErrorException error) {
+      if (!this.recovering) {
+        throw error;
+      }
+
+      this.builder.truncate(mark);
+
+      int node = this.builder.addNode(NodeKind.Error, null, start);
+
+      if (this.input.getStart() == start && !atEnd()) {
+        skip();
+      }
+
+      while (!in(sync) && !atEnd()) {
+        skip();
       }
+
+      this.builder.setEnd(node, Math.max(start, this.input.getPreviousEnd()));
+
+      return node;
     }
+  }
+
+  /**
+   * Skips the current token, or everything up to and including its matching
+   * closing brace if it is an opening one.
+   */
+  private void skip() throws Lexception {
+    int depth = 0;
+
+    do {
+      if (match(TokenKind.LeftBrace)) {
+        depth++;
+      } else if (match(TokenKind.RightBrace)) {
+        depth--;
+      }
+
+      scan();
+    } while (depth > 0 && !atEnd());
+  }
 
-    return false;
+  private boolean atEnd() {
+    return this.currentKind == null || this.currentKind == TokenKind.EOF;
+  }
+
+  private void scan() throws Lexception {
+    this.input.scan();
+    this.currentKind = this.input.getKind();
+  }
+
+  /**
+   * Adds a node starting at the current token. Handles run densely from 0 for
+   * every parse, so they double as node numbers.
+   */
+  private int node(NodeKind kind) {
+    return this.builder.addNode(
+        kind, kind.isSymbolTree() ? this.input.getSymbol() : null, this.input.getStart());
+  }
+
+  private int addChild(int parent, int child) {
+    this.builder.addChild(parent, child);
+
+    return parent;
+  }
+
+  /**
+   * Ends node's span after the last token consumed.
+   */
+  private int finish(int node) {
+    if (node != NONE) {
+      this.builder.setEnd(node, this.input.getPreviousEnd());
+    }
+
+    return node;
+  }
+
+  private boolean match(TokenKind kind) {
+    return this.currentKind == kind;
+  }
+
+  /**
+   * Whether the current token is in a set from GrammarSets.
+   */
+  private boolean in(long set) {
+    return GrammarSets.contains(set, this.currentKind);
+  }
+
+  /**
+   * Whether syntax errors are recovered from rather than thrown; see
+   * getDiagnostics().
+   */
+  public void setRecovering(boolean recovering) {
+    this.recovering = recovering;
+  }
+
+  /**
+   * The syntax errors a recovering parse ran into, in source order.
+   */
+  public List<Diagnostic> getDiagnostics() {
+    return Collections.unmodifiableList(this.diagnostics);
   }
 
   public AST execute() throws SyntaxErrorException, Lexception {
-    return program();
+    ObjectTreeBuilder trees = new ObjectTreeBuilder();
+
+    this.builder = trees;
+
+    return trees.getNode(program());
+  }
+
+  /**
+   * Parses the program straight into an AstArena, without creating an object
+   * per node. Symbols are resolved through the context of the tokens.
+   */
+  public AstArena executeArena() throws SyntaxErrorException, Lexception {
+    AstArena arena = new AstArena(this.input.getContext(), this.input.getCapacityHint());
+
+    this.builder = arena;
+    program();
+
+    return arena;
+  }
+
+  /**
+   * Parses a single BLOCK, or a DECLARATION for any other kind, into an
+   * AstArena of its own. IncrementalParser reparses an edited subtree this
+   * way; the nodes are numbered from 0 in the order a whole parse would
+   * create them.
+   */
+  AstArena executeArena(NodeKind kind) throws SyntaxErrorException, Lexception {
+    AstArena arena = new AstArena(this.input.getContext());
+
+    this.builder = arena;
+
+    if (kind == NodeKind.Block) {
+      block();
+    } else {
+      declaration();
+    }
+
+    return arena;
+  }
+
+  /**
+   * The number of nodes created so far; every node number is below it.
+   */
+  public int getNodeCount() {
+    return this.builder == null ? 0 : this.builder.size();
   }
 
   /**
@@ -78,13 +288,13 @@ public class Parser {
    * @throws Lexception
    * @throws SyntaxErrorException
    */
-  private AST program() throws SyntaxErrorException, Lexception {
-    AST node = new ProgramTree();
+  private int program() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Program);
 
-    expect(TokenKind.Program);
-    node.addChild(block());
+    require(TokenKind.Program);
+    addChild(node, block());
 
-    return node;
+    return finish(node);
   }
 
   /**
@@ -93,60 +303,71 @@ public class Parser {
    * @throws Lexception
    * @throws SyntaxErrorException
    */
-  private AST block() throws SyntaxErrorException, Lexception {
-    AST node = new BlockTree();
-
-    expect(TokenKind.LeftBrace);
-
-    while (startingDeclaration()) {
-      node.addChild(declaration());
+  private int block() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Block);
+
+    require(TokenKind.LeftBrace);
+
+    boolean statements = false;
+
+    while (startingDeclaration() || startingStatement() || strayInBlock()) {
+      if (!startingDeclaration()) {
+        int statement = recover(this::statement, BLOCK_SYNC);
+
+        // Only a statement that parsed ends the declarations
+        statements = statements || this.builder.getKind(statement) != NodeKind.Error;
+        addChild(node, statement);
+      } else if (!statements) {
+        addChild(node, recover(this::declaration, DECLARATION_SYNC));
+      } else if (this.recovering) {
+        // Declarations must come first, but the tree can keep this one
+        report(currentKind,
+            GrammarSets.kinds(GrammarSets.FIRST_STATEMENT | GrammarSets.FOLLOW_STATEMENTS));
+        addChild(node, recover(this::declaration, BLOCK_SYNC));
+      } else {
+        break;
+      }
     }
 
-    while (startingStatement()) {
-      node.addChild(statement());
-    }
+    require(TokenKind.RightBrace);
 
-    expect(TokenKind.RightBrace);
+    return finish(node);
+  }
 
-    return node;
+  /**
+   * Whether a recovering parse is at a token that can neither start a
+   * statement nor end the block. statement() rejects it, which skips it.
+   */
+  private boolean strayInBlock() {
+    return this.recovering && !match(TokenKind.RightBrace) && !atEnd();
   }
 
   private boolean startingDeclaration() {
-    return match(
-        TokenKind.IntType,
-        TokenKind.BooleanType,
-        TokenKind.CharType,
-        TokenKind.BinaryType);
+    return in(GrammarSets.FIRST_DECLARATION);
   }
 
   private boolean startingStatement() {
-    return match(
-        TokenKind.If,
-        TokenKind.While,
-        TokenKind.Return,
-        TokenKind.LeftBrace,
-        TokenKind.Identifier,
-        TokenKind.Iterate);
+    return in(GrammarSets.FIRST_STATEMENT);
   }
 
   /**
    * DECLARATION → TYPE NAME
    * DECLARATION → TYPE NAME '(' FORMALS ')' BLOCK
    */
-  private AST declaration() throws SyntaxErrorException, Lexception {
-    AST type = type();
-    AST name = name();
+  private int declaration() throws SyntaxErrorException, Lexception {
+    int type = type();
+    int name = name();
 
     if (match(TokenKind.LeftParen)) {
-      AST function = new FunctionDeclarationTree().addChild(type).addChild(name);
+      int function = addChild(addChild(node(NodeKind.FunctionDeclaration), type), name);
 
       expect(TokenKind.LeftParen);
-      function.addChild(formals());
+      addChild(function, formals());
       expect(TokenKind.RightParen);
 
-      return function.addChild(block());
+      return finish(addChild(function, block()));
     } else {
-      return new DeclarationTree().addChild(type).addChild(name);
+      return finish(addChild(addChild(node(NodeKind.Declaration), type), name));
     }
   }
 
@@ -154,60 +375,71 @@ public class Parser {
    * TYPE → 'int'
    * TYPE → 'boolean'
    */
-  private AST type() throws Lexception, SyntaxErrorException {
-    AST node = null;
+  private int type() throws Lexception, SyntaxErrorException {
+    int node = NONE;
 
     if (match(TokenKind.IntType)) {
-      node = new IntTypeTree();
+      node = node(NodeKind.IntType);
     } else if (match(TokenKind.BooleanType)) {
-        node = new BoolTypeTree();
-    } else if (match(TokenKind.BinaryType)) { 
-        node = new BinaryTypeTree(); 
-    } else if (match(TokenKind.CharType)) { 
-        node = new CharTypeTree(); 
+      node = node(NodeKind.BoolType);
+    } else if (match(TokenKind.BinaryType)) {
+      node = node(NodeKind.BinaryType);
+    } else if (match(TokenKind.CharType)) {
+      node = node(NodeKind.CharType);
     } else {
-        error(currentToken.getTokenKind(), TokenKind.IntType, TokenKind.BooleanType); 
+      error(currentKind, GrammarSets.kinds(GrammarSets.FIRST_TYPE));
     }
 
     scan();
-    return node;
+    return finish(node);
   }
 
   /*
    * NAME → <id>
    */
-  private AST name() throws Lexception, SyntaxErrorException {
-    AST node = null;
+  private int name() throws Lexception, SyntaxErrorException {
+    int node = NONE;
 
     if (match(TokenKind.Identifier)) {
-      node = new IdentifierTree(currentToken);
+      node = node(NodeKind.Identifier);
 
       expect(TokenKind.Identifier);
+    } else {
+      error(currentKind, TokenKind.Identifier);
     }
 
-    return node;
+    return finish(node);
   }
 
   /**
    * FORMALS → 𝜀
    * FORMALS → DECLARATION (',' DECLARATION)*
    */
-  private AST formals() throws SyntaxErrorException, Lexception {
-    AST formals = new FormalsTree();
+  private int formals() throws SyntaxErrorException, Lexception {
+    int formals = node(NodeKind.Formals);
 
-    if (match(TokenKind.RightParen)) {
-      return formals;
-    } else {
-      do {
-        formals.addChild(declaration());
+    if (!in(GrammarSets.FIRST_FORMAL_LIST)) {
+      if (!in(GrammarSets.FOLLOW_FORMAL_LIST)) {
+        error(currentKind,
+            GrammarSets.kinds(GrammarSets.FIRST_FORMAL_LIST | GrammarSets.FOLLOW_FORMAL_LIST));
+      }
 
-        if (match(TokenKind.Comma)) {
-          expect(TokenKind.Comma);
-        }
-      } while (!match(TokenKind.RightParen));
+      return finish(formals);
+    }
 
-      return formals;
+    addChild(formals, declaration());
+
+    while (match(TokenKind.Comma)) {
+      expect(TokenKind.Comma);
+      addChild(formals, declaration());
+    }
+
+    if (!in(GrammarSets.FOLLOW_MORE_FORMALS)) {
+      error(currentKind,
+          GrammarSets.kinds(GrammarSets.FIRST_MORE_FORMALS | GrammarSets.FOLLOW_MORE_FORMALS));
     }
+
+    return finish(formals);
   }
 
   /**
@@ -216,116 +448,113 @@ public class Parser {
    * STATEMENT → 'return' E
    * STATEMENT → BLOCK
    * STATEMENT → NAME '=' E
+   * STATEMENT → 'iterate' '|' RANGE BLOCK
    */
-  private AST statement() throws SyntaxErrorException, Lexception {
-
-    if (match(TokenKind.Iterate)) {
-      return iterateStatement();
-  }
-
-    switch (currentToken.getTokenKind()) {
-        case If: {
-            return ifStatement();
-        }
-        case While: {
-            return whileStatement();
-        }
-        case Return: {
-            return returnStatement();
-        }
-        case LeftBrace: {
-            return block();
-        }
-        case Identifier: {
-            return assignStatement();
-        }
-        case Iterate: {
-          return iterateStatement();
+  private int statement() throws SyntaxErrorException, Lexception {
+    switch (currentKind) {
+      case If: {
+        return ifStatement();
+      }
+      case While: {
+        return whileStatement();
       }
-        default:
-            error(currentToken.getTokenKind(), TokenKind.If, TokenKind.While, TokenKind.Return, TokenKind.LeftBrace, TokenKind.Identifier, TokenKind.Iterate);
-            return null;
+      case Return: {
+        return returnStatement();
+      }
+      case LeftBrace: {
+        return block();
+      }
+      case Identifier: {
+        return assignStatement();
+      }
+      case Iterate: {
+        return iterateStatement();
+      }
+      default:
+        error(currentKind,
+            GrammarSets.kinds(GrammarSets.FIRST_STATEMENT | GrammarSets.FOLLOW_STATEMENTS));
+        return NONE;
     }
-}
-
+  }
 
-private AST range() throws SyntaxErrorException, Lexception {
-    AST node = new RangeTree();
+  /**
+   * RANGE → E '~' E
+   */
+  private int range() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Range);
 
-    node.addChild(expression());
+    addChild(node, expression());
     expect(TokenKind.Tilde);
-    node.addChild(expression());
-
-    return node;
-}
+    addChild(node, expression());
 
+    return finish(node);
+  }
 
   /**
    * STATEMENT → 'if' E 'then' BLOCK 'else' BLOCK
    */
-  private AST ifStatement() throws SyntaxErrorException, Lexception {
-    AST node = new IfTree();
+  private int ifStatement() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.If);
 
     expect(TokenKind.If);
-    node.addChild(expression());
+    addChild(node, expression());
     expect(TokenKind.Then);
-    node.addChild(block());
+    addChild(node, block());
     expect(TokenKind.Else);
-    node.addChild(block());
+    addChild(node, block());
 
-    return node;
+    return finish(node);
   }
 
   /**
    * STATEMENT → 'while' E BLOCK
    */
-  private AST whileStatement() throws SyntaxErrorException, Lexception {
-    AST node = new WhileTree();
+  private int whileStatement() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.While);
 
     expect(TokenKind.While);
-    node.addChild(expression()).addChild(block());
+    addChild(addChild(node, expression()), block());
 
-    return node;
+    return finish(node);
   }
 
   /**
    * STATEMENT → 'return' E
    */
-
-  private AST returnStatement() throws SyntaxErrorException, Lexception {
-    AST node = new ReturnTree();
+  private int returnStatement() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Return);
 
     expect(TokenKind.Return);
+    addChild(node, expression());
 
-    node.addChild(expression());
-    return node;
+    return finish(node);
   }
-  
-  private AST iterateStatement() throws SyntaxErrorException, Lexception {
-    
-    AST node = new IterationTree();
+
+  /**
+   * STATEMENT → 'iterate' '|' RANGE BLOCK
+   */
+  private int iterateStatement() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Iteration);
 
     expect(TokenKind.Iterate);
-    expect(TokenKind.Pipette); 
-    node.addChild(range());
-    node.addChild(block());
+    expect(TokenKind.Pipette);
+    addChild(node, range());
+    addChild(node, block());
 
-    return node;
-    
-}
+    return finish(node);
+  }
 
   /**
    * STATEMENT → NAME '=' E
    */
+  private int assignStatement() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.Assignment);
 
-  private AST assignStatement() throws SyntaxErrorException, Lexception {
-    AST node = new AssignmentTree();
-
-    node.addChild(name());
+    addChild(node, name());
     expect(TokenKind.Assign);
-    node.addChild(expression());
+    addChild(node, expression());
 
-    return node;
+    return finish(node);
   }
 
   /**
@@ -334,90 +563,47 @@ private AST range() throws SyntaxErrorException, Lexception {
    * E → SE '!=' SE
    * E → SE '<' SE
    * E → SE '<=' SE
-   */
-  private AST expression() throws Lexception, SyntaxErrorException {
-    AST tree, child = simpleExpression();
-
-    while ((tree = getRelopTree()) != null) {
-        tree.addChild(child);
-        tree.addChild(simpleExpression());
-        child = tree;
-    }
-
-    return child;
-}
-
-private AST getRelopTree() throws Lexception {
-    if (relationalOperators.contains(currentToken.getTokenKind()) || 
-        currentToken.getTokenKind() == TokenKind.Greater ||
-        currentToken.getTokenKind() == TokenKind.GreaterEqual) {
-        AST tree = new RelOpTree(currentToken);
-        scan();
-
-        return tree;
-    } else {
-        return null;
-    }
-}
-
-  /**
+   *
    * SE → T
    * SE → SE '+' T
    * SE → SE '-' T
    * SE → SE '|' T
-   */
-  private AST simpleExpression() throws Lexception, SyntaxErrorException {
-    AST tree, child = term();
-
-    while ((tree = getAddOpTree()) != null) {
-      tree.addChild(child);
-      tree.addChild(term());
-
-      child = tree;
-    }
-
-    return child;
-  }
-
-  private AST getAddOpTree() throws Lexception {
-    if (additionOperators.contains(currentToken.getTokenKind())) {
-      AST tree = new AddOpTree(currentToken);
-      scan();
-
-      return tree;
-    } else {
-      return null;
-    }
-  }
-
-  /**
+   *
    * T → F
    * T → T '*' F
    * T → T '/' F
    * T → T '&' F
    */
-  private AST term() throws SyntaxErrorException, Lexception {
-    AST tree, child = factor();
-
-    while ((tree = getMultOpTree()) != null) {
-      tree.addChild(child);
-      tree.addChild(factor());
+  private int expression() throws SyntaxErrorException, Lexception {
+    return expression(1);
+  }
 
-      child = tree;
-    }
+  /**
+   * Parses factors joined by operators that bind at least as tightly as
+   * minimumPower, by precedence climbing over GrammarSets.BINDING_POWERS.
+   * Every operator is left associative, so its right operand only takes
+   * operators that bind more tightly. Nodes are created in the same order as
+   * descending through E, SE and T would, so the trees and their numbers are
+   * the same.
+   */
+  private int expression(int minimumPower) throws SyntaxErrorException, Lexception {
+    int power, left = factor();
 
-    return child;
-  }
+    while ((power = bindingPower()) >= minimumPower) {
+      int tree = node(GrammarSets.OPERATOR_TREES[power]);
 
-  private AST getMultOpTree() throws Lexception {
-    if (multiplicationOperators.contains(currentToken.getTokenKind())) {
-      AST tree = new MultOpTree(currentToken);
       scan();
+      addChild(tree, left);
+      addChild(tree, expression(power + 1));
 
-      return tree;
-    } else {
-      return null;
+      left = finish(tree);
     }
+
+    return left;
+  }
+
+  private int bindingPower() {
+    return currentKind == null ? 0 : GrammarSets.BINDING_POWERS[currentKind.ordinal()];
   }
 
   /**
@@ -426,69 +612,76 @@ private AST getRelopTree() throws Lexception {
    * F → NAME
    * F → NAME '(' E_LIST ')'
    */
-
- private AST factor() throws SyntaxErrorException, Lexception {
-    switch (currentToken.getTokenKind()) {
-        case LeftParen: {
-            expect(TokenKind.LeftParen);
-            AST node = expression();
-            expect(TokenKind.RightParen);
-            return node;
-        }
-        case IntLit: {
-            AST node = new IntTree(currentToken);
-            expect(TokenKind.IntLit);
-            return node;
-        }
-        case BinaryLit: {  
-            AST node = new BinaryLitTree(currentToken);
-            expect(TokenKind.BinaryLit);
-            return node;
-        }
-        case CharLit: {  
-            AST node = new CharLitTree(currentToken);
-            expect(TokenKind.CharLit);
-            return node;
-        }
-        case Identifier: {
-            AST node = new IdentifierTree(currentToken);
-            expect(TokenKind.Identifier);
-            if (match(TokenKind.LeftParen)) {
-                node = new CallTree().addChild(node);
-                expect(TokenKind.LeftParen);
-                node.addChild(actualArguments());
-                expect(TokenKind.RightParen);
-            }
-            return node;
+  private int factor() throws SyntaxErrorException, Lexception {
+    switch (currentKind) {
+      case LeftParen: {
+        expect(TokenKind.LeftParen);
+        int node = expression();
+        expect(TokenKind.RightParen);
+        return node;
+      }
+      case IntLit: {
+        int node = node(NodeKind.Int);
+        expect(TokenKind.IntLit);
+        return finish(node);
+      }
+      case BinaryLit: {
+        int node = node(NodeKind.BinaryLit);
+        expect(TokenKind.BinaryLit);
+        return finish(node);
+      }
+      case CharLit: {
+        int node = node(NodeKind.CharLit);
+        expect(TokenKind.CharLit);
+        return finish(node);
+      }
+      case Identifier: {
+        int node = node(NodeKind.Identifier);
+        expect(TokenKind.Identifier);
+        finish(node);
+        if (match(TokenKind.LeftParen)) {
+          node = addChild(node(NodeKind.Call), node);
+          expect(TokenKind.LeftParen);
+          addChild(node, actualArguments());
+          expect(TokenKind.RightParen);
+          finish(node);
         }
-        default:
-            error(
-                currentToken.getTokenKind(),
-                TokenKind.LeftParen,
-                TokenKind.IntLit,
-                TokenKind.BinaryLit,  
-                TokenKind.CharLit,    
-                TokenKind.Identifier);
-            return null;
+        return node;
+      }
+      default:
+        error(currentKind, GrammarSets.kinds(GrammarSets.FIRST_FACTOR));
+        return NONE;
     }
-}
+  }
 
   /**
    * ACTUAL_ARGUMENTS → 𝜀
    * ACTUAL_ARGUMENTS → E (',' E)*
    */
-  private AST actualArguments() throws SyntaxErrorException, Lexception {
-    AST node = new ActualArgumentsTree();
+  private int actualArguments() throws SyntaxErrorException, Lexception {
+    int node = node(NodeKind.ActualArguments);
 
-    while (!match(TokenKind.RightParen)) {
-      node.addChild(expression());
-
-      if (match(TokenKind.Comma)) {
-        expect(TokenKind.Comma);
+    if (!in(GrammarSets.FIRST_ARGUMENT_LIST)) {
+      if (!in(GrammarSets.FOLLOW_ARGUMENT_LIST)) {
+        error(currentKind,
+            GrammarSets.kinds(GrammarSets.FIRST_ARGUMENT_LIST | GrammarSets.FOLLOW_ARGUMENT_LIST));
       }
+
+      return finish(node);
     }
 
-    return node;
+    addChild(node, expression());
+
+    while (match(TokenKind.Comma)) {
+      expect(TokenKind.Comma);
+      addChild(node, expression());
+    }
+
+    if (!in(GrammarSets.FOLLOW_MORE_ARGUMENTS)) {
+      error(currentKind,
+          GrammarSets.kinds(GrammarSets.FIRST_MORE_ARGUMENTS | GrammarSets.FOLLOW_MORE_ARGUMENTS));
+    }
+
+    return finish(node);
   }
 }
-
@@ -0,0 +1,294 @@
+package parser;
+
+import ast.trees.NodeKind;
+
+/**
+ * This file is automatically generated!
+ * Do not manually update! (Use the ToolRunner to regenerate.)
+ **/
+public class ParserTables {
+  // Parse stack symbols: a TokenKind ordinal, NONTERMINAL plus a
+  // nonterminal, or ACTION plus an action
+  public static final int NONTERMINAL = 64;
+  public static final int ACTION = 128;
+  public static final int NO_PRODUCTION = -1;
+
+  // Nonterminals
+  public static final int PROGRAM = 0;
+  public static final int BLOCK = 1;
+  public static final int DECLARATIONS = 2;
+  public static final int STATEMENTS = 3;
+  public static final int DECLARATION = 4;
+  public static final int FUNCTION_REST = 5;
+  public static final int TYPE = 6;
+  public static final int NAME = 7;
+  public static final int FORMALS = 8;
+  public static final int FORMAL_LIST = 9;
+  public static final int MORE_FORMALS = 10;
+  public static final int STATEMENT = 11;
+  public static final int RANGE = 12;
+  public static final int EXPRESSION = 13;
+  public static final int RELATIONS = 14;
+  public static final int RELOP = 15;
+  public static final int SIMPLE_EXPRESSION = 16;
+  public static final int ADDITIONS = 17;
+  public static final int ADDOP = 18;
+  public static final int TERM = 19;
+  public static final int MULTIPLICATIONS = 20;
+  public static final int MULTOP = 21;
+  public static final int FACTOR = 22;
+  public static final int CALL = 23;
+  public static final int ACTUAL_ARGUMENTS = 24;
+  public static final int ARGUMENT_LIST = 25;
+  public static final int MORE_ARGUMENTS = 26;
+  public static final int NONTERMINAL_COUNT = 27;
+  public static final int START = PROGRAM;
+
+  // Actions
+  public static final int ADD = 0;
+  public static final int END = 1;
+  // The node kind each action creates, or null for @add and @end
+  public static final NodeKind[] ACTION_KINDS = {
+    null, // @add
+    null, // @end
+    NodeKind.Program, // @Program
+    NodeKind.Block, // @Block
+    NodeKind.FunctionDeclaration, // @FunctionDeclaration:2
+    NodeKind.Declaration, // @Declaration:2
+    NodeKind.IntType, // @IntType
+    NodeKind.BoolType, // @BoolType
+    NodeKind.BinaryType, // @BinaryType
+    NodeKind.CharType, // @CharType
+    NodeKind.Identifier, // @Identifier
+    NodeKind.Formals, // @Formals
+    NodeKind.If, // @If
+    NodeKind.While, // @While
+    NodeKind.Return, // @Return
+    NodeKind.Assignment, // @Assignment
+    NodeKind.Iteration, // @Iteration
+    NodeKind.Range, // @Range
+    NodeKind.RelOp, // @RelOp:1
+    NodeKind.AddOp, // @AddOp:1
+    NodeKind.MultOp, // @MultOp:1
+    NodeKind.Int, // @Int
+    NodeKind.BinaryLit, // @BinaryLit
+    NodeKind.CharLit, // @CharLit
+    NodeKind.Call, // @Call:1
+    NodeKind.ActualArguments, // @ActualArguments
+  };
+  // How many nodes on the stack each action adopts as children
+  public static final int[] ACTION_CHILDREN = {
+    0, // @add
+    0, // @end
+    0, // @Program
+    0, // @Block
+    2, // @FunctionDeclaration:2
+    2, // @Declaration:2
+    0, // @IntType
+    0, // @BoolType
+    0, // @BinaryType
+    0, // @CharType
+    0, // @Identifier
+    0, // @Formals
+    0, // @If
+    0, // @While
+    0, // @Return
+    0, // @Assignment
+    0, // @Iteration
+    0, // @Range
+    1, // @RelOp:1
+    1, // @AddOp:1
+    1, // @MultOp:1
+    0, // @Int
+    0, // @BinaryLit
+    0, // @CharLit
+    1, // @Call:1
+    0, // @ActualArguments
+  };
+
+  // The body of every production, in the order of grammar.txt
+  public static final int[][] PRODUCTIONS = {
+    // 0: PROGRAM -> @Program Program BLOCK @add @end
+    { 130, 1, 65, 128, 129 },
+    // 1: BLOCK -> @Block LeftBrace DECLARATIONS STATEMENTS RightBrace @end
+    { 131, 12, 66, 67, 13, 129 },
+    // 2: DECLARATIONS -> DECLARATION @add DECLARATIONS
+    { 68, 128, 66 },
+    // 3: DECLARATIONS -> EPSILON
+    {},
+    // 4: STATEMENTS -> STATEMENT @add STATEMENTS
+    { 75, 128, 67 },
+    // 5: STATEMENTS -> EPSILON
+    {},
+    // 6: DECLARATION -> TYPE NAME FUNCTION_REST
+    { 70, 71, 69 },
+    // 7: FUNCTION_REST -> @FunctionDeclaration:2 LeftParen FORMALS @add RightParen BLOCK @add @end
+    { 132, 14, 72, 128, 15, 65, 128, 129 },
+    // 8: FUNCTION_REST -> @Declaration:2 @end
+    { 133, 129 },
+    // 9: TYPE -> @IntType IntType @end
+    { 134, 2, 129 },
+    // 10: TYPE -> @BoolType BooleanType @end
+    { 135, 3, 129 },
+    // 11: TYPE -> @BinaryType BinaryType @end
+    { 136, 31, 129 },
+    // 12: TYPE -> @CharType CharType @end
+    { 137, 33, 129 },
+    // 13: NAME -> @Identifier Identifier @end
+    { 138, 10, 129 },
+    // 14: FORMALS -> @Formals FORMAL_LIST @end
+    { 139, 73, 129 },
+    // 15: FORMAL_LIST -> DECLARATION @add MORE_FORMALS
+    { 68, 128, 74 },
+    // 16: FORMAL_LIST -> EPSILON
+    {},
+    // 17: MORE_FORMALS -> Comma DECLARATION @add MORE_FORMALS
+    { 16, 68, 128, 74 },
+    // 18: MORE_FORMALS -> EPSILON
+    {},
+    // 19: STATEMENT -> @If If EXPRESSION @add Then BLOCK @add Else BLOCK @add @end
+    { 140, 4, 77, 128, 5, 65, 128, 6, 65, 128, 129 },
+    // 20: STATEMENT -> @While While EXPRESSION @add BLOCK @add @end
+    { 141, 7, 77, 128, 65, 128, 129 },
+    // 21: STATEMENT -> @Return Return EXPRESSION @add @end
+    { 142, 9, 77, 128, 129 },
+    // 22: STATEMENT -> BLOCK
+    { 65 },
+    // 23: STATEMENT -> @Assignment NAME @add Assign EXPRESSION @add @end
+    { 143, 71, 128, 17, 77, 128, 129 },
+    // 24: STATEMENT -> @Iteration Iterate Pipette RANGE @add BLOCK @add @end
+    { 144, 38, 39, 76, 128, 65, 128, 129 },
+    // 25: RANGE -> @Range EXPRESSION @add Tilde EXPRESSION @add @end
+    { 145, 77, 128, 40, 77, 128, 129 },
+    // 26: EXPRESSION -> SIMPLE_EXPRESSION RELATIONS
+    { 80, 78 },
+    // 27: RELATIONS -> @RelOp:1 RELOP SIMPLE_EXPRESSION @add @end RELATIONS
+    { 146, 79, 80, 128, 129, 78 },
+    // 28: RELATIONS -> EPSILON
+    {},
+    // 29: RELOP -> Equal
+    { 18 },
+    // 30: RELOP -> NotEqual
+    { 19 },
+    // 31: RELOP -> Less
+    { 20 },
+    // 32: RELOP -> LessEqual
+    { 21 },
+    // 33: RELOP -> Greater
+    { 29 },
+    // 34: RELOP -> GreaterEqual
+    { 30 },
+    // 35: SIMPLE_EXPRESSION -> TERM ADDITIONS
+    { 83, 81 },
+    // 36: ADDITIONS -> @AddOp:1 ADDOP TERM @add @end ADDITIONS
+    { 147, 82, 83, 128, 129, 81 },
+    // 37: ADDITIONS -> EPSILON
+    {},
+    // 38: ADDOP -> Plus
+    { 22 },
+    // 39: ADDOP -> Minus
+    { 23 },
+    // 40: ADDOP -> Or
+    { 24 },
+    // 41: ADDOP -> BoolOr
+    { 36 },
+    // 42: ADDOP -> BoolXor
+    { 37 },
+    // 43: TERM -> FACTOR MULTIPLICATIONS
+    { 86, 84 },
+    // 44: MULTIPLICATIONS -> @MultOp:1 MULTOP FACTOR @add @end MULTIPLICATIONS
+    { 148, 85, 86, 128, 129, 84 },
+    // 45: MULTIPLICATIONS -> EPSILON
+    {},
+    // 46: MULTOP -> Multiply
+    { 26 },
+    // 47: MULTOP -> Divide
+    { 27 },
+    // 48: MULTOP -> And
+    { 25 },
+    // 49: MULTOP -> BoolAnd
+    { 35 },
+    // 50: FACTOR -> LeftParen EXPRESSION RightParen
+    { 14, 77, 15 },
+    // 51: FACTOR -> @Int IntLit @end
+    { 149, 11, 129 },
+    // 52: FACTOR -> @BinaryLit BinaryLit @end
+    { 150, 32, 129 },
+    // 53: FACTOR -> @CharLit CharLit @end
+    { 151, 34, 129 },
+    // 54: FACTOR -> NAME CALL
+    { 71, 87 },
+    // 55: CALL -> @Call:1 LeftParen ACTUAL_ARGUMENTS @add RightParen @end
+    { 152, 14, 88, 128, 15, 129 },
+    // 56: CALL -> EPSILON
+    {},
+    // 57: ACTUAL_ARGUMENTS -> @ActualArguments ARGUMENT_LIST @end
+    { 153, 89, 129 },
+    // 58: ARGUMENT_LIST -> EXPRESSION @add MORE_ARGUMENTS
+    { 77, 128, 90 },
+    // 59: ARGUMENT_LIST -> EPSILON
+    {},
+    // 60: MORE_ARGUMENTS -> Comma EXPRESSION @add MORE_ARGUMENTS
+    { 16, 77, 128, 90 },
+    // 61: MORE_ARGUMENTS -> EPSILON
+    {},
+  };
+
+  // PREDICT[nonterminal][TokenKind.ordinal()] is the production to expand
+  public static final int[][] PREDICT = {
+    // PROGRAM
+    { -1, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // BLOCK
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // DECLARATIONS
+    { -1, -1, 2, 2, 3, -1, -1, 3, -1, 3, 3, -1, 3, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 2, -1, 2, -1, -1, -1, -1, 3, -1, -1, -1 },
+    // STATEMENTS
+    { -1, -1, -1, -1, 4, -1, -1, 4, -1, 4, 4, -1, 4, 5, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 4, -1, -1, -1 },
+    // DECLARATION
+    { -1, -1, 6, 6, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 6, -1, 6, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // FUNCTION_REST
+    { -1, -1, 8, 8, 8, -1, -1, 8, -1, 8, 8, -1, 8, 8, 7, 8, 8, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 8, -1, 8, -1, -1, -1, -1, 8, -1, -1, -1 },
+    // TYPE
+    { -1, -1, 9, 10, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 11, -1, 12, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // NAME
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 13, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // FORMALS
+    { -1, -1, 14, 14, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 14, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 14, -1, 14, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // FORMAL_LIST
+    { -1, -1, 15, 15, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 16, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 15, -1, 15, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // MORE_FORMALS
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 18, 17, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // STATEMENT
+    { -1, -1, -1, -1, 19, -1, -1, 20, -1, 21, 23, -1, 22, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 24, -1, -1, -1 },
+    // RANGE
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 25, 25, -1, -1, 25, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 25, -1, 25, -1, -1, -1, -1, -1, -1, -1 },
+    // EXPRESSION
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 26, 26, -1, -1, 26, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 26, -1, 26, -1, -1, -1, -1, -1, -1, -1 },
+    // RELATIONS
+    { -1, -1, -1, -1, 28, 28, -1, 28, -1, 28, 28, -1, 28, 28, -1, 28, 28, -1, 27, 27, 27, 27, -1, -1, -1, -1, -1, -1, -1, 27, 27, -1, -1, -1, -1, -1, -1, -1, 28, -1, 28, -1 },
+    // RELOP
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 29, 30, 31, 32, -1, -1, -1, -1, -1, -1, -1, 33, 34, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+    // SIMPLE_EXPRESSION
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 35, 35, -1, -1, 35, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 35, -1, 35, -1, -1, -1, -1, -1, -1, -1 },
+    // ADDITIONS
+    { -1, -1, -1, -1, 37, 37, -1, 37, -1, 37, 37, -1, 37, 37, -1, 37, 37, -1, 37, 37, 37, 37, 36, 36, 36, -1, -1, -1, -1, 37, 37, -1, -1, -1, -1, -1, 36, 36, 37, -1, 37, -1 },
+    // ADDOP
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 38, 39, 40, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 41, 42, -1, -1, -1, -1 },
+    // TERM
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 43, 43, -1, -1, 43, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 43, -1, 43, -1, -1, -1, -1, -1, -1, -1 },
+    // MULTIPLICATIONS
+    { -1, -1, -1, -1, 45, 45, -1, 45, -1, 45, 45, -1, 45, 45, -1, 45, 45, -1, 45, 45, 45, 45, 45, 45, 45, 44, 44, 44, -1, 45, 45, -1, -1, -1, -1, 44, 45, 45, 45, -1, 45, -1 },
+    // MULTOP
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 48, 46, 47, -1, -1, -1, -1, -1, -1, -1, 49, -1, -1, -1, -1, -1, -1 },
+    // FACTOR
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 54, 51, -1, -1, 50, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 52, -1, 53, -1, -1, -1, -1, -1, -1, -1 },
+    // CALL
+    { -1, -1, -1, -1, 56, 56, -1, 56, -1, 56, 56, -1, 56, 56, 55, 56, 56, -1, 56, 56, 56, 56, 56, 56, 56, 56, 56, 56, -1, 56, 56, -1, -1, -1, -1, 56, 56, 56, 56, -1, 56, -1 },
+    // ACTUAL_ARGUMENTS
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 57, 57, -1, -1, 57, 57, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 57, -1, 57, -1, -1, -1, -1, -1, -1, -1 },
+    // ARGUMENT_LIST
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 58, 58, -1, -1, 58, 59, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 58, -1, 58, -1, -1, -1, -1, -1, -1, -1 },
+    // MORE_ARGUMENTS
+    { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 61, 60, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+  };
+}
@@ -7,16 +7,19 @@ import lexer.daos.TokenKind;
 
 public class SyntaxErrorException extends Exception {
   public SyntaxErrorException(TokenKind actualKind, TokenKind... expectedTokens) {
-    super(
-        String.format(
-            "Syntax error, unexpected token %s (expected %s)",
-            actualKind,
-            String.join(", ",
-                Arrays.stream(expectedTokens).map(token -> token.toString())
-                    .collect(Collectors.toList()))));
+    super(describe(actualKind, expectedTokens));
   }
 
   public SyntaxErrorException(TokenKind actualKind, TokenKind expectedKind) {
     this(actualKind, Arrays.asList(expectedKind).toArray(new TokenKind[] {}));
   }
+
+  static String describe(TokenKind actualKind, TokenKind... expectedTokens) {
+    return String.format(
+        "Syntax error, unexpected token %s (expected %s)",
+        actualKind,
+        String.join(", ",
+            Arrays.stream(expectedTokens).map(token -> token.toString())
+                .collect(Collectors.toList())));
+  }
 }
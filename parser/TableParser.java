@@ -0,0 +1,157 @@
+package parser;
+
+import java.util.Arrays;
+
+import ast.AST;
+import ast.AstArena;
+import ast.ObjectTreeBuilder;
+import ast.TreeBuilder;
+import ast.trees.NodeKind;
+import lexer.ILexer;
+import lexer.Lexception;
+import lexer.TokenBuffer;
+import lexer.daos.TokenKind;
+
+/**
+ * A table-driven LL(1) parser for grammar.txt. Instead of one Java method per
+ * production it keeps the symbols still to be matched on an explicit stack
+ * and looks up the production to expand in ParserTables, so nesting depth is
+ * bounded by the heap rather than the thread's stack. The actions in the
+ * grammar build the tree on a second stack of node handles, creating nodes in
+ * the same order as Parser, so both parsers produce the same trees, numbers
+ * and spans for every program the grammar accepts.
+ */
+public class TableParser {
+  private TokenStream input;
+  private TreeBuilder builder;
+  private int[] symbols;
+  private int symbolCount;
+  private int[] nodes;
+  private int nodeCount;
+
+  public TableParser(ILexer lexer) throws Lexception {
+    this.input = new TokenStream(lexer);
+  }
+
+  public TableParser(TokenBuffer tokens) {
+    this.input = new TokenStream(tokens);
+  }
+
+  public AST execute() throws SyntaxErrorException, Lexception {
+    ObjectTreeBuilder trees = new ObjectTreeBuilder();
+
+    this.builder = trees;
+
+    return trees.getNode(parse());
+  }
+
+  public AstArena executeArena() throws SyntaxErrorException, Lexception {
+    AstArena arena = new AstArena(this.input.getContext(), this.input.getCapacityHint());
+
+    this.builder = arena;
+    parse();
+
+    return arena;
+  }
+
+  /**
+   * The number of nodes created so far; every node number is below it.
+   */
+  public int getNodeCount() {
+    return this.builder == null ? 0 : this.builder.size();
+  }
+
+  private int parse() throws SyntaxErrorException, Lexception {
+    this.symbols = new int[64];
+    this.symbolCount = 0;
+    this.nodes = new int[16];
+    this.nodeCount = 0;
+
+    pushSymbol(ParserTables.NONTERMINAL + ParserTables.START);
+
+    while (this.symbolCount > 0) {
+      int symbol = this.symbols[--this.symbolCount];
+
+      if (symbol >= ParserTables.ACTION) {
+        act(symbol - ParserTables.ACTION);
+      } else if (symbol >= ParserTables.NONTERMINAL) {
+        expand(symbol - ParserTables.NONTERMINAL);
+      } else if (ordinal() == symbol) {
+        this.input.scan();
+      } else {
+        throw new SyntaxErrorException(this.input.getKind(), TokenKind.values()[symbol]);
+      }
+    }
+
+    return this.nodes[0];
+  }
+
+  /**
+   * The current TokenKind's ordinal; a lexer that has run out is at EOF.
+   */
+  private int ordinal() {
+    TokenKind kind = this.input.getKind();
+
+    return kind == null ? TokenKind.EOF.ordinal() : kind.ordinal();
+  }
+
+  private void expand(int nonterminal) throws SyntaxErrorException {
+    int[] predictions = ParserTables.PREDICT[nonterminal];
+    int production = predictions[ordinal()];
+
+    if (production == ParserTables.NO_PRODUCTION) {
+      throw new SyntaxErrorException(this.input.getKind(), expected(predictions));
+    }
+
+    int[] body = ParserTables.PRODUCTIONS[production];
+
+    for (int index = body.length - 1; index >= 0; index--) {
+      pushSymbol(body[index]);
+    }
+  }
+
+  private void act(int action) {
+    if (action == ParserTables.ADD) {
+      int child = this.nodes[--this.nodeCount];
+
+      this.builder.addChild(this.nodes[this.nodeCount - 1], child);
+    } else if (action == ParserTables.END) {
+      this.builder.setEnd(this.nodes[this.nodeCount - 1], this.input.getPreviousEnd());
+    } else {
+      NodeKind kind = ParserTables.ACTION_KINDS[action];
+      int children = ParserTables.ACTION_CHILDREN[action];
+      int node = this.builder.addNode(
+          kind, kind.isSymbolTree() ? this.input.getSymbol() : null, this.input.getStart());
+
+      this.nodeCount -= children;
+
+      for (int child = 0; child < children; child++) {
+        this.builder.addChild(node, this.nodes[this.nodeCount + child]);
+      }
+
+      pushNode(node);
+    }
+  }
+
+  private void pushSymbol(int symbol) {
+    if (this.symbolCount == this.symbols.length) {
+      this.symbols = Arrays.copyOf(this.symbols, this.symbols.length * 2);
+    }
+
+    this.symbols[this.symbolCount++] = symbol;
+  }
+
+  private void pushNode(int node) {
+    if (this.nodeCount == this.nodes.length) {
+      this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+    }
+
+    this.nodes[this.nodeCount++] = node;
+  }
+
+  private static TokenKind[] expected(int[] predictions) {
+    return Arrays.stream(TokenKind.values())
+        .filter(kind -> predictions[kind.ordinal()] != ParserTables.NO_PRODUCTION)
+        .toArray(TokenKind[]::new);
+  }
+}
@@ -0,0 +1,107 @@
+package parser;
+
+import lexer.CompilationContext;
+import lexer.ILexer;
+import lexer.Lexception;
+import lexer.TokenBuffer;
+import lexer.daos.Symbol;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+
+/**
+ * The current token of a parse, read either from an ILexer one Token at a
+ * time or straight from the kinds, symbols and offsets of a TokenBuffer. It
+ * also remembers where the last consumed token ended, which is where a node
+ * finished at that point ends.
+ */
+class TokenStream {
+  private Token currentToken;
+  private TokenKind currentKind;
+  private ILexer lexer;
+  private TokenBuffer tokens;
+  private int tokenIndex;
+  private int previousEnd;
+
+  TokenStream(ILexer lexer) throws Lexception {
+    this.lexer = lexer;
+    scan();
+  }
+
+  TokenStream(TokenBuffer tokens) {
+    this(tokens, 0);
+  }
+
+  /**
+   * Reads tokens from tokenIndex on, for a parse of part of the source.
+   */
+  TokenStream(TokenBuffer tokens, int tokenIndex) {
+    this.tokens = tokens;
+    this.tokenIndex = tokenIndex;
+    this.currentKind = tokens.getTokenKind(tokenIndex);
+  }
+
+  /**
+   * The kind of the current token, or null once an ILexer has run out.
+   */
+  TokenKind getKind() {
+    return this.currentKind;
+  }
+
+  void scan() throws Lexception {
+    if (this.tokens != null) {
+      this.previousEnd = getStart() + this.tokens.getLength(this.tokenIndex);
+
+      if (this.tokenIndex < this.tokens.size() - 1) {
+        this.tokenIndex++;
+      }
+
+      this.currentToken = null;
+      this.currentKind = this.tokens.getTokenKind(this.tokenIndex);
+    } else {
+      if (this.currentToken != null) {
+        this.previousEnd = getStart() + this.currentToken.getLength();
+      }
+
+      this.currentToken = this.lexer.nextToken();
+      this.currentKind = this.currentToken == null ? null : this.currentToken.getTokenKind();
+    }
+  }
+
+  Symbol getSymbol() {
+    if (this.tokens != null) {
+      return this.tokens.getSymbol(this.tokenIndex);
+    }
+
+    return this.currentToken.getSymbol();
+  }
+
+  /**
+   * The source offset of the current token, or the end of the last token once
+   * the input is exhausted.
+   */
+  int getStart() {
+    if (this.tokens != null) {
+      return this.tokens.getOffset(this.tokenIndex);
+    }
+
+    return this.currentToken == null ? this.previousEnd : this.currentToken.getOffset();
+  }
+
+  /**
+   * The source offset just past the last consumed token.
+   */
+  int getPreviousEnd() {
+    return this.previousEnd;
+  }
+
+  CompilationContext getContext() {
+    return this.tokens != null ? this.tokens.getContext() : this.lexer.getContext();
+  }
+
+  /**
+   * A starting capacity for a tree built from this stream.
+   */
+  int getCapacityHint() {
+    return this.tokens == null ? 64 : this.tokens.size();
+  }
+}
@@ -0,0 +1,220 @@
+package tests.ast;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.AstArena;
+import ast.ISymbolTree;
+import ast.serialization.AstReader;
+import ast.serialization.AstView;
+import ast.serialization.AstWriter;
+import ast.trees.AssignmentTree;
+import ast.trees.BinaryLitTree;
+import ast.trees.CharLitTree;
+import ast.trees.ErrorTree;
+import ast.trees.IdentifierTree;
+import ast.trees.NodeKind;
+import ast.trees.ProgramTree;
+import lexer.CompilationContext;
+import lexer.SymbolTable;
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+import parser.Parser;
+import tests.helpers.lexer.TestSource;
+
+public class AstSerializationTest {
+  private static final String PROGRAM = String.join("\n", List.of(
+      "program {",
+      "  int x",
+      "  binary flags",
+      "  char initial",
+      "  int f(int a, boolean b) { return a * 2 / (a - 1) }",
+      "  x = f(1 + 2, 3 < 4)",
+      "  flags = 0",
+      "  if x <= 10 then { x = x + 1 } else { while x > 0 { x = x - 1 } }",
+      "  iter |- 1 ~ x { x = f(x, x == 3) }",
+      "}",
+      ""));
+
+  @Test
+  public void testTreesRoundTripWithEveryNodeKind() throws Exception {
+    CompilationContext context = new CompilationContext();
+    Parser parser = new Parser(TestSource.lexer(PROGRAM, context));
+    AST tree = parser.execute();
+    int count = parser.getNodeCount();
+
+    // The lexers do not produce binary and char literals yet, so add them by hand
+    for (AST literal : List.of(
+        new BinaryLitTree(context.recordSymbol("101b", TokenKind.BinaryLit)),
+        new CharLitTree(context.recordSymbol("'q'", TokenKind.CharLit)))) {
+      AST assignment = new AssignmentTree()
+          .addChild(new IdentifierTree(context.recordSymbol("flags", TokenKind.Identifier)))
+          .addChild(literal);
+
+      assignment.setNodeNumber(count++);
+      assignment.getChild(0).setNodeNumber(count++);
+      literal.setNodeNumber(count++);
+      tree.getChild(0).addChild(assignment);
+    }
+
+    // and an Error node where a recovering parse would replace a bad statement
+    AST error = new ErrorTree();
+
+    error.setNodeNumber(count++);
+    tree.getChild(0).addChild(error);
+
+    AST copy = new AstReader(AstWriter.serialize(tree), context).readTree();
+    List<AST> nodes = preorder(tree);
+    List<AST> copies = preorder(copy);
+    EnumSet<NodeKind> kinds = EnumSet.noneOf(NodeKind.class);
+
+    assertEquals(nodes.size(), copies.size());
+
+    for (int index = 0; index < nodes.size(); index++) {
+      AST node = nodes.get(index);
+      AST other = copies.get(index);
+
+      kinds.add(node.getKind());
+      assertEquals(node.getClass(), other.getClass());
+      assertEquals(node.getNodeNumber(), other.getNodeNumber());
+      assertEquals(node.getChildCount(), other.getChildCount());
+
+      if (node instanceof ISymbolTree) {
+        assertSame(((ISymbolTree) node).getSymbol(), ((ISymbolTree) other).getSymbol());
+      }
+    }
+
+    assertEquals(EnumSet.allOf(NodeKind.class), kinds);
+  }
+
+  @Test
+  public void testArenasRoundTripWithSpans() throws Exception {
+    CompilationContext context = new CompilationContext();
+    AstArena arena = new Parser(TestSource.lexer(PROGRAM, context)).executeArena();
+    AstArena copy = new AstReader(AstWriter.serialize(arena), context).readArena();
+
+    assertEquals(arena.size(), copy.size());
+    assertEquals(arena.getRoot(), copy.getRoot());
+
+    for (int node = 0; node < arena.size(); node++) {
+      assertEquals(arena.getKind(node), copy.getKind(node));
+      assertEquals(arena.getParent(node), copy.getParent(node));
+      assertEquals(arena.getFirstChild(node), copy.getFirstChild(node));
+      assertEquals(arena.getNextSibling(node), copy.getNextSibling(node));
+      assertSame(arena.getSymbol(node), copy.getSymbol(node));
+      assertEquals(arena.getSpanStart(node), copy.getSpanStart(node));
+      assertEquals(arena.getSpanEnd(node), copy.getSpanEnd(node));
+    }
+
+    assertArrayEquals(AstWriter.serialize(arena), AstWriter.serialize(copy));
+  }
+
+  @Test
+  public void testMappedFilesAreReadThroughAView() throws Exception {
+    CompilationContext context = new CompilationContext();
+    AstArena arena = new Parser(TestSource.lexer(PROGRAM, context)).executeArena();
+    Path file = Files.createTempFile("ast", ".bin");
+
+    try {
+      AstWriter.write(arena, file);
+
+      AstReader reader = new AstReader(file, new CompilationContext());
+      AstView view = reader.view();
+      int count = 0;
+
+      assertTrue(reader.hasSpans());
+      assertEquals(arena.size(), reader.getNodeCount());
+
+      while (view.next()) {
+        int node = view.getNodeNumber();
+
+        assertEquals(arena.getKind(node), view.getKind());
+        assertEquals(arena.getSpanStart(node), view.getSpanStart());
+        assertEquals(arena.getSpanEnd(node), view.getSpanEnd());
+
+        if (view.getKind() == NodeKind.Identifier) {
+          assertEquals(arena.getSymbol(node).getLexeme(), view.getSymbol().getLexeme());
+        }
+
+        count++;
+      }
+
+      assertEquals(arena.size(), count);
+      assertFalse(view.next());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testBuiltInSymbolsComeBackShared() throws Exception {
+    CompilationContext context = new CompilationContext();
+    AST tree = new Parser(TestSource.lexer("program { x = 1 < 2 }", context)).execute();
+    AST copy = new AstReader(AstWriter.serialize(tree), new CompilationContext()).readTree();
+    AST relation = copy.getChild(0).getChild(0).getChild(1);
+
+    assertSame(SymbolTable.getBuiltIn("<"), ((ISymbolTree) relation).getSymbol());
+  }
+
+  @Test
+  public void testUnnumberedTreesRoundTrip() throws Exception {
+    AST tree = new ProgramTree();
+    AST copy = new AstReader(AstWriter.serialize(tree), new CompilationContext()).readTree();
+
+    assertEquals(AST.UNNUMBERED, copy.getNodeNumber());
+    assertEquals(NodeKind.Program, copy.getKind());
+
+    AstArena arena = new AstReader(AstWriter.serialize(
+        new IdentifierTree((Symbol) null)), new CompilationContext()).readArena();
+
+    assertEquals(1, arena.size());
+    assertNull(arena.getSymbol(0));
+  }
+
+  @Test
+  public void testCorruptOrForeignFilesAreRejected() throws Exception {
+    byte[] bytes = AstWriter.serialize(new ProgramTree());
+
+    assertThrows(IOException.class, () -> new AstReader(new byte[] { 'X', 'A' }, null));
+    assertThrows(IOException.class,
+        () -> new AstReader("not an ast".getBytes(), new CompilationContext()));
+
+    bytes[4] = 99;
+
+    IOException exception = assertThrows(IOException.class,
+        () -> new AstReader(bytes, new CompilationContext()));
+
+    assertEquals("Unsupported format version 99", exception.getMessage());
+  }
+
+  private static List<AST> preorder(AST tree) {
+    List<AST> nodes = new ArrayList<>();
+
+    collect(tree, nodes);
+
+    return nodes;
+  }
+
+  private static void collect(AST node, List<AST> nodes) {
+    nodes.add(node);
+
+    for (int child = 0; child < node.getChildCount(); child++) {
+      collect(node.getChild(child), nodes);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package tests.ast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.trees.ActualArgumentsTree;
+import ast.trees.BlockTree;
+import ast.trees.BoolTypeTree;
+import ast.trees.FunctionDeclarationTree;
+import ast.trees.IfTree;
+import ast.trees.IntTypeTree;
+import ast.trees.ReturnTree;
+import ast.trees.WhileTree;
+import lexer.CompilationContext;
+import parser.Parser;
+import tests.helpers.lexer.TestSource;
+
+public class TreeArityTest {
+
+  @Test
+  public void testLeavesShareTheEmptyChildList() {
+    AST first = new IntTypeTree();
+    AST second = new BoolTypeTree();
+
+    assertEquals(0, first.getChildCount());
+    assertNull(first.getChild(0));
+    assertSame(first.getChildren(), second.getChildren());
+    assertThrows(IllegalStateException.class, () -> first.addChild(second));
+  }
+
+  @Test
+  public void testFixedArityTreesHoldExactlyTheirChildren() {
+    AST condition = new IntTypeTree();
+    AST body = new BlockTree();
+    AST node = new WhileTree().addChild(condition).addChild(body);
+
+    assertEquals(2, node.getChildCount());
+    assertSame(condition, node.getChild(0));
+    assertSame(body, node.getChild(1));
+    assertNull(node.getChild(2));
+    assertEquals(List.of(condition, body), node.getChildren());
+    assertThrows(IllegalStateException.class, () -> node.addChild(new BlockTree()));
+    assertThrows(IllegalStateException.class,
+        () -> new ReturnTree().addChild(condition).addChild(body));
+
+    AST function = new FunctionDeclarationTree();
+
+    for (int child = 0; child < 4; child++) {
+      assertNull(function.getChild(child));
+      function.addChild(new BlockTree());
+    }
+
+    assertEquals(4, function.getChildCount());
+    assertThrows(IllegalStateException.class, () -> function.addChild(body));
+  }
+
+  @Test
+  public void testListTreesGrowAndExposeReadOnlyChildren() {
+    AST node = new ActualArgumentsTree();
+
+    assertEquals(0, node.getChildCount());
+    assertTrue(node.getChildren().isEmpty());
+
+    for (int child = 0; child < 10; child++) {
+      node.addChild(new IntTypeTree());
+    }
+
+    assertEquals(10, node.getChildCount());
+    assertNull(node.getChild(10));
+    assertThrows(UnsupportedOperationException.class, () -> node.getChildren().clear());
+  }
+
+  @Test
+  public void testParsedTreesMatchTheirArity() throws Exception {
+    String source = String.join("\n", List.of(
+        "program {",
+        "  int f(int a) { if a < 1 then { return 0 } else { return f(a - 1) } }",
+        "}",
+        ""));
+    AST program = new Parser(TestSource.lexer(source, new CompilationContext())).execute();
+    AST function = program.getChild(0).getChild(0);
+
+    assertEquals(1, program.getChildCount());
+    assertEquals(FunctionDeclarationTree.class, function.getClass());
+    assertEquals(4, function.getChildCount());
+    assertEquals(IfTree.class, function.getChild(3).getChild(0).getClass());
+    assertEquals(3, function.getChild(3).getChild(0).getChildCount());
+  }
+}
@@ -0,0 +1,281 @@
+package tests.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.AstArena;
+import compiler.CompilationCache;
+import compiler.Compiler;
+import lexer.CompilationContext;
+import lexer.TokenBuffer;
+import parser.Parser;
+import tests.helpers.lexer.TestSource;
+
+public class CompilationCacheTest {
+  private static final String PROGRAM = "program { int i int j\n  i = i + j + 7\n  j = write(i)\n}\n";
+
+  private Path directory;
+
+  @BeforeEach
+  public void createDirectory() throws IOException {
+    this.directory = Files.createTempDirectory("compilation-cache");
+  }
+
+  @AfterEach
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.list(this.directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+
+    Files.delete(this.directory);
+  }
+
+  @Test
+  public void testEntriesRoundTripTokensAndTree() throws Exception {
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+    CompilationContext context = new CompilationContext();
+    TokenBuffer tokens = TestSource.tokenize(PROGRAM, context);
+    AstArena arena = new Parser(tokens).executeArena();
+    String key = CompilationCache.key(PROGRAM.getBytes());
+
+    assertNull(cache.get(key, new CompilationContext()));
+    cache.put(key, tokens, arena);
+
+    CompilationCache.Entry entry = cache.get(key, new CompilationContext());
+    TokenBuffer cachedTokens = entry.getTokens();
+    AstArena cachedArena = entry.getTree();
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(tokens.size(), cachedTokens.size());
+
+    for (int index = 0; index < tokens.size(); index++) {
+      assertEquals(tokens.getTokenKind(index), cachedTokens.getTokenKind(index));
+      assertEquals(tokens.getSymbol(index).getLexeme(), cachedTokens.getSymbol(index).getLexeme());
+      assertEquals(tokens.getOffset(index), cachedTokens.getOffset(index));
+      assertEquals(tokens.getLength(index), cachedTokens.getLength(index));
+      assertEquals(tokens.getToken(index).getLineNumber(), cachedTokens.getToken(index).getLineNumber());
+    }
+
+    assertEquals(arena.size(), cachedArena.size());
+
+    for (int node = 0; node < arena.size(); node++) {
+      assertEquals(arena.getKind(node), cachedArena.getKind(node));
+      assertEquals(arena.getParent(node), cachedArena.getParent(node));
+      assertEquals(arena.getSpanEnd(node), cachedArena.getSpanEnd(node));
+    }
+  }
+
+  @Test
+  public void testKeysDependOnEveryByte() {
+    assertEquals(CompilationCache.key(PROGRAM.getBytes()), CompilationCache.key(PROGRAM.getBytes()));
+    assertNotEquals(
+        CompilationCache.key(PROGRAM.getBytes()),
+        CompilationCache.key(PROGRAM.replace('7', '8').getBytes()));
+  }
+
+  @Test
+  public void testUnreadableEntriesAreMissesAndRemoved() throws Exception {
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+    String key = CompilationCache.key(PROGRAM.getBytes());
+
+    Files.write(this.directory.resolve(key + ".cache"), new byte[] { 0, 0, 0, 2, 'X', 'T' });
+
+    assertNull(cache.get(key, new CompilationContext()));
+    assertEquals(0, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertFalse(Files.exists(this.directory.resolve(key + ".cache")));
+  }
+
+  @Test
+  public void testEntriesWithACorruptBodyAreMissesAndRemoved() throws Exception {
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+    CompilationContext context = new CompilationContext();
+    TokenBuffer tokens = TestSource.tokenize(PROGRAM, context);
+    String key = CompilationCache.key(PROGRAM.getBytes());
+    Path entry = this.directory.resolve(key + ".cache");
+
+    cache.put(key, tokens, new Parser(tokens).executeArena());
+
+    byte[] contents = Files.readAllBytes(entry);
+
+    // Keep the header and the token length, garble the last byte of the tree
+    contents[contents.length - 1] ^= 0x5A;
+    Files.write(entry, contents);
+
+    assertNull(cache.get(key, new CompilationContext()));
+    assertFalse(Files.exists(entry));
+
+    cache.put(key, tokens, new Parser(tokens).executeArena());
+    Files.write(entry, Arrays.copyOf(contents, contents.length / 2));
+
+    assertNull(cache.get(key, new CompilationContext()));
+    assertFalse(Files.exists(entry));
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void testCompilerParsesAgainWhenAnEntryIsCorrupt() throws Exception {
+    Path source = Files.createTempFile(this.directory, "simple", ".x");
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+
+    Files.write(source, PROGRAM.getBytes());
+
+    AST compiled = new Compiler(source.toString(), cache).parse(new CompilationContext());
+    Path entry = this.directory.resolve(CompilationCache.key(PROGRAM.getBytes()) + ".cache");
+    byte[] contents = Files.readAllBytes(entry);
+
+    // A node count far past the end of the tree, as a bad write could leave
+    Arrays.fill(contents, contents.length - 8, contents.length, (byte) 0xFF);
+    Files.write(entry, contents);
+
+    AST reparsed = new Compiler(source.toString(), cache).parse(new CompilationContext());
+
+    assertEquals(numbers(compiled), numbers(reparsed));
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertTrue(Files.exists(entry));
+  }
+
+  @Test
+  public void testTheDirectoryIsCreatedForItsOwnerOnly() throws Exception {
+    Path nested = this.directory.resolve("nested");
+    CompilationCache cache = new CompilationCache(nested, 1 << 20);
+    TokenBuffer tokens = TestSource.tokenize(PROGRAM);
+    String key = CompilationCache.key(PROGRAM.getBytes());
+
+    cache.put(key, tokens, new Parser(tokens).executeArena());
+
+    try {
+      assertEquals("rwx------",
+          PosixFilePermissions.toString(Files.getPosixFilePermissions(nested)));
+      assertEquals("rw-------", PosixFilePermissions.toString(
+          Files.getPosixFilePermissions(nested.resolve(key + ".cache"))));
+    } finally {
+      Files.delete(nested.resolve(key + ".cache"));
+      Files.delete(nested);
+    }
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+    CompilationContext context = new CompilationContext();
+    List<String> keys = new ArrayList<>();
+    long entrySize = 0;
+
+    for (int program = 0; program < 4; program++) {
+      String source = PROGRAM.replace("7", Integer.toString(program));
+      TokenBuffer tokens = TestSource.tokenize(source, context);
+      String key = CompilationCache.key(source.getBytes());
+
+      new CompilationCache(this.directory, Long.MAX_VALUE)
+          .put(key, tokens, new Parser(tokens).executeArena());
+      Files.setLastModifiedTime(
+          this.directory.resolve(key + ".cache"), FileTime.fromMillis(1000000L * (program + 1)));
+      entrySize = Math.max(entrySize, Files.size(this.directory.resolve(key + ".cache")));
+      keys.add(key);
+    }
+
+    CompilationCache cache = new CompilationCache(this.directory, entrySize * 3);
+
+    // Reading the oldest entry makes it the most recently used
+    assertNotNull(cache.get(keys.get(0), new CompilationContext()));
+
+    String source = PROGRAM.replace("7", "5");
+    TokenBuffer tokens = TestSource.tokenize(source, context);
+
+    cache.put(CompilationCache.key(source.getBytes()), tokens, new Parser(tokens).executeArena());
+
+    assertEquals(2, cache.getEvictions());
+    assertTrue(Files.exists(this.directory.resolve(keys.get(0) + ".cache")));
+    assertFalse(Files.exists(this.directory.resolve(keys.get(1) + ".cache")));
+    assertFalse(Files.exists(this.directory.resolve(keys.get(2) + ".cache")));
+    assertTrue(Files.exists(this.directory.resolve(keys.get(3) + ".cache")));
+  }
+
+  @Test
+  public void testConcurrentWritersLeaveOneCompleteEntry() throws Exception {
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+    String key = CompilationCache.key(PROGRAM.getBytes());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> writes = new ArrayList<>();
+
+    for (int writer = 0; writer < 16; writer++) {
+      writes.add(executor.submit(() -> {
+        TokenBuffer tokens = TestSource.tokenize(PROGRAM);
+
+        cache.put(key, tokens, new Parser(tokens).executeArena());
+
+        return null;
+      }));
+    }
+
+    for (Future<?> write : writes) {
+      write.get();
+    }
+
+    executor.shutdown();
+
+    try (Stream<Path> files = Files.list(this.directory)) {
+      assertEquals(1, files.count());
+    }
+
+    assertNotNull(cache.get(key, new CompilationContext()).getTree());
+  }
+
+  @Test
+  public void testCompilerSkipsLexingAndParsingOnAHit() throws Exception {
+    Path source = Files.createTempFile(this.directory, "simple", ".x");
+    CompilationCache cache = new CompilationCache(this.directory, 1 << 20);
+
+    Files.write(source, PROGRAM.getBytes());
+
+    AST compiled = new Compiler(source.toString(), cache).parse(new CompilationContext());
+    AST cached = new Compiler(source.toString(), cache).parse(new CompilationContext());
+
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(numbers(compiled), numbers(cached));
+  }
+
+  private static List<String> numbers(AST tree) {
+    List<String> nodes = new ArrayList<>();
+
+    collect(tree, nodes);
+
+    return nodes;
+  }
+
+  private static void collect(AST node, List<String> nodes) {
+    nodes.add(node.getNodeNumber() + ":" + node.getKind());
+
+    for (int child = 0; child < node.getChildCount(); child++) {
+      collect(node.getChild(child), nodes);
+    }
+  }
+}
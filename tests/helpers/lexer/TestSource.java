@@ -0,0 +1,29 @@
+package tests.helpers.lexer;
+
+import lexer.CompilationContext;
+import lexer.Lexception;
+import lexer.Lexer;
+import lexer.TokenBuffer;
+import lexer.readers.CharArraySourceReader;
+
+/**
+ * Lexes a program held in a String, for tests that parse real source rather
+ * than a PseudoProgram.
+ */
+public class TestSource {
+
+  public static Lexer lexer(String program, CompilationContext context) {
+    char[] source = program.toCharArray();
+
+    return new Lexer(new CharArraySourceReader(source, 0, source.length), context);
+  }
+
+  public static TokenBuffer tokenize(String program, CompilationContext context)
+      throws Lexception {
+    return lexer(program, context).tokenize();
+  }
+
+  public static TokenBuffer tokenize(String program) throws Lexception {
+    return tokenize(program, new CompilationContext());
+  }
+}
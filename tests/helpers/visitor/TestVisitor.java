@@ -53,8 +53,8 @@ public class TestVisitor extends TreeVisitor {
   }
 
   private Object testChildren(AST t) {
-    for (AST child : t.getChildren()) {
-      Object result = child.accept(this);
+    for (int child = 0; child < t.getChildCount(); child++) {
+      Object result = t.getChild(child).accept(this);
 
       if (result != null) {
         return result;
@@ -205,4 +205,9 @@ public class TestVisitor extends TreeVisitor {
     return test(tree);
   }
 
+  @Override
+  public Object visit(ErrorTree tree) {
+    return test(tree);
+  }
+
 }
\ No newline at end of file
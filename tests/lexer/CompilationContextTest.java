@@ -0,0 +1,103 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.CompilationContext;
+import lexer.Lexer;
+import lexer.SymbolCache;
+import lexer.SymbolTable;
+import lexer.TokenBuffer;
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+
+public class CompilationContextTest {
+
+  @Test
+  public void testBuiltInsAreSharedByEveryContext() {
+    CompilationContext first = new CompilationContext();
+    CompilationContext second = new CompilationContext();
+    char[] buffer = "while <=".toCharArray();
+
+    assertSame(SymbolTable.getBuiltIn("while"), first.recordSymbol(buffer, 0, 5, TokenKind.Identifier));
+    assertSame(SymbolTable.getBuiltIn("<="), second.recordSymbol("<=", TokenKind.BogusToken));
+    assertEquals(0, first.size());
+    assertEquals(0, second.size());
+  }
+
+  @Test
+  public void testSymbolsAreScopedToTheirContext() {
+    CompilationContext first = new CompilationContext();
+    CompilationContext second = new CompilationContext();
+    char[] buffer = "total".toCharArray();
+
+    Symbol symbol = first.recordSymbol(buffer, 0, buffer.length, TokenKind.Identifier);
+
+    assertSame(symbol, first.recordSymbol("total", TokenKind.BogusToken));
+    assertSame(symbol, first.getSymbol(symbol.getId()));
+    assertEquals(SymbolTable.getBuiltInCount(), symbol.getId());
+    assertNull(second.recordSymbol("total", TokenKind.BogusToken));
+    assertNotSame(symbol, second.recordSymbol("total", TokenKind.Identifier));
+  }
+
+  @Test
+  public void testLexingInAContextLeavesTheGlobalContextAlone() throws Exception {
+    int globalSize = CompilationContext.global().size();
+
+    for (int compilation = 0; compilation < 200; compilation++) {
+      char[] source = String.format(
+          "program { int only_in_%d\n only_in_%d = %d }\n", compilation, compilation, 1000000 + compilation)
+          .toCharArray();
+      CompilationContext context = new CompilationContext();
+      TokenBuffer tokens = new Lexer(new CharArraySourceReader(source, 0, source.length), context)
+          .tokenize();
+
+      assertSame(context, tokens.getContext());
+      assertEquals("only_in_" + compilation, tokens.getSymbol(3).getLexeme());
+      assertSame(tokens.getSymbol(3), tokens.getSymbol(4));
+      assertEquals(TokenKind.IntLit, tokens.getSymbol(6).getTokenKind());
+    }
+
+    assertEquals(globalSize, CompilationContext.global().size());
+  }
+
+  @Test
+  public void testContextsShareCachedLexemes() {
+    SymbolCache cache = new SymbolCache(64);
+    char[] buffer = "index".toCharArray();
+
+    Symbol first = new CompilationContext(cache).recordSymbol(buffer, 0, 5, TokenKind.Identifier);
+    Symbol second = new CompilationContext(cache).recordSymbol(buffer, 0, 5, TokenKind.Identifier);
+
+    assertNotSame(first, second);
+    assertSame(first.getLexeme(), second.getLexeme());
+  }
+
+  @Test
+  public void testCacheIsBoundedAndEvicts() {
+    SymbolCache cache = new SymbolCache(1000);
+
+    assertEquals(1024, cache.getCapacity());
+
+    char[] hot = "hot".toCharArray();
+
+    for (int index = 0; index < 100000; index++) {
+      char[] buffer = ("cold" + index).toCharArray();
+
+      cache.intern(buffer, 0, buffer.length);
+      assertSame(cache.intern(hot, 0, 3), cache.intern(hot, 0, 3));
+    }
+
+    SymbolCache single = new SymbolCache(1);
+    String evicted = single.intern("a".toCharArray(), 0, 1);
+
+    single.intern("b".toCharArray(), 0, 1);
+
+    assertNotSame(evicted, single.intern("a".toCharArray(), 0, 1));
+  }
+}
@@ -0,0 +1,115 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import lexer.DfaLexer;
+import lexer.ILexer;
+import lexer.Lexception;
+import lexer.Lexer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import tests.helpers.lexer.TestReader;
+
+public class DfaLexerTest {
+
+  private static Stream<Arguments> provideSources() {
+    return Stream.of(
+        Arguments.of(List.of("program { int i int j\n", "   i = i + j + 7\n", "   j = write(i)\n", "}")),
+        Arguments.of(List.of(" == != <= >= < > = | |- & * / ~ , ( ) { } ")),
+        Arguments.of(List.of("a==b!=c<=d>=e|-f")),
+        Arguments.of(List.of("// only a comment")),
+        Arguments.of(List.of("x // trailing\n", "// whole line\n", "  y")),
+        Arguments.of(List.of("if then else while function return binary char and or xor iter")),
+        Arguments.of(List.of("iff thenx _x $y x1 0123 12ab")),
+        Arguments.of(List.of("café = ٣٤ + x́")),
+        Arguments.of(List.of("\t\r\n", "  \n", "")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideSources")
+  public void testMatchesLexer(List<String> source) throws Exception {
+    try (Lexer lexer = new Lexer(new TestReader(source));
+        DfaLexer dfaLexer = new DfaLexer(new TestReader(source))) {
+      List<Token> expected = tokens(lexer);
+      List<Token> actual = tokens(dfaLexer);
+
+      assertEquals(expected.size(), actual.size());
+
+      for (int index = 0; index < expected.size(); index++) {
+        assertEquals(expected.get(index).getLexeme(), actual.get(index).getLexeme());
+        assertEquals(expected.get(index).getTokenKind(), actual.get(index).getTokenKind());
+        assertEquals(expected.get(index).getLeftPosition(), actual.get(index).getLeftPosition());
+        assertEquals(expected.get(index).getRightPosition(), actual.get(index).getRightPosition());
+        assertEquals(expected.get(index).getLineNumber(), actual.get(index).getLineNumber());
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesLexerAcrossBufferBoundaries() throws Exception {
+    List<String> source = new ArrayList<>();
+
+    for (int line = 0; line < 2000; line++) {
+      source.add("  counter12 = counter12 + 345 // note\n");
+    }
+
+    source.add("x".repeat(20000));
+
+    try (Lexer lexer = new Lexer(new TestReader(source));
+        DfaLexer dfaLexer = new DfaLexer(new TestReader(source))) {
+      List<Token> expected = tokens(lexer);
+      List<Token> actual = tokens(dfaLexer);
+
+      assertEquals(expected.size(), actual.size());
+
+      for (int index = 0; index < expected.size(); index++) {
+        assertEquals(expected.get(index).getLexeme(), actual.get(index).getLexeme());
+        assertEquals(expected.get(index).getTokenKind(), actual.get(index).getTokenKind());
+        assertEquals(expected.get(index).getLeftPosition(), actual.get(index).getLeftPosition());
+        assertEquals(expected.get(index).getLineNumber(), actual.get(index).getLineNumber());
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideInvalidSources")
+  public void testReportsSameErrorAsLexer(List<String> source) throws Exception {
+    try (Lexer lexer = new Lexer(new TestReader(source));
+        DfaLexer dfaLexer = new DfaLexer(new TestReader(source))) {
+      Lexception expected = assertThrows(Lexception.class, () -> tokens(lexer));
+      Lexception actual = assertThrows(Lexception.class, () -> tokens(dfaLexer));
+
+      assertEquals(expected.getMessage(), actual.getMessage());
+    }
+  }
+
+  private static Stream<Arguments> provideInvalidSources() {
+    return Stream.of(
+        Arguments.of(List.of("x = 1 ! y")),
+        Arguments.of(List.of("x = 1 !")),
+        Arguments.of(List.of("x\n", "  # y")),
+        Arguments.of(List.of("\u0001")));
+  }
+
+  private static List<Token> tokens(ILexer lexer) throws Lexception {
+    List<Token> tokens = new ArrayList<>();
+    Token token;
+
+    do {
+      token = lexer.nextToken();
+      tokens.add(token);
+    } while (token.getTokenKind() != TokenKind.EOF);
+
+    return tokens;
+  }
+}
@@ -0,0 +1,157 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.IncrementalLexer;
+import lexer.Lexception;
+import lexer.Lexer;
+import lexer.TokenBuffer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+
+public class IncrementalLexerTest {
+  private static final String[] FRAGMENTS = {
+      " ", " ", "\n", "    ", "x", "y1", "count", "42", "7", "if", "then", "=", "==", "<", "<=",
+      "!=", "+", "-", "*", "/", "//", "(", ")", "{", "}", ",", "|", "|-", "~", "\r\n"
+  };
+
+  @Test
+  public void testInsertingIntoAnIdentifier() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("alpha = beta + 1\ngamma = 2\n");
+
+    assertMatchesFullLex(lexer.edit(2, 0, "XY"), lexer);
+    assertEquals("alXYpha", lexer.getTokens().getToken(0).getLexeme());
+  }
+
+  @Test
+  public void testJoiningOperators() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("a < b\n");
+
+    assertMatchesFullLex(lexer.edit(3, 0, "="), lexer);
+    assertEquals(TokenKind.LessEqual, lexer.getTokens().getTokenKind(1));
+  }
+
+  @Test
+  public void testCommentingOutAndRestoringALine() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("a = 1\nb = 2\nc = 3\n");
+
+    assertMatchesFullLex(lexer.edit(6, 0, "// "), lexer);
+    assertEquals(7, lexer.getTokens().size());
+
+    assertMatchesFullLex(lexer.edit(6, 3, ""), lexer);
+    assertEquals(10, lexer.getTokens().size());
+  }
+
+  @Test
+  public void testJoiningAndSplittingLines() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("a = 1\nb = 2\nc = 3\n");
+
+    assertMatchesFullLex(lexer.edit(5, 1, " "), lexer);
+    assertEquals(3, lexer.getTokens().getToken(9).getLineNumber());
+
+    assertMatchesFullLex(lexer.edit(2, 0, "\n\n"), lexer);
+    assertEquals(5, lexer.getTokens().getToken(9).getLineNumber());
+  }
+
+  @Test
+  public void testEditingAtTheEnds() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("");
+
+    assertMatchesFullLex(lexer.edit(0, 0, "x = 1"), lexer);
+    assertMatchesFullLex(lexer.edit(5, 0, "2"), lexer);
+    assertMatchesFullLex(lexer.edit(0, 0, "  "), lexer);
+    assertMatchesFullLex(lexer.edit(0, lexer.getLength(), ""), lexer);
+  }
+
+  @Test
+  public void testRelexingIsProportionalToTheEdit() throws Exception {
+    StringBuilder text = new StringBuilder();
+
+    for (int line = 0; line < 10000; line++) {
+      text.append("    value").append(line).append(" = value").append(line).append(" + 1\n");
+    }
+
+    IncrementalLexer lexer = new IncrementalLexer(text.toString());
+    int offset = text.indexOf("value5000 =");
+
+    assertMatchesFullLex(lexer.edit(offset + 5, 0, "s"), lexer);
+    assertTrue(lexer.getRelexedTokenCount() <= 3, "relexed " + lexer.getRelexedTokenCount());
+  }
+
+  @Test
+  public void testFailedEditLeavesTokensUnchanged() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer("a = 1\n");
+    TokenBuffer tokens = lexer.getTokens();
+
+    assertThrows(Lexception.class, () -> lexer.edit(2, 1, "#"));
+    assertSame(tokens, lexer.getTokens());
+    assertEquals("a = 1\n", new String(lexer.getText(), 0, lexer.getLength()));
+  }
+
+  @Test
+  public void testRandomEditsMatchFullLex() throws Exception {
+    Random random = new Random(2023);
+    IncrementalLexer lexer = new IncrementalLexer(randomText(random, 200));
+
+    for (int round = 0; round < 2000; round++) {
+      int offset = random.nextInt(lexer.getLength() + 1);
+      int removed = random.nextInt(Math.min(8, lexer.getLength() - offset) + 1);
+      String inserted = randomText(random, random.nextInt(4));
+      String before = new String(lexer.getText(), 0, lexer.getLength());
+
+      try {
+        assertMatchesFullLex(lexer.edit(offset, removed, inserted), lexer);
+      } catch (Lexception exception) {
+        // The edit split a "!=", so lexing the whole edited text fails as well
+        char[] edited = (before.substring(0, offset) + inserted + before.substring(offset + removed))
+            .toCharArray();
+
+        assertThrows(
+            Lexception.class,
+            () -> new Lexer(new CharArraySourceReader(edited, 0, edited.length)).tokenize());
+        assertEquals(before, new String(lexer.getText(), 0, lexer.getLength()));
+      }
+    }
+  }
+
+  private static String randomText(Random random, int fragments) {
+    StringBuilder text = new StringBuilder();
+
+    for (int index = 0; index < fragments; index++) {
+      text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+    }
+
+    return text.toString();
+  }
+
+  private static void assertMatchesFullLex(TokenBuffer actual, IncrementalLexer lexer)
+      throws Exception {
+    TokenBuffer expected =
+        new Lexer(new CharArraySourceReader(lexer.getText(), 0, lexer.getLength())).tokenize();
+    String text = new String(lexer.getText(), 0, lexer.getLength());
+
+    assertEquals(expected.size(), actual.size(), text);
+
+    for (int index = 0; index < expected.size(); index++) {
+      Token expectedToken = expected.getToken(index);
+      Token actualToken = actual.getToken(index);
+
+      assertEquals(expected.getTokenKind(index), actual.getTokenKind(index), text);
+      assertEquals(expected.getSymbolId(index), actual.getSymbolId(index), text);
+      assertEquals(expected.getOffset(index), actual.getOffset(index), text);
+      assertEquals(expected.getLength(index), actual.getLength(index), text);
+      assertEquals(expectedToken.getLineNumber(), actualToken.getLineNumber(), text);
+      assertEquals(expectedToken.getLeftPosition(), actualToken.getLeftPosition(), text);
+    }
+
+    assertEquals(expected.getLineIndex().getLineCount(), actual.getLineIndex().getLineCount(), text);
+  }
+}
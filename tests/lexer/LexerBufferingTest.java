@@ -0,0 +1,80 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.Lexer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import tests.helpers.lexer.TestReader;
+
+public class LexerBufferingTest {
+
+  private static final String LINE = "  counter12 = counter12 + 345 // note\n";
+  private static final int LINE_COUNT = 2000;
+
+  @Test
+  public void testPositionsAcrossBufferBoundaries() throws Exception {
+    List<String> lines = new ArrayList<>();
+
+    for (int line = 0; line < LINE_COUNT; line++) {
+      lines.add(LINE);
+    }
+
+    try (Lexer lexer = new Lexer(new TestReader(lines))) {
+      for (int line = 1; line <= LINE_COUNT; line++) {
+        assertToken(lexer.nextToken(), "counter12", TokenKind.Identifier, 2, 10, line);
+        assertToken(lexer.nextToken(), "=", TokenKind.Assign, 12, 12, line);
+        assertToken(lexer.nextToken(), "counter12", TokenKind.Identifier, 14, 22, line);
+        assertToken(lexer.nextToken(), "+", TokenKind.Plus, 24, 24, line);
+        assertToken(lexer.nextToken(), "345", TokenKind.IntLit, 26, 28, line);
+      }
+
+      Token eof = lexer.nextToken();
+
+      assertEquals(TokenKind.EOF, eof.getTokenKind());
+      assertEquals(LINE_COUNT + 1, eof.getLineNumber());
+      assertEquals(0, eof.getLeftPosition());
+    }
+  }
+
+  @Test
+  public void testIdentifierLongerThanBuffer() throws Exception {
+    String identifier = "x".repeat(20000);
+
+    try (Lexer lexer = new Lexer(new TestReader(List.of("  " + identifier + " 42")))) {
+      assertToken(lexer.nextToken(), identifier, TokenKind.Identifier, 2, 20001, 1);
+      assertToken(lexer.nextToken(), "42", TokenKind.IntLit, 20003, 20004, 1);
+      assertEquals(TokenKind.EOF, lexer.nextToken().getTokenKind());
+    }
+  }
+
+  @Test
+  public void testLongRunOfCommentLines() throws Exception {
+    List<String> lines = new ArrayList<>();
+
+    for (int line = 0; line < 100000; line++) {
+      lines.add("    // " + "-".repeat(60) + "\n");
+    }
+
+    lines.add("  done");
+
+    try (Lexer lexer = new Lexer(new TestReader(lines))) {
+      assertToken(lexer.nextToken(), "done", TokenKind.Identifier, 2, 5, 100001);
+      assertEquals(TokenKind.EOF, lexer.nextToken().getTokenKind());
+    }
+  }
+
+  private void assertToken(
+      Token token, String lexeme, TokenKind kind, int left, int right, int line) {
+    assertEquals(lexeme, token.getLexeme());
+    assertEquals(kind, token.getTokenKind());
+    assertEquals(left, token.getLeftPosition());
+    assertEquals(right, token.getRightPosition());
+    assertEquals(line, token.getLineNumber());
+  }
+}
@@ -0,0 +1,58 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.LineIndex;
+
+public class LineIndexTest {
+
+  @Test
+  public void testSingleLine() {
+    LineIndex index = LineIndex.of("abc".toCharArray(), 0, 3);
+
+    assertEquals(1, index.getLineCount());
+    assertEquals(1, index.getLineNumber(0));
+    assertEquals(2, index.getColumn(2));
+    assertEquals(3, index.getColumn(3));
+  }
+
+  @Test
+  public void testResolvesOffsetsAcrossLines() {
+    char[] source = "ab\n\ncde\nf".toCharArray();
+    LineIndex index = LineIndex.of(source, 0, source.length);
+
+    assertEquals(4, index.getLineCount());
+
+    int[] expectedLines = { 1, 1, 1, 2, 3, 3, 3, 3, 4 };
+    int[] expectedColumns = { 0, 1, 2, 0, 0, 1, 2, 3, 0 };
+
+    for (int offset = 0; offset < source.length; offset++) {
+      assertEquals(expectedLines[offset], index.getLineNumber(offset));
+      assertEquals(expectedColumns[offset], index.getColumn(offset));
+    }
+  }
+
+  @Test
+  public void testOffsetBeforeFirstCharacter() {
+    LineIndex index = new LineIndex();
+
+    assertEquals(1, index.getLineNumber(-1));
+    assertEquals(-1, index.getColumn(-1));
+  }
+
+  @Test
+  public void testGrowsPastInitialCapacity() {
+    LineIndex index = new LineIndex();
+
+    for (int line = 1; line < 1000; line++) {
+      index.addLineStart(line * 10);
+    }
+
+    assertEquals(1000, index.getLineCount());
+    assertEquals(500, index.getLineNumber(4995));
+    assertEquals(5, index.getColumn(4995));
+    assertEquals(1000, index.getLineNumber(123456));
+  }
+}
@@ -0,0 +1,155 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import lexer.ILexer;
+import lexer.Lexception;
+import lexer.Lexer;
+import lexer.ParallelLexer;
+import lexer.TokenBuffer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+
+public class ParallelLexerTest {
+
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  public static void startPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  public static void stopPool() {
+    pool.shutdown();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 7, 64, 1000, ParallelLexer.DEFAULT_CHUNK_SIZE })
+  public void testTokenizeMatchesLexer(int chunkSize) throws Exception {
+    char[] source = program(400).toCharArray();
+
+    assertSameTokens(
+        lex(source),
+        new ParallelLexer(source, source.length, chunkSize, pool).tokenize());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "", "\n\n", "   ", "x", "// comment\n", "a\n\nb\n", "a = 1\r\nb = 2\r\n" })
+  public void testTokenizeMatchesLexerOnSmallSources(String text) throws Exception {
+    char[] source = text.toCharArray();
+
+    assertSameTokens(lex(source), new ParallelLexer(source, source.length, 1, pool).tokenize());
+  }
+
+  @Test
+  public void testStopsAtEmbeddedEndOfInput() throws Exception {
+    char[] source = "a = 1\nb = 2\0\nc = 3\nd = 4\n".toCharArray();
+
+    assertSameTokens(lex(source), new ParallelLexer(source, source.length, 1, pool).tokenize());
+  }
+
+  @Test
+  public void testNextTokenMatchesLexer() throws Exception {
+    char[] source = program(50).toCharArray();
+    ILexer lexer = new Lexer(new CharArraySourceReader(source, 0, source.length));
+    ILexer parallelLexer = new ParallelLexer(source, source.length, 16, pool);
+    Token expected;
+
+    do {
+      expected = lexer.nextToken();
+      Token actual = parallelLexer.nextToken();
+
+      assertEquals(expected.getTokenKind(), actual.getTokenKind());
+      assertEquals(expected.getLexeme(), actual.getLexeme());
+      assertEquals(expected.getLineNumber(), actual.getLineNumber());
+      assertEquals(expected.getLeftPosition(), actual.getLeftPosition());
+    } while (expected.getTokenKind() != TokenKind.EOF);
+
+    assertEquals(TokenKind.EOF, parallelLexer.nextToken().getTokenKind());
+  }
+
+  @Test
+  public void testReportsErrorAfterSameTokensAsLexer() throws Exception {
+    char[] source = (program(20) + "  x = 1 # 2\n" + program(20)).toCharArray();
+    ILexer lexer = new Lexer(new CharArraySourceReader(source, 0, source.length));
+    ILexer parallelLexer = new ParallelLexer(source, source.length, 16, pool);
+
+    while (true) {
+      Token expected;
+
+      try {
+        expected = lexer.nextToken();
+      } catch (Lexception exception) {
+        Lexception actual = assertThrows(Lexception.class, parallelLexer::nextToken);
+
+        assertEquals(exception.getMessage(), actual.getMessage());
+        break;
+      }
+
+      assertEquals(expected.getLexeme(), parallelLexer.nextToken().getLexeme());
+    }
+  }
+
+  private static TokenBuffer lex(char[] source) throws Exception {
+    try (Lexer lexer = new Lexer(new CharArraySourceReader(source, 0, source.length))) {
+      return lexer.tokenize();
+    }
+  }
+
+  private static void assertSameTokens(TokenBuffer expected, TokenBuffer actual) {
+    assertEquals(expected.size(), actual.size());
+
+    for (int index = 0; index < expected.size(); index++) {
+      Token expectedToken = expected.getToken(index);
+      Token actualToken = actual.getToken(index);
+
+      assertEquals(expected.getTokenKind(index), actual.getTokenKind(index));
+      assertEquals(expectedToken.getLexeme(), actualToken.getLexeme());
+      assertEquals(expected.getOffset(index), actual.getOffset(index));
+      assertEquals(expected.getLength(index), actual.getLength(index));
+      assertEquals(expectedToken.getLineNumber(), actualToken.getLineNumber());
+      assertEquals(expectedToken.getLeftPosition(), actualToken.getLeftPosition());
+    }
+
+    assertEquals(expected.getLineIndex().getLineCount(), actual.getLineIndex().getLineCount());
+  }
+
+  private static String program(int lines) {
+    List<String> text = new ArrayList<>();
+
+    text.add("program {");
+
+    for (int line = 0; line < lines; line++) {
+      switch (line % 4) {
+        case 0:
+          text.add("  // banner " + line);
+          break;
+        case 1:
+          text.add("  int value" + line);
+          break;
+        case 2:
+          text.add("");
+          break;
+        default:
+          text.add("    value" + line + " = (value" + line + " + " + line + ") * 2 <= 9");
+      }
+    }
+
+    text.add("}");
+
+    return String.join("\n", text) + "\n";
+  }
+}
@@ -0,0 +1,174 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.Lexer;
+import lexer.SymbolInterner;
+import lexer.SymbolTable;
+import lexer.TokenBuffer;
+import lexer.daos.Symbol;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+
+public class SymbolInternerTest {
+
+  @Test
+  public void testRangeLookupFindsStringKey() {
+    SymbolInterner interner = new SymbolInterner();
+    Symbol symbol = new Symbol("counter", TokenKind.Identifier);
+    interner.put("counter", symbol);
+
+    char[] buffer = "x = counter + 1".toCharArray();
+
+    assertSame(symbol, interner.get(buffer, 4, 7));
+    assertSame(symbol, interner.get("counter"));
+    assertNull(interner.get(buffer, 4, 6));
+    assertNull(interner.get(buffer, 0, 1));
+  }
+
+  @Test
+  public void testGrowsAndKeepsEverySymbol() {
+    SymbolInterner interner = new SymbolInterner();
+
+    for (int index = 0; index < 5000; index++) {
+      String lexeme = "name" + index;
+      interner.put(lexeme, new Symbol(lexeme, TokenKind.Identifier));
+    }
+
+    assertEquals(5000, interner.size());
+
+    for (int index = 0; index < 5000; index++) {
+      char[] buffer = (" name" + index + " ").toCharArray();
+      Symbol symbol = interner.get(buffer, 1, buffer.length - 2);
+
+      assertEquals("name" + index, symbol.getLexeme());
+      assertSame(symbol, interner.get("name" + index));
+    }
+  }
+
+  @Test
+  public void testSymbolTableRangeAndStringPathsAgree() {
+    char[] buffer = "while interned_by_range".toCharArray();
+
+    assertSame(
+        SymbolTable.recordSymbol("while", TokenKind.BogusToken),
+        SymbolTable.recordSymbol(buffer, 0, 5, TokenKind.Identifier));
+    assertEquals(
+        TokenKind.While,
+        SymbolTable.recordSymbol(buffer, 0, 5, TokenKind.Identifier).getTokenKind());
+
+    Symbol identifier = SymbolTable.recordSymbol(buffer, 6, 17, TokenKind.Identifier);
+
+    assertSame(identifier, SymbolTable.recordSymbol("interned_by_range", TokenKind.Identifier));
+    assertNull(SymbolTable.recordSymbol(buffer, 6, 4, TokenKind.BogusToken));
+  }
+
+  @Test
+  public void testConcurrentPutIfAbsentKeepsOneSymbolPerLexeme() throws Exception {
+    int threads = 8;
+    int lexemes = 20000;
+    SymbolInterner interner = new SymbolInterner();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Symbol[]>> results = new ArrayList<>();
+    // Each thread walks every lexeme in its own order
+    int[] strides = { 1, 20011, 20021, 20023, 20029, 20047, 20051, 20063 };
+
+    for (int thread = 0; thread < threads; thread++) {
+      int stride = strides[thread];
+
+      results.add(executor.submit(() -> {
+        Symbol[] symbols = new Symbol[lexemes];
+        start.await();
+
+        for (int step = 0; step < lexemes; step++) {
+          int index = (int) ((long) step * stride % lexemes);
+          char[] buffer = ("name" + index).toCharArray();
+          Symbol symbol = interner.get(buffer, 0, buffer.length);
+
+          if (symbol == null) {
+            symbol = interner.putIfAbsent("name" + index, TokenKind.Identifier);
+          }
+
+          symbols[index] = symbol;
+        }
+
+        return symbols;
+      }));
+    }
+
+    start.countDown();
+
+    Symbol[] expected = results.get(0).get();
+    executor.shutdown();
+
+    for (Future<Symbol[]> result : results) {
+      Symbol[] symbols = result.get();
+
+      for (int index = 0; index < lexemes; index++) {
+        assertSame(expected[index], symbols[index]);
+      }
+    }
+
+    assertEquals(lexemes, interner.size());
+
+    boolean[] seen = new boolean[lexemes];
+
+    for (int index = 0; index < lexemes; index++) {
+      Symbol symbol = expected[index];
+
+      assertEquals("name" + index, symbol.getLexeme());
+      assertFalse(seen[symbol.getId()]);
+      seen[symbol.getId()] = true;
+      assertSame(symbol, interner.get(symbol.getId()));
+      assertSame(symbol, interner.get("name" + index));
+    }
+  }
+
+  @Test
+  public void testConcurrentLexersShareSymbols() throws Exception {
+    int threads = 4;
+    StringBuilder source = new StringBuilder();
+
+    for (int line = 0; line < 2000; line++) {
+      source.append("shared").append(line % 300).append(" = unique").append(line).append(" + 1\n");
+    }
+
+    char[] text = source.toString().toCharArray();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<TokenBuffer>> results = new ArrayList<>();
+
+    for (int thread = 0; thread < threads; thread++) {
+      results.add(executor.submit(
+          () -> new Lexer(new CharArraySourceReader(text, 0, text.length)).tokenize()));
+    }
+
+    TokenBuffer expected = results.get(0).get();
+    executor.shutdown();
+
+    for (Future<TokenBuffer> result : results) {
+      TokenBuffer tokens = result.get();
+
+      assertEquals(expected.size(), tokens.size());
+
+      for (int index = 0; index < tokens.size(); index++) {
+        assertEquals(expected.getSymbolId(index), tokens.getSymbolId(index));
+        assertSame(
+            SymbolTable.recordSymbol(tokens.getToken(index).getLexeme(), TokenKind.BogusToken),
+            tokens.getSymbol(index));
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import lexer.SymbolTable;
+import lexer.daos.TokenKind;
+
+public class SymbolTableKeywordTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "program", "int", "boolean", "if", "then", "else", "while", "function", "return",
+      "binary", "char", "and", "or", "xor", "iter" })
+  public void testRecognizesKeywords(String keyword) {
+    char[] buffer = (" " + keyword + " ").toCharArray();
+
+    assertSame(
+        SymbolTable.recordSymbol(keyword, TokenKind.BogusToken),
+        SymbolTable.keyword(buffer, 1, keyword.length()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "i", "ifs", "iff", "Int", "whilst", "progra", "programs", "x", "_" })
+  public void testRejectsIdentifiers(String identifier) {
+    char[] buffer = identifier.toCharArray();
+
+    assertNull(SymbolTable.keyword(buffer, 0, buffer.length));
+  }
+}
@@ -0,0 +1,124 @@
+package tests.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import lexer.Lexer;
+import lexer.TokenBuffer;
+import lexer.TokenBufferLexer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import parser.Parser;
+import tests.helpers.lexer.TestReader;
+import tests.helpers.visitor.TestVisitor;
+
+public class TokenBufferTest {
+
+  private static final List<String> PROGRAM = List.of(
+      "program { int i int j\n",
+      "   int f(int a, boolean b) { return a * 2 }\n",
+      "   // a comment\n",
+      "   i = i + j + 7\n",
+      "   if (i <= j) then { j = f(i, j) } else { j = 0 }\n",
+      "   while i != 0 { i = i - 1 }\n",
+      "}");
+
+  @Test
+  public void testTokenizeMatchesNextToken() throws Exception {
+    try (Lexer lexer = new Lexer(new TestReader(PROGRAM));
+        Lexer bulkLexer = new Lexer(new TestReader(PROGRAM))) {
+      TokenBuffer tokens = bulkLexer.tokenize();
+      int index = 0;
+      Token expected;
+
+      do {
+        expected = lexer.nextToken();
+        Token actual = tokens.getToken(index);
+
+        assertSame(expected.getTokenKind(), tokens.getTokenKind(index));
+        assertEquals(expected.getLexeme(), actual.getLexeme());
+        assertEquals(expected.getLeftPosition(), actual.getLeftPosition());
+        assertEquals(expected.getRightPosition(), actual.getRightPosition());
+        assertEquals(expected.getLineNumber(), actual.getLineNumber());
+        index++;
+      } while (expected.getTokenKind() != TokenKind.EOF);
+
+      assertEquals(index, tokens.size());
+    }
+  }
+
+  @Test
+  public void testSymbolIdsResolveToInternedSymbols() throws Exception {
+    try (Lexer lexer = new Lexer(new TestReader(List.of("x = y + x")))) {
+      TokenBuffer tokens = lexer.tokenize();
+
+      assertEquals(tokens.getSymbolId(0), tokens.getSymbolId(4));
+      assertSame(tokens.getSymbol(0), tokens.getSymbol(4));
+      assertEquals("y", tokens.getSymbol(2).getLexeme());
+    }
+  }
+
+  @Test
+  public void testBufferGrowsPastInitialCapacity() throws Exception {
+    List<String> lines = new ArrayList<>();
+
+    for (int line = 0; line < 1000; line++) {
+      lines.add("a = b + 1\n");
+    }
+
+    try (Lexer lexer = new Lexer(new TestReader(lines))) {
+      TokenBuffer tokens = lexer.tokenize();
+
+      assertEquals(5001, tokens.size());
+      assertEquals(TokenKind.IntLit, tokens.getTokenKind(4999));
+      assertEquals(1000, tokens.getToken(4999).getLineNumber());
+      assertEquals(TokenKind.EOF, tokens.getTokenKind(5000));
+    }
+  }
+
+  @Test
+  public void testAdapterReplaysTokensAndRepeatsEof() throws Exception {
+    try (Lexer lexer = new Lexer(new TestReader(List.of("a <= 1")))) {
+      TokenBufferLexer replay = new TokenBufferLexer(lexer.tokenize());
+
+      assertEquals("a", replay.nextToken().getLexeme());
+      assertEquals(TokenKind.LessEqual, replay.nextToken().getTokenKind());
+      assertEquals("1", replay.nextToken().getLexeme());
+      assertEquals(TokenKind.EOF, replay.nextToken().getTokenKind());
+      assertEquals(TokenKind.EOF, replay.nextToken().getTokenKind());
+    }
+  }
+
+  @Test
+  public void testParserOverBufferBuildsSameTree() throws Exception {
+    AST expected;
+    AST actual;
+
+    try (Lexer lexer = new Lexer(new TestReader(PROGRAM))) {
+      expected = new Parser(lexer).execute();
+    }
+
+    try (Lexer lexer = new Lexer(new TestReader(PROGRAM))) {
+      actual = new Parser(lexer.tokenize()).execute();
+    }
+
+    assertNull(actual.accept(new TestVisitor(preorder(expected, new ArrayList<>()))));
+  }
+
+  private static List<AST> preorder(AST tree, List<AST> nodes) {
+    nodes.add(tree);
+
+    for (AST child : tree.getChildren()) {
+      preorder(child, nodes);
+    }
+
+    return nodes;
+  }
+}
@@ -0,0 +1,41 @@
+package tests.lexer.readers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.readers.CharacterScanner;
+
+public class CharacterScannerTest {
+  @Test
+  public void testSkipBlanksStopsAtFirstNonBlank() {
+    char[] buffer = "        \t  \r x".toCharArray();
+
+    assertEquals(13, CharacterScanner.skipBlanks(buffer, 0, buffer.length));
+    assertEquals(13, CharacterScanner.skipBlanks(buffer, 5, buffer.length));
+    assertEquals(10, CharacterScanner.skipBlanks(buffer, 0, 10));
+  }
+
+  @Test
+  public void testSkipBlanksStopsAtNewline() {
+    char[] buffer = (" ".repeat(100) + "\n   ").toCharArray();
+
+    assertEquals(100, CharacterScanner.skipBlanks(buffer, 0, buffer.length));
+  }
+
+  @Test
+  public void testFindLineEnd() {
+    char[] buffer = ("// " + "=".repeat(77) + "\nx").toCharArray();
+
+    assertEquals(80, CharacterScanner.findLineEnd(buffer, 2, buffer.length));
+    assertEquals(buffer.length, CharacterScanner.findLineEnd(buffer, 81, buffer.length));
+    assertEquals(50, CharacterScanner.findLineEnd(buffer, 0, 50));
+  }
+
+  @Test
+  public void testFindLineEndStopsAtEndOfInputSentinel() {
+    char[] buffer = ("// " + "-".repeat(60) + "\0").toCharArray();
+
+    assertEquals(63, CharacterScanner.findLineEnd(buffer, 0, buffer.length));
+  }
+}
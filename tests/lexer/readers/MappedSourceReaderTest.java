@@ -0,0 +1,90 @@
+package tests.lexer.readers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.Lexer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.MappedSourceReader;
+
+public class MappedSourceReaderTest {
+
+  private File getTestFile(String content) throws IOException {
+    File file = File.createTempFile("temp", null, null);
+
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write(content);
+    }
+
+    return file;
+  }
+
+  @Test
+  public void testReadOnEmptyFile() throws IOException {
+    File empty = getTestFile("");
+
+    try (MappedSourceReader reader = new MappedSourceReader(empty.getAbsolutePath())) {
+      assertEquals(-1, reader.getColumn());
+      assertEquals(1, reader.getLineNumber());
+      assertEquals('\0', reader.read());
+    }
+  }
+
+  @Test
+  public void testReadTracksLinesAndColumns() throws IOException {
+    String content = "abc\n12 3";
+    File file = getTestFile(content);
+
+    int[] expectedColumns = { 0, 1, 2, 3, 0, 1, 2, 3 };
+    int[] expectedLines = { 1, 1, 1, 1, 2, 2, 2, 2 };
+
+    try (MappedSourceReader reader = new MappedSourceReader(file.getAbsolutePath())) {
+      for (int index = 0; index < content.length(); index++) {
+        assertEquals(content.charAt(index), reader.read());
+        assertEquals(expectedColumns[index], reader.getColumn());
+        assertEquals(expectedLines[index], reader.getLineNumber());
+      }
+
+      assertEquals('\0', reader.read());
+      assertEquals('\0', reader.read());
+    }
+  }
+
+  @Test
+  public void testListing() throws IOException {
+    File file = getTestFile("int i\nprogram");
+
+    try (MappedSourceReader reader = new MappedSourceReader(file.getAbsolutePath())) {
+      while (reader.read() != '\0') {
+      }
+
+      assertEquals("  1: int i\n  2: program", reader.toString());
+    }
+  }
+
+  @Test
+  public void testLexerProducesSameTokens() throws Exception {
+    File file = getTestFile("program { int i\n   i = i + 7\n}\n");
+    String path = file.getAbsolutePath();
+
+    try (Lexer expected = new Lexer(path);
+        Lexer actual = new Lexer(new MappedSourceReader(path))) {
+      Token expectedToken, actualToken;
+
+      do {
+        expectedToken = expected.nextToken();
+        actualToken = actual.nextToken();
+
+        assertEquals(expectedToken.toString(), actualToken.toString());
+      } while (expectedToken.getTokenKind() != TokenKind.EOF);
+
+      assertEquals(expected.toString(), actual.toString());
+    }
+  }
+}
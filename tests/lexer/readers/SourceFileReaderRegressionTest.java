@@ -141,4 +141,20 @@ public class SourceFileReaderRegressionTest {
       assertEquals(2, reader.getLineNumber());
     }
   }
+
+  @Test
+  public void testToStringListsConsumedLines() throws IOException {
+    File file = getTestFile("abc\n12 3\n");
+
+    try (SourceFileReader reader = new SourceFileReader(file.getAbsolutePath().toString())) {
+      reader.read();
+      reader.read();
+      assertEquals("  1: ab", reader.toString());
+
+      while (reader.read() != '\0') {
+      }
+
+      assertEquals("  1: abc\n  2: 12 3\n  3: ", reader.toString());
+    }
+  }
 }
@@ -0,0 +1,143 @@
+package tests.lexer.readers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import lexer.Lexer;
+import lexer.daos.Token;
+import lexer.daos.TokenKind;
+import lexer.readers.CharArraySourceReader;
+import lexer.readers.Utf8SourceReader;
+
+public class Utf8SourceReaderTest {
+
+  private File getTestFile(byte[] content) throws IOException {
+    File file = File.createTempFile("temp", null, null);
+
+    Files.write(file.toPath(), content);
+
+    return file;
+  }
+
+  private File getTestFile(String content) throws IOException {
+    return getTestFile(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String readAll(Utf8SourceReader reader, int fillLength) {
+    StringBuilder text = new StringBuilder();
+    char[] buffer = new char[fillLength];
+    int count;
+
+    while ((count = reader.fill(buffer, 0, fillLength)) != -1) {
+      text.append(buffer, 0, count);
+    }
+
+    return text.toString();
+  }
+
+  @Test
+  public void testReadOnEmptyFile() throws IOException {
+    File empty = getTestFile("");
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(empty.getAbsolutePath())) {
+      assertEquals(-1, reader.getColumn());
+      assertEquals(1, reader.getLineNumber());
+      assertEquals('\0', reader.read());
+    }
+  }
+
+  @Test
+  public void testReadTracksLinesAndColumns() throws IOException {
+    String content = "aé\n1€ 𝑥";
+    File file = getTestFile(content);
+
+    int[] expectedColumns = { 0, 1, 2, 0, 1, 2, 3, 4 };
+    int[] expectedLines = { 1, 1, 1, 2, 2, 2, 2, 2 };
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(file.getAbsolutePath())) {
+      for (int index = 0; index < content.length(); index++) {
+        assertEquals(content.charAt(index), reader.read());
+        assertEquals(expectedColumns[index], reader.getColumn());
+        assertEquals(expectedLines[index], reader.getLineNumber());
+      }
+
+      assertEquals('\0', reader.read());
+      assertEquals('\0', reader.read());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 2, 3, 8192 })
+  public void testFillDecodesLikeTheCharset(int fillLength) throws IOException {
+    String content = "int naïve\n  x = 1 // ünïcödé ✓ 𝑥𝑦\n€€€\n";
+    File file = getTestFile(content);
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(file.getAbsolutePath())) {
+      assertEquals(content, readAll(reader, fillLength));
+      assertEquals(4, reader.getLineNumber());
+    }
+  }
+
+  @Test
+  public void testMalformedBytesDecodeToReplacement() throws IOException {
+    byte[] content = { 'a', (byte) 0xFF, 'b', (byte) 0xC3, 'c', (byte) 0xE2, (byte) 0x82 };
+    File file = getTestFile(content);
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(file.getAbsolutePath())) {
+      assertEquals("a�b�c�", readAll(reader, 16));
+    }
+  }
+
+  @Test
+  public void testListing() throws IOException {
+    File file = getTestFile("int é\nprogram");
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(file.getAbsolutePath())) {
+      while (reader.read() != '\0') {
+      }
+
+      assertEquals("  1: int é\n  2: program", reader.toString());
+    }
+  }
+
+  @Test
+  public void testListingDecodesMalformedBytesLikeReading() throws IOException {
+    // A charset decoder replaces 0xE0 0x80 with two characters, this reader with one
+    byte[] content = { 'a', (byte) 0xE0, (byte) 0x80, 'b', '\n', 'c' };
+    File file = getTestFile(content);
+
+    try (Utf8SourceReader reader = new Utf8SourceReader(file.getAbsolutePath())) {
+      assertEquals("a\uFFFDb\nc", readAll(reader, 16));
+      assertEquals("  1: a\uFFFDb\n  2: c", reader.toString());
+    }
+  }
+
+  @Test
+  public void testLexerProducesSameTokens() throws Exception {
+    String content = "program { int café\n   café = naïve + 7 // ✓\n   π = 1\n}\n";
+    File file = getTestFile(content);
+    char[] source = content.toCharArray();
+
+    try (Lexer expected = new Lexer(new CharArraySourceReader(source, 0, source.length));
+        Lexer actual = new Lexer(new Utf8SourceReader(file.getAbsolutePath()))) {
+      Token expectedToken, actualToken;
+
+      do {
+        expectedToken = expected.nextToken();
+        actualToken = actual.nextToken();
+
+        assertEquals(expectedToken.toString(), actualToken.toString());
+      } while (expectedToken.getTokenKind() != TokenKind.EOF);
+
+      assertEquals(expected.toString(), actual.toString());
+    }
+  }
+}
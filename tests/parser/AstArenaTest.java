@@ -0,0 +1,144 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.AstArena;
+import ast.AstCursor;
+import ast.ISymbolTree;
+import ast.trees.NodeKind;
+import lexer.CompilationContext;
+import lexer.TokenBuffer;
+import parser.Parser;
+import tests.helpers.lexer.TestSource;
+import tests.helpers.visitor.TestVisitor;
+
+public class AstArenaTest {
+  private static final String PROGRAM = String.join("\n", List.of(
+      "program {",
+      "  int x",
+      "  int f(int a, boolean b) { return a * 2 }",
+      "  x = f(1 + 2, 3 < 4)",
+      "  if x < 10 then { x = x + 1 } else { x = 0 }",
+      "  iter |- 1 ~ x { x = f(x, x == 3) }",
+      "}",
+      ""));
+
+  @Test
+  public void testArenaHasTheShapeOfTheObjectTree() throws Exception {
+    CompilationContext context = new CompilationContext();
+    AST tree = new Parser(TestSource.lexer(PROGRAM, context)).execute();
+    Parser parser = new Parser(TestSource.lexer(PROGRAM, context));
+    AstArena arena = parser.executeArena();
+    List<AST> nodes = new ArrayList<>();
+
+    collect(tree, nodes);
+
+    assertEquals(nodes.size(), arena.size());
+    assertEquals(parser.getNodeCount(), arena.size());
+
+    AstCursor cursor = arena.cursor();
+
+    for (int index = 0; index < nodes.size(); index++) {
+      AST node = nodes.get(index);
+
+      assertEquals(node.getNodeNumber(), cursor.getNode());
+      assertEquals(node.getClass(), cursor.getKind().create(null).getClass());
+
+      if (node instanceof ISymbolTree) {
+        assertSame(((ISymbolTree) node).getSymbol(), cursor.getSymbol());
+      } else {
+        assertNull(cursor.getSymbol());
+      }
+
+      assertEquals(index < nodes.size() - 1, cursor.next());
+    }
+  }
+
+  @Test
+  public void testTokenBufferAndLexerModesBuildTheSameArena() throws Exception {
+    CompilationContext context = new CompilationContext();
+    TokenBuffer tokens = TestSource.tokenize(PROGRAM, context);
+    AstArena fromBuffer = new Parser(tokens).executeArena();
+    AstArena fromLexer = new Parser(TestSource.lexer(PROGRAM, context)).executeArena();
+
+    assertEquals(fromLexer.size(), fromBuffer.size());
+
+    for (int node = 0; node < fromBuffer.size(); node++) {
+      assertEquals(fromLexer.getKind(node), fromBuffer.getKind(node));
+      assertEquals(fromLexer.getParent(node), fromBuffer.getParent(node));
+      assertEquals(fromLexer.getSymbolId(node), fromBuffer.getSymbolId(node));
+      assertEquals(fromLexer.getSpanStart(node), fromBuffer.getSpanStart(node));
+      assertEquals(fromLexer.getSpanEnd(node), fromBuffer.getSpanEnd(node));
+    }
+  }
+
+  @Test
+  public void testSpansCoverTheSourceOfEachNode() throws Exception {
+    AstArena arena = new Parser(TestSource.lexer(PROGRAM, new CompilationContext())).executeArena();
+    List<String> blocks = new ArrayList<>();
+    List<String> calls = new ArrayList<>();
+
+    for (int node = 0; node < arena.size(); node++) {
+      String text = PROGRAM.substring(arena.getSpanStart(node), arena.getSpanEnd(node));
+
+      if (arena.getKind(node) == NodeKind.Block && arena.getParent(node) != arena.getRoot()) {
+        blocks.add(text);
+      } else if (arena.getKind(node) == NodeKind.Call) {
+        calls.add(text);
+      }
+    }
+
+    assertEquals(
+        List.of("{ return a * 2 }", "{ x = x + 1 }", "{ x = 0 }", "{ x = f(x, x == 3) }"),
+        blocks);
+    assertEquals(List.of("f(1 + 2, 3 < 4)", "f(x, x == 3)"), calls);
+    assertEquals(PROGRAM.trim(), PROGRAM.substring(
+        arena.getSpanStart(arena.getRoot()), arena.getSpanEnd(arena.getRoot())));
+  }
+
+  @Test
+  public void testVisitorsRunOverTheArena() throws Exception {
+    CompilationContext context = new CompilationContext();
+    AST tree = new Parser(TestSource.lexer(PROGRAM, context)).execute();
+    AstArena arena = new Parser(TestSource.lexer(PROGRAM, context)).executeArena();
+    List<AST> expected = new ArrayList<>();
+
+    collect(tree, expected);
+
+    assertNull(arena.accept(new TestVisitor(expected)));
+    assertEquals(0, arena.toTree(arena.getRoot()).getNodeNumber());
+  }
+
+  @Test
+  public void testCursorMovesStayOnTheNodeWhenThereIsNowhereToGo() throws Exception {
+    AstArena arena = new Parser(TestSource.tokenize("program { }")).executeArena();
+    AstCursor cursor = arena.cursor();
+
+    assertFalse(cursor.gotoParent());
+    assertEquals(NodeKind.Program, cursor.getKind());
+    assertTrue(cursor.gotoFirstChild());
+    assertEquals(NodeKind.Block, cursor.getKind());
+    assertFalse(cursor.gotoFirstChild());
+    assertFalse(cursor.gotoNextSibling());
+    assertFalse(cursor.next());
+    assertEquals(NodeKind.Block, cursor.getKind());
+  }
+
+  private static void collect(AST node, List<AST> nodes) {
+    nodes.add(node);
+
+    for (int child = 0; child < node.getChildCount(); child++) {
+      collect(node.getChild(child), nodes);
+    }
+  }
+}
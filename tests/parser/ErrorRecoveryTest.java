@@ -0,0 +1,220 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.AstArena;
+import ast.AstCursor;
+import ast.trees.NodeKind;
+import lexer.daos.TokenKind;
+import parser.Diagnostic;
+import parser.Parser;
+import parser.SyntaxErrorException;
+import tests.helpers.ast.PseudoProgram;
+import tests.helpers.lexer.TestSource;
+
+public class ErrorRecoveryTest {
+  private static final String BROKEN_PROGRAM = String.join("\n", List.of(
+      "program {",
+      "  int x",
+      "  x = 1 +",
+      "  int y",
+      "  y = (2",
+      "  x = 3",
+      "  while x < { x = x - 1 }",
+      "  x = 4",
+      "}"));
+
+  @Test
+  public void testEveryErrorIsReportedInOnePass() throws Exception {
+    Parser parser = recovering(BROKEN_PROGRAM);
+    AstArena arena = parser.executeArena();
+    List<Diagnostic> diagnostics = parser.getDiagnostics();
+
+    assertEquals(3, diagnostics.size());
+    assertEquals(BROKEN_PROGRAM.indexOf("int y"), diagnostics.get(0).getOffset());
+    assertEquals(TokenKind.IntType, diagnostics.get(0).getActual());
+    assertEquals(BROKEN_PROGRAM.indexOf("x = 3"), diagnostics.get(1).getOffset());
+    assertEquals(TokenKind.Identifier, diagnostics.get(1).getActual());
+    assertEquals(List.of(TokenKind.RightParen), List.of(diagnostics.get(1).getExpected()));
+    assertEquals(BROKEN_PROGRAM.indexOf("{ x = x"), diagnostics.get(2).getOffset());
+
+    assertEquals(
+        List.of(
+            NodeKind.Declaration, NodeKind.Error, NodeKind.Declaration, NodeKind.Error,
+            NodeKind.Assignment, NodeKind.Error, NodeKind.Block, NodeKind.Assignment),
+        blockMembers(arena));
+  }
+
+  @Test
+  public void testPartialTreesAreNumberedDensely() throws Exception {
+    Parser parser = recovering(BROKEN_PROGRAM);
+    AstArena arena = parser.executeArena();
+    AstCursor cursor = arena.cursor();
+    boolean[] seen = new boolean[arena.size()];
+    int count = 1;
+
+    seen[cursor.getNode()] = true;
+
+    while (cursor.next()) {
+      seen[cursor.getNode()] = true;
+      count++;
+    }
+
+    assertEquals(arena.size(), count);
+    assertEquals(parser.getNodeCount(), count);
+
+    for (boolean node : seen) {
+      assertTrue(node);
+    }
+  }
+
+  @Test
+  public void testErrorNodesSpanTheSkippedSource() throws Exception {
+    AstArena arena = recovering(BROKEN_PROGRAM).executeArena();
+    int error = arena.getNextSibling(arena.getFirstChild(arena.getFirstChild(0)));
+
+    assertEquals(NodeKind.Error, arena.getKind(error));
+    assertEquals(BROKEN_PROGRAM.indexOf("x = 1 +"), arena.getSpanStart(error));
+    assertEquals(BROKEN_PROGRAM.indexOf("+") + 1, arena.getSpanEnd(error));
+  }
+
+  @Test
+  public void testRecoveryAlwaysReachesTheEnd() throws Exception {
+    for (String program : List.of(
+        "program { ) ) ) x = 1",
+        "{ x = 1 }",
+        "program { int f(int a { return a } x = f(1) }",
+        "program { if x then { } else",
+        "program { x = f(1, 2 ~ }",
+        "program")) {
+      Parser parser = recovering(program);
+      AST tree = parser.execute();
+
+      assertEquals(NodeKind.Program, tree.getKind(), program);
+      assertTrue(!parser.getDiagnostics().isEmpty(), program);
+    }
+  }
+
+  @Test
+  public void testABrokenFunctionLeavesTheNextDeclarationsInPlace() throws Exception {
+    String program =
+        "program { int f(int a { return a } int g() { return 1 } int h() { return 2 } x = 1 }";
+    Parser parser = recovering(program);
+    AstArena arena = parser.executeArena();
+
+    assertEquals(1, parser.getDiagnostics().size());
+    assertEquals(program.indexOf("{ return a"), parser.getDiagnostics().get(0).getOffset());
+    assertEquals(List.of(NodeKind.Error, NodeKind.FunctionDeclaration,
+        NodeKind.FunctionDeclaration, NodeKind.Assignment), blockMembers(arena));
+  }
+
+  @Test
+  public void testAMissingNameIsReportedOnce() throws Exception {
+    String program = "program { int x int 5 int y int z }";
+    Parser parser = recovering(program);
+    AstArena arena = parser.executeArena();
+
+    assertEquals(1, parser.getDiagnostics().size());
+    assertEquals(program.indexOf("5"), parser.getDiagnostics().get(0).getOffset());
+    assertEquals(List.of(TokenKind.Identifier),
+        List.of(parser.getDiagnostics().get(0).getExpected()));
+    assertEquals(List.of(NodeKind.Declaration, NodeKind.Error, NodeKind.Declaration,
+        NodeKind.Declaration), blockMembers(arena));
+  }
+
+  @Test
+  public void testUnclosedListsExpectACommaOrAClosingParen() throws Exception {
+    String arguments = "program { x = f(1";
+    Parser call = recovering(arguments);
+
+    call.executeArena();
+
+    assertEquals(1, call.getDiagnostics().size());
+    assertEquals(arguments.length(), call.getDiagnostics().get(0).getOffset());
+    assertEquals(TokenKind.EOF, call.getDiagnostics().get(0).getActual());
+    assertEquals(List.of(TokenKind.RightParen, TokenKind.Comma),
+        List.of(call.getDiagnostics().get(0).getExpected()));
+
+    String formals = "program { int f(int a {";
+    Parser function = recovering(formals);
+
+    function.executeArena();
+
+    // The skipped body leaves the program's block unclosed too
+    assertEquals(2, function.getDiagnostics().size());
+    assertEquals(formals.lastIndexOf("{"), function.getDiagnostics().get(0).getOffset());
+    assertEquals(List.of(TokenKind.RightParen, TokenKind.Comma),
+        List.of(function.getDiagnostics().get(0).getExpected()));
+    assertEquals(formals.length(), function.getDiagnostics().get(1).getOffset());
+    assertEquals(List.of(TokenKind.RightBrace),
+        List.of(function.getDiagnostics().get(1).getExpected()));
+  }
+
+  @Test
+  public void testFiftyErrorsTakeOneRun() throws Exception {
+    StringBuilder program = new StringBuilder("program {\n");
+
+    for (int line = 0; line < 50; line++) {
+      program.append("  x = ").append(line).append(" *\n");
+      program.append("  y = ").append(line).append('\n');
+    }
+
+    Parser parser = recovering(program.append("}").toString());
+    AstArena arena = parser.executeArena();
+
+    assertEquals(50, parser.getDiagnostics().size());
+    assertEquals(100, blockMembers(arena).size());
+  }
+
+  @Test
+  public void testValidProgramsParseTheSameWhenRecovering() throws Exception {
+    String program = "program { int x int f(int a) { return a } x = f(1 + 2) }";
+    Parser parser = recovering(program);
+    AstArena recovered = parser.executeArena();
+    AstArena expected = new Parser(TestSource.tokenize(program)).executeArena();
+
+    assertEquals(0, parser.getDiagnostics().size());
+    assertEquals(expected.size(), recovered.size());
+
+    for (int node = 0; node < expected.size(); node++) {
+      assertEquals(expected.getKind(node), recovered.getKind(node));
+      assertEquals(expected.getParent(node), recovered.getParent(node));
+    }
+  }
+
+  @Test
+  public void testErrorsStillThrowByDefault() throws Exception {
+    Parser parser = new Parser(PseudoProgram.lexerFromPseudoProgram(
+        "program { <id> = <int> <id> = }"));
+
+    assertThrows(SyntaxErrorException.class, parser::execute);
+    assertEquals(0, parser.getDiagnostics().size());
+  }
+
+  private static Parser recovering(String program) throws Exception {
+    Parser parser = new Parser(TestSource.tokenize(program));
+
+    parser.setRecovering(true);
+
+    return parser;
+  }
+
+  private static List<NodeKind> blockMembers(AstArena arena) {
+    List<NodeKind> members = new ArrayList<>();
+
+    for (int member = arena.getFirstChild(arena.getFirstChild(0)); member != -1;
+        member = arena.getNextSibling(member)) {
+      members.add(arena.getKind(member));
+    }
+
+    return members;
+  }
+}
@@ -0,0 +1,97 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AstArena;
+import ast.trees.NodeKind;
+import lexer.TokenBuffer;
+import parser.Parser;
+import parser.TableParser;
+import tests.helpers.lexer.TestSource;
+
+public class ExpressionPrecedenceTest {
+  private static final List<String> OPERATORS = List.of(
+      "==", "!=", "<", "<=", ">", ">=", "+", "-", "|", "or", "xor", "*", "/", "&", "and");
+
+  @Test
+  public void testOperatorsBindByLevelAndAssociateLeft() throws Exception {
+    AstArena arena =
+        new Parser(TestSource.tokenize("program { return 1 - 2 - 3 * 4 < 5 }")).executeArena();
+
+    // Program, Block, Return, then the root of the expression
+    assertEquals(NodeKind.RelOp, arena.getKind(arena.getFirstChild(2)));
+    assertEquals(
+        List.of(
+            NodeKind.Program, NodeKind.Block, NodeKind.Return, NodeKind.Int, NodeKind.AddOp,
+            NodeKind.Int, NodeKind.AddOp, NodeKind.Int, NodeKind.MultOp, NodeKind.Int,
+            NodeKind.RelOp, NodeKind.Int),
+        kinds(arena));
+    assertEquals(6, arena.getParent(4));
+    assertEquals(10, arena.getParent(6));
+    assertEquals(6, arena.getParent(8));
+  }
+
+  @Test
+  public void testClimbingMatchesTheGrammarProductions() throws Exception {
+    Random random = new Random(413);
+
+    for (int round = 0; round < 200; round++) {
+      String program = "program { return " + expression(random, 3) + " }";
+      TokenBuffer tokens = TestSource.tokenize(program);
+      AstArena climbed = new Parser(tokens).executeArena();
+      AstArena descended = new TableParser(tokens).executeArena();
+
+      assertEquals(descended.size(), climbed.size(), program);
+
+      for (int node = 0; node < descended.size(); node++) {
+        assertEquals(descended.getKind(node), climbed.getKind(node), program);
+        assertEquals(descended.getParent(node), climbed.getParent(node), program);
+        assertEquals(descended.getNextSibling(node), climbed.getNextSibling(node), program);
+        assertEquals(descended.getSymbol(node), climbed.getSymbol(node), program);
+        assertEquals(descended.getSpanStart(node), climbed.getSpanStart(node), program);
+        assertEquals(descended.getSpanEnd(node), climbed.getSpanEnd(node), program);
+      }
+    }
+  }
+
+  private static String expression(Random random, int depth) {
+    StringBuilder expression = new StringBuilder(operand(random, depth));
+
+    for (int operand = random.nextInt(5); operand > 0; operand--) {
+      expression.append(' ')
+          .append(OPERATORS.get(random.nextInt(OPERATORS.size())))
+          .append(' ')
+          .append(operand(random, depth));
+    }
+
+    return expression.toString();
+  }
+
+  private static String operand(Random random, int depth) {
+    switch (depth > 0 ? random.nextInt(4) : random.nextInt(2)) {
+      case 0:
+        return String.valueOf(random.nextInt(100));
+      case 1:
+        return "x";
+      case 2:
+        return "(" + expression(random, depth - 1) + ")";
+      default:
+        return "f(" + expression(random, depth - 1) + ", 1)";
+    }
+  }
+
+  private static List<NodeKind> kinds(AstArena arena) {
+    NodeKind[] kinds = new NodeKind[arena.size()];
+
+    for (int node = 0; node < kinds.length; node++) {
+      kinds[node] = arena.getKind(node);
+    }
+
+    return List.of(kinds);
+  }
+}
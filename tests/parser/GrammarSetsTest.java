@@ -0,0 +1,57 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import lexer.CompilationContext;
+import lexer.daos.TokenKind;
+import parser.GrammarSets;
+import parser.Parser;
+import parser.SyntaxErrorException;
+import tests.helpers.lexer.TestSource;
+
+public class GrammarSetsTest {
+
+  @Test
+  public void testFirstSetsFollowTheGrammar() {
+    assertArrayEquals(
+        new TokenKind[] {
+            TokenKind.If, TokenKind.While, TokenKind.Return, TokenKind.Identifier,
+            TokenKind.LeftBrace, TokenKind.Iterate },
+        GrammarSets.kinds(GrammarSets.FIRST_STATEMENT));
+    assertArrayEquals(
+        new TokenKind[] {
+            TokenKind.IntType, TokenKind.BooleanType, TokenKind.BinaryType, TokenKind.CharType },
+        GrammarSets.kinds(GrammarSets.FIRST_DECLARATION));
+    assertEquals(GrammarSets.FIRST_EXPRESSION, GrammarSets.FIRST_FACTOR);
+    assertTrue(GrammarSets.contains(GrammarSets.FIRST_RELOP, TokenKind.GreaterEqual));
+    assertFalse(GrammarSets.contains(GrammarSets.FIRST_ADDOP, TokenKind.Multiply));
+    assertFalse(GrammarSets.contains(GrammarSets.FIRST_STATEMENT, null));
+  }
+
+  @Test
+  public void testFollowSetsFollowTheGrammar() {
+    assertArrayEquals(
+        new TokenKind[] { TokenKind.RightParen }, GrammarSets.kinds(GrammarSets.FOLLOW_FORMALS));
+    assertArrayEquals(
+        new TokenKind[] { TokenKind.EOF }, GrammarSets.kinds(GrammarSets.FOLLOW_PROGRAM));
+    assertTrue(GrammarSets.contains(GrammarSets.FOLLOW_BLOCK, TokenKind.Else));
+    assertTrue(GrammarSets.contains(GrammarSets.FOLLOW_EXPRESSION, TokenKind.Tilde));
+    assertTrue(GrammarSets.contains(GrammarSets.FOLLOW_DECLARATIONS, TokenKind.RightBrace));
+  }
+
+  @Test
+  public void testSyntaxErrorsListTheFirstSet() throws Exception {
+    Parser parser = new Parser(TestSource.lexer("program { int x x = }", new CompilationContext()));
+
+    SyntaxErrorException error = assertThrows(SyntaxErrorException.class, parser::execute);
+
+    assertTrue(error.getMessage()
+        .contains("(expected Identifier, IntLit, LeftParen, BinaryLit, CharLit)"));
+  }
+}
@@ -0,0 +1,191 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AstArena;
+import lexer.IncrementalLexer;
+import lexer.TokenBuffer;
+import parser.IncrementalParser;
+import parser.Parser;
+import parser.SyntaxErrorException;
+import tests.helpers.lexer.TestSource;
+
+public class IncrementalParserTest {
+  private static final String PROGRAM = String.join("\n", List.of(
+      "program {",
+      "  int x",
+      "  int f(int a, boolean b) { return a * 2 }",
+      "  int g() {",
+      "    int y",
+      "    y = f(1, 2 < 3)",
+      "    while y > 0 { y = y - 1 }",
+      "    return y",
+      "  }",
+      "  x = f(1 + 2, 3 < 4)",
+      "  if x < 10 then { x = x + 1 } else { x = g() }",
+      "  iter |- 1 ~ x { x = x * 2 }",
+      "}",
+      ""));
+
+  @Test
+  public void testAnEditInsideAFunctionReparsesOnlyItsBody() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    IncrementalParser parser = new IncrementalParser(new Parser(lexer.getTokens()).executeArena());
+    AstArena before = parser.getTree();
+
+    // f's body is Block, Return, Identifier, MultOp and Int, then AddOp and Identifier
+    AstArena after = edit(lexer, parser, "return a * 2", "return a * 2 + b");
+
+    assertSame(before, after);
+    assertEquals(7, parser.getReparsedNodeCount());
+    assertSameTree(new Parser(lexer.getTokens()).executeArena(), after);
+  }
+
+  @Test
+  public void testAnEditInANestedBlockReparsesOnlyThatBlock() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    IncrementalParser parser = new IncrementalParser(new Parser(lexer.getTokens()).executeArena());
+
+    edit(lexer, parser, "y - 1 ", "y - 1 x = 2 ");
+
+    // Block, y = y - 1 (Assignment, two Identifiers, AddOp, Int) and x = 2
+    assertEquals(9, parser.getReparsedNodeCount());
+    assertSameTree(new Parser(lexer.getTokens()).executeArena(), parser.getTree());
+  }
+
+  @Test
+  public void testEditsThatChangeTheStructureWidenTheReparse() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    IncrementalParser parser = new IncrementalParser(new Parser(lexer.getTokens()).executeArena());
+
+    // Closing f's body early splits it into two functions
+    edit(lexer, parser, "{ return a * 2 }", "{ return a } int h() { return 2 }");
+    assertSameTree(new Parser(lexer.getTokens()).executeArena(), parser.getTree());
+
+    // Turning f into a variable leaves no function to reparse
+    edit(lexer, parser, "int f(int a, boolean b) { return a }", "int f");
+    assertSameTree(new Parser(lexer.getTokens()).executeArena(), parser.getTree());
+
+    // The edit touches the first token of h, so its enclosing block is reparsed
+    edit(lexer, parser, "int h()", "boolean h()");
+    assertSameTree(new Parser(lexer.getTokens()).executeArena(), parser.getTree());
+    assertEquals(parser.getTree().size() - 1, parser.getReparsedNodeCount());
+  }
+
+  @Test
+  public void testRandomEditsMatchAWholeParse() throws Exception {
+    Random random = new Random(1025);
+    List<String> replacements = List.of("(x + 12)", "f(x, 1)", "7", "y * y");
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    IncrementalParser parser = new IncrementalParser(new Parser(lexer.getTokens()).executeArena());
+
+    for (int round = 0; round < 200; round++) {
+      String text = new String(lexer.getText(), 0, lexer.getLength());
+      int offset = randomOperand(random, text);
+      int length = 1;
+
+      while (Character.isLetterOrDigit(text.charAt(offset + length))) {
+        length++;
+      }
+
+      String replacement = replacements.get(random.nextInt(replacements.size()));
+      TokenBuffer tokens = lexer.edit(offset, length, replacement);
+
+      parser.reparse(offset, length, replacement.length(), tokens);
+      assertSameTree(new Parser(tokens).executeArena(), parser.getTree());
+    }
+  }
+
+  @Test
+  public void testSyntaxErrorsLeaveTheTreeAsItWas() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    AstArena tree = new Parser(lexer.getTokens()).executeArena();
+    IncrementalParser parser = new IncrementalParser(tree);
+    int offset = PROGRAM.indexOf("return a * 2") + "return a * ".length();
+    TokenBuffer tokens = lexer.edit(offset, 1, "");
+
+    assertThrows(SyntaxErrorException.class, () -> parser.reparse(offset, 1, 0, tokens));
+    assertSame(tree, parser.getTree());
+    assertSameTree(new Parser(new IncrementalLexer(PROGRAM).getTokens()).executeArena(), tree);
+  }
+
+  @Test
+  public void testTokensFromAnotherContextAreParsedWhole() throws Exception {
+    IncrementalLexer lexer = new IncrementalLexer(PROGRAM);
+    AstArena tree = new Parser(lexer.getTokens()).executeArena();
+    IncrementalParser parser = new IncrementalParser(tree);
+    String edited = PROGRAM.replace("a * 2", "a * 3");
+    TokenBuffer tokens = TestSource.tokenize(edited);
+
+    parser.reparse(PROGRAM.indexOf("2 }"), 1, 1, tokens);
+
+    assertNotSame(tree, parser.getTree());
+    assertSameTree(new Parser(tokens).executeArena(), parser.getTree());
+  }
+
+  /**
+   * The offset of an identifier or integer after the declarations of g, where
+   * every operand can be replaced by another expression.
+   */
+  private static int randomOperand(Random random, String text) {
+    int first = text.indexOf("y = f(");
+
+    while (true) {
+      int offset = first + random.nextInt(text.length() - first - 2);
+      char character = text.charAt(offset);
+
+      if (Character.isLetterOrDigit(character)
+          && !Character.isLetterOrDigit(text.charAt(offset - 1))
+          && isOperand(text, offset)) {
+        return offset;
+      }
+    }
+  }
+
+  private static boolean isOperand(String text, int offset) {
+    int end = offset;
+
+    while (Character.isLetterOrDigit(text.charAt(end))) {
+      end++;
+    }
+
+    String word = text.substring(offset, end);
+    String rest = text.substring(end).stripLeading();
+
+    // Not a keyword, a called function or an assigned name
+    return !List.of("while", "return", "if", "then", "else", "iter", "int", "boolean", "g")
+        .contains(word) && !rest.startsWith("=") && !rest.startsWith("(");
+  }
+
+  private static AstArena edit(
+      IncrementalLexer lexer, IncrementalParser parser, String removed, String inserted)
+      throws Exception {
+    String text = new String(lexer.getText(), 0, lexer.getLength());
+    int offset = text.indexOf(removed);
+    TokenBuffer tokens = lexer.edit(offset, removed.length(), inserted);
+
+    return parser.reparse(offset, removed.length(), inserted.length(), tokens);
+  }
+
+  private static void assertSameTree(AstArena expected, AstArena actual) {
+    assertEquals(expected.size(), actual.size());
+
+    for (int node = 0; node < expected.size(); node++) {
+      assertEquals(expected.getKind(node), actual.getKind(node));
+      assertEquals(expected.getParent(node), actual.getParent(node));
+      assertEquals(expected.getFirstChild(node), actual.getFirstChild(node));
+      assertEquals(expected.getNextSibling(node), actual.getNextSibling(node));
+      assertEquals(expected.getSymbolId(node), actual.getSymbolId(node));
+      assertEquals(expected.getSpanStart(node), actual.getSpanStart(node));
+      assertEquals(expected.getSpanEnd(node), actual.getSpanEnd(node));
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import lexer.CompilationContext;
+import parser.Parser;
+import tests.helpers.lexer.TestSource;
+
+public class NodeNumberingTest {
+  private static final String PROGRAM = String.join("\n", List.of(
+      "program {",
+      "  int x",
+      "  int f(int a, boolean b) { return a * 2 }",
+      "  x = f(1 + 2, 3 < 4)",
+      "  while x < 10 { x = x + 1 }",
+      "}",
+      ""));
+
+  @Test
+  public void testNodesAreNumberedDenselyFromZero() throws Exception {
+    Parser parser = parser(PROGRAM);
+    AST ast = parser.execute();
+    List<AST> nodes = new ArrayList<>();
+
+    collect(ast, nodes);
+
+    assertEquals(nodes.size(), parser.getNodeCount());
+    assertEquals(0, ast.getNodeNumber());
+
+    boolean[] seen = new boolean[nodes.size()];
+
+    for (AST node : nodes) {
+      assertFalse(seen[node.getNodeNumber()]);
+      seen[node.getNodeNumber()] = true;
+    }
+  }
+
+  @Test
+  public void testNumberingDoesNotDependOnEarlierParses() throws Exception {
+    List<Integer> first = numbers(parser(PROGRAM).execute());
+
+    parser("program { int y y = 1 }").execute();
+
+    assertEquals(first, numbers(parser(PROGRAM).execute()));
+  }
+
+  @Test
+  public void testConcurrentParsesNumberIndependently() throws Exception {
+    List<Integer> expected = numbers(parser(PROGRAM).execute());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<List<Integer>>> results = new ArrayList<>();
+
+    for (int parse = 0; parse < 16; parse++) {
+      results.add(executor.submit(() -> numbers(parser(PROGRAM).execute())));
+    }
+
+    for (Future<List<Integer>> result : results) {
+      assertEquals(expected, result.get());
+    }
+
+    executor.shutdown();
+  }
+
+  private static Parser parser(String program) throws Exception {
+    return new Parser(TestSource.lexer(program, new CompilationContext()));
+  }
+
+  private static void collect(AST node, List<AST> nodes) {
+    nodes.add(node);
+
+    for (AST child : node.getChildren()) {
+      collect(child, nodes);
+    }
+  }
+
+  private static List<Integer> numbers(AST ast) {
+    List<AST> nodes = new ArrayList<>();
+    List<Integer> numbers = new ArrayList<>();
+
+    collect(ast, nodes);
+
+    for (AST node : nodes) {
+      numbers.add(node.getNodeNumber());
+    }
+
+    return numbers;
+  }
+}
@@ -0,0 +1,133 @@
+package tests.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ast.AST;
+import ast.AstArena;
+import ast.trees.NodeKind;
+import lexer.TokenBuffer;
+import parser.Parser;
+import parser.SyntaxErrorException;
+import parser.TableParser;
+import tests.helpers.ast.PseudoProgram;
+import tests.helpers.lexer.TestSource;
+
+public class TableParserTest {
+  private static final List<String> PROGRAMS = List.of(
+      "program { }",
+      "program { int x }",
+      String.join("\n", List.of(
+          "program {",
+          "  int x",
+          "  boolean flag",
+          "  int f(int a, boolean b) { return a * 2 }",
+          "  int g() { return 1 }",
+          "  x = f(1 + 2, 3 < 4)",
+          "  x = g()",
+          "  if x < 10 then { x = x + 1 } else { x = 0 }",
+          "  while x >= 1 { x = x - 1 { flag = x == 3 } }",
+          "  iter |- 1 ~ x { x = f(x, (x + 1) * 2 / 3) }",
+          "  return (1 + 2) * (3 - 4) & x | 5 <= 6 != 7",
+          "}",
+          "")));
+  // Lists whose commas the grammar requires
+  private static final List<String> BROKEN_LISTS = List.of(
+      "program { int f(int a int b) { return a } }",
+      "program { x = f(1 2) }",
+      "program { int f(int a,) { return a } }");
+
+  @Test
+  public void testTablesBuildTheSameArenaAsTheRecursiveParser() throws Exception {
+    for (String program : PROGRAMS) {
+      TokenBuffer tokens = TestSource.tokenize(program);
+      AstArena expected = new Parser(tokens).executeArena();
+      TableParser parser = new TableParser(tokens);
+      AstArena actual = parser.executeArena();
+
+      assertEquals(expected.size(), actual.size(), program);
+      assertEquals(expected.size(), parser.getNodeCount());
+      assertEquals(expected.getRoot(), actual.getRoot());
+
+      for (int node = 0; node < expected.size(); node++) {
+        assertEquals(expected.getKind(node), actual.getKind(node));
+        assertEquals(expected.getParent(node), actual.getParent(node));
+        assertEquals(expected.getFirstChild(node), actual.getFirstChild(node));
+        assertEquals(expected.getNextSibling(node), actual.getNextSibling(node));
+        assertSame(expected.getSymbol(node), actual.getSymbol(node));
+        assertEquals(expected.getSpanStart(node), actual.getSpanStart(node), program);
+        assertEquals(expected.getSpanEnd(node), actual.getSpanEnd(node), program);
+      }
+    }
+  }
+
+  @Test
+  public void testTablesBuildTheSameTreeFromALexer() throws Exception {
+    String program = "program { int <id> <id> = <int> + <int> * <int> return <id> }";
+    AST expected = new Parser(PseudoProgram.lexerFromPseudoProgram(program)).execute();
+    AST actual = new TableParser(PseudoProgram.lexerFromPseudoProgram(program)).execute();
+
+    assertEquals(describe(expected), describe(actual));
+  }
+
+  @Test
+  public void testDeepNestingDoesNotUseTheThreadStack() throws Exception {
+    int depth = 50000;
+    String program = "program { return " + "(".repeat(depth) + "1" + ")".repeat(depth) + " }";
+    AstArena arena = new TableParser(TestSource.tokenize(program)).executeArena();
+
+    assertEquals(4, arena.size());
+    assertEquals(NodeKind.Int, arena.getKind(3));
+  }
+
+  @Test
+  public void testSyntaxErrorsListThePredictedTokens() throws Exception {
+    SyntaxErrorException misplaced = assertThrows(SyntaxErrorException.class,
+        () -> new TableParser(PseudoProgram.lexerFromPseudoProgram(
+            "program { int <id> <id> = <int> int <id> }")).execute());
+    SyntaxErrorException missing = assertThrows(SyntaxErrorException.class,
+        () -> new TableParser(TestSource.tokenize("program { x = }")).execute());
+
+    assertTrue(misplaced.getMessage().contains("unexpected token IntType"));
+    assertTrue(missing.getMessage().contains(
+        "(expected Identifier, IntLit, LeftParen, BinaryLit, CharLit)"));
+  }
+
+  @Test
+  public void testBothParsersRejectTheSameLists() throws Exception {
+    for (String program : BROKEN_LISTS) {
+      SyntaxErrorException recursive = assertThrows(SyntaxErrorException.class,
+          () -> new Parser(TestSource.tokenize(program)).execute(), program);
+      SyntaxErrorException table = assertThrows(SyntaxErrorException.class,
+          () -> new TableParser(TestSource.tokenize(program)).execute(), program);
+
+      assertEquals(unexpected(table), unexpected(recursive), program);
+    }
+  }
+
+  /**
+   * The token a syntax error was raised at. The parsers predict different
+   * sets of expected tokens, since the tables only check a default rule's
+   * FOLLOW set once a later token fails to match.
+   */
+  private static String unexpected(SyntaxErrorException error) {
+    return error.getMessage().substring(0, error.getMessage().indexOf(" (expected"));
+  }
+
+  private static String describe(AST node) {
+    StringBuilder description = new StringBuilder()
+        .append(node.getNodeNumber()).append(node.getKind()).append('(');
+
+    for (AST child : node.getChildren()) {
+      description.append(describe(child));
+    }
+
+    return description.append(')').toString();
+  }
+}
@@ -44,9 +44,11 @@ public class ToolHelpers {
   }
 
   public static void failExecution(Exception exception) {
+    StackTraceElement[] trace = exception.getStackTrace();
+
     System.err.println(String.format(
         "The TokenTool %s failed to run:",
-        exception.getStackTrace()[2].getClassName()));
+        trace[Math.min(2, trace.length - 1)].getClassName()));
     exception.printStackTrace();
     System.exit(1);
   }
@@ -6,9 +6,13 @@ import java.nio.file.Files;
 import config.LexerConfiguration;
 import config.ParserConfiguration;
 import config.VisitorConfiguration;
+import tools.ast.SchemaGenerator;
 import tools.ast.TreeGenerator;
+import tools.lexer.LexerTableGenerator;
 import tools.lexer.SymbolTableGenerator;
 import tools.lexer.TokenKindGenerator;
+import tools.parser.GrammarSetGenerator;
+import tools.parser.ParserTableGenerator;
 import tools.visitor.VisitorGenerator;
 
 public class ToolRunner {
@@ -33,11 +37,26 @@ public class ToolRunner {
         new SymbolTableGenerator(LexerConfiguration.TOKEN_FILE_PATH);
     symbolTableGenerator.regenerateSourceFile();
 
+    FileGeneratorTool lexerTableGenerator =
+        new LexerTableGenerator(LexerConfiguration.TOKEN_FILE_PATH);
+    lexerTableGenerator.regenerateSourceFile();
+
     FileGeneratorTool treeGenerator = new TreeGenerator(ParserConfiguration.AST_FILE_PATH);
     treeGenerator.regenerateSourceFile();
 
     FileGeneratorTool visitorGenerator =
         new VisitorGenerator(ParserConfiguration.AST_FILE_PATH);
     visitorGenerator.regenerateSourceFile();
+
+    FileGeneratorTool grammarSetGenerator =
+        new GrammarSetGenerator(ParserConfiguration.GRAMMAR_FILE_PATH);
+    grammarSetGenerator.regenerateSourceFile();
+
+    FileGeneratorTool parserTableGenerator =
+        new ParserTableGenerator(ParserConfiguration.GRAMMAR_FILE_PATH);
+    parserTableGenerator.regenerateSourceFile();
+
+    FileGeneratorTool schemaGenerator = new SchemaGenerator(ParserConfiguration.AST_FILE_PATH);
+    schemaGenerator.regenerateSourceFile();
   }
 }
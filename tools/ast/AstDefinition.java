@@ -0,0 +1,80 @@
+package tools.ast;
+
+/**
+ * One line of asts.txt: a tree name, optionally followed by its arity and by
+ * "s" if the tree holds a Symbol. The arity is one of leaf, unary, binary,
+ * fixed-N (exactly N children) or list (any number); it defaults to list.
+ */
+public class AstDefinition {
+    private static final String FIXED_PREFIX = "fixed-";
+
+    private String name;
+    private String arity;
+    private boolean symbolTree;
+
+    private AstDefinition(String name, String arity, boolean symbolTree) {
+        this.name = name;
+        this.arity = arity;
+        this.symbolTree = symbolTree;
+    }
+
+    public static AstDefinition parse(String line) {
+        String[] spec = line.trim().split("\\s+");
+        String arity = "list";
+        boolean symbolTree = false;
+
+        for (int index = 1; index < spec.length; index++) {
+            if (spec[index].equals("s")) {
+                symbolTree = true;
+            } else if (spec[index].equals("leaf") || spec[index].equals("unary")
+                    || spec[index].equals("binary") || spec[index].equals("list")
+                    || isFixed(spec[index])) {
+                arity = spec[index];
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("Unknown option [%s] for %s", spec[index], spec[0]));
+            }
+        }
+
+        return new AstDefinition(spec[0], arity, symbolTree);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isSymbolTree() {
+        return this.symbolTree;
+    }
+
+    /**
+     * The class in the ast package that the generated tree extends.
+     */
+    public String getBaseClass() {
+        switch (this.arity) {
+            case "leaf":
+                return "LeafAST";
+            case "unary":
+                return "UnaryAST";
+            case "binary":
+                return "BinaryAST";
+            case "list":
+                return "ListAST";
+            default:
+                return "FixedAST";
+        }
+    }
+
+    /**
+     * The number of children of a fixed-N tree, or -1 for any other arity.
+     */
+    public int getFixedArity() {
+        return isFixed(this.arity)
+                ? Integer.parseInt(this.arity.substring(FIXED_PREFIX.length()))
+                : -1;
+    }
+
+    private static boolean isFixed(String option) {
+        return option.matches(FIXED_PREFIX + "[0-9]+");
+    }
+}
@@ -0,0 +1,93 @@
+package tools.ast;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import config.LexerConfiguration;
+import config.ParserConfiguration;
+import tools.FileGeneratorTool;
+import static tools.ToolHelpers.*;
+
+/**
+ * Writes a hash of every definition the serialized trees and token streams
+ * depend on: the tokens and lexemes in tokens.txt, the trees in asts.txt and
+ * the productions and operator levels in grammar.txt. Blank lines, comments
+ * and indentation are left out, so only a change that can alter what the
+ * Lexer or the Parser builds changes the hash.
+ */
+public class SchemaGenerator extends FileGeneratorTool {
+    private static final List<Path> DEFINITION_PATHS = List.of(
+            LexerConfiguration.TOKEN_FILE_PATH,
+            ParserConfiguration.AST_FILE_PATH,
+            ParserConfiguration.GRAMMAR_FILE_PATH);
+
+    private String sourceCodePrefix = String.join("", List.of(
+            String.format("package %s.%s;",
+                    ParserConfiguration.AST_PACKAGE,
+                    ParserConfiguration.SERIALIZATION_PACKAGE),
+            getNewLines(2),
+            getAutoGeneratedWarning(),
+            getNewLines(1),
+            String.format("final class %s {", ParserConfiguration.AST_SCHEMA_CLASS_NAME),
+            getNewLines(1)));
+
+    private String sourceCodeSuffix = String.join("", List.of(
+            getNewLines(1),
+            getIndentation(1),
+            String.format("private %s() {", ParserConfiguration.AST_SCHEMA_CLASS_NAME),
+            endAndIndent(1, 1),
+            "}",
+            getNewLines(1),
+            "}",
+            getNewLines(1)));
+
+    public SchemaGenerator(Path filePath) {
+        super(filePath);
+    }
+
+    @Override
+    public void regenerateSourceFile() {
+        try (FileWriter writer =
+                new FileWriter(ParserConfiguration.AST_SCHEMA_FILE_PATH.toFile())) {
+            writer.write(sourceCodePrefix);
+            writer.write(getIndentation(1));
+            writer.write(getComment(
+                    "The first four bytes of a SHA-256 of tokens.txt, asts.txt and grammar.txt"));
+            writer.write(endAndIndent(1, 1));
+            writer.write(String.format("static final int DEFINITIONS = 0x%08x;", hash()));
+            writer.write(getNewLines(1));
+            writer.write(sourceCodeSuffix);
+        } catch (IOException | NoSuchAlgorithmException exception) {
+            failExecution(exception);
+        }
+    }
+
+    private static int hash() throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        for (Path path : DEFINITION_PATHS) {
+            digest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+
+            for (String line : Files.readAllLines(path)) {
+                String definition = line.trim();
+
+                if (definition.length() != 0 && !definition.startsWith("#")) {
+                    digest.update(definition.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) '\n');
+                }
+            }
+        }
+
+        byte[] bytes = digest.digest();
+
+        return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8
+                | (bytes[3] & 0xFF);
+    }
+}
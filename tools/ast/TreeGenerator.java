@@ -8,6 +8,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import config.ParserConfiguration;
 
@@ -16,17 +18,10 @@ public class TreeGenerator extends FileGeneratorTool {
         super(filePath);
     }
 
-    private static final int CLASS_NAME_INDEX = 0;
-    private static final int OPTIONAL_ARGS_INDEX = 1;
-
     private String sourceCodePrefix = String.join(
             "",
             String.format("package %s.%s;", ParserConfiguration.AST_PACKAGE,
                     ParserConfiguration.TREE_PACKAGE),
-            getNewLines(2),
-            "import ast.AST;",
-            getNewLines(1),
-            "import visitor.TreeVisitor;",
             getNewLines(2));
 
     @Override
@@ -39,15 +34,15 @@ public class TreeGenerator extends FileGeneratorTool {
             file.delete();
         }
 
-        while (this.hasNext()) {
-            String[] spec = this.next().split("\\s+");
+        List<AstDefinition> definitions = new ArrayList<>();
 
-            String className = spec[CLASS_NAME_INDEX] + "Tree";
-            boolean implementsSymbolTree = false;
+        while (this.hasNext()) {
+            AstDefinition definition = AstDefinition.parse(this.next());
+            definitions.add(definition);
 
-            if (spec.length == 2) {
-                implementsSymbolTree = spec[OPTIONAL_ARGS_INDEX].contains("s");
-            }
+            String className = definition.getName() + "Tree";
+            String baseClass = definition.getBaseClass();
+            boolean implementsSymbolTree = definition.isSymbolTree();
 
             try (FileWriter writer = new FileWriter(Paths.get(
                     ParserConfiguration.AST_PACKAGE,
@@ -55,12 +50,14 @@ public class TreeGenerator extends FileGeneratorTool {
                     String.format("%s.java", className)).toFile())) {
 
                 writer.write(sourceCodePrefix);
+                writer.write(String.format("import ast.%s;", baseClass));
+                writer.write(getNewLines(1));
+                writer.write("import visitor.TreeVisitor;");
+                writer.write(getNewLines(2));
 
                 if (implementsSymbolTree) {
                     writer.write("import ast.ISymbolTree;");
                     writer.write(getNewLines(1));
-                    writer.write("import lexer.SymbolTable;");
-                    writer.write(getNewLines(1));
                     writer.write("import lexer.daos.*;");
                     writer.write(getNewLines(2));
                 }
@@ -68,7 +65,7 @@ public class TreeGenerator extends FileGeneratorTool {
                 writer.write(getAutoGeneratedWarning());
                 writer.write(getNewLines(1));
 
-                writer.write(String.format("public class %s extends AST ", className));
+                writer.write(String.format("public class %s extends %s ", className, baseClass));
                 if (implementsSymbolTree) {
                     writer.write("implements ISymbolTree ");
                 }
@@ -83,6 +80,20 @@ public class TreeGenerator extends FileGeneratorTool {
                             getNewLines(2)));
                 }
 
+                if (definition.getFixedArity() >= 0) {
+                    writer.write(String.join(
+                            "",
+                            getIndentation(1),
+                            String.format("public %s() {", className),
+                            getNewLines(1),
+                            getIndentation(2),
+                            String.format("super(%d);", definition.getFixedArity()),
+                            getNewLines(1),
+                            getIndentation(1),
+                            "}",
+                            getNewLines(2)));
+                }
+
                 writer.write(String.join(
                         "",
                         getIndentation(1),
@@ -94,6 +105,17 @@ public class TreeGenerator extends FileGeneratorTool {
                         "return visitor.visit(this);",
                         getNewLines(1),
                         getIndentation(1),
+                        "}",
+                        getNewLines(2),
+                        getIndentation(1),
+                        "@Override",
+                        getNewLines(1),
+                        getIndentation(1),
+                        "public NodeKind getKind() {",
+                        endAndIndent(1, 2),
+                        String.format("return NodeKind.%s;", definition.getName()),
+                        getNewLines(1),
+                        getIndentation(1),
                         "}"));
 
                 if (implementsSymbolTree) {
@@ -103,7 +125,16 @@ public class TreeGenerator extends FileGeneratorTool {
                             String.format("public %s(Token token) {", className),
                             getNewLines(1),
                             getIndentation(2),
-                            "this.symbol = SymbolTable.recordSymbol(token.getLexeme(), TokenKind.BogusToken);",
+                            "this(token.getSymbol());",
+                            getNewLines(1),
+                            getIndentation(1),
+                            "}",
+                            getNewLines(2),
+                            getIndentation(1),
+                            String.format("public %s(Symbol symbol) {", className),
+                            getNewLines(1),
+                            getIndentation(2),
+                            "this.symbol = symbol;",
                             getNewLines(1),
                             getIndentation(1),
                             "}",
@@ -125,6 +156,110 @@ public class TreeGenerator extends FileGeneratorTool {
             }
 
         }
+
+        writeNodeKinds(definitions);
+    }
+
+    /**
+     * Writes the NodeKind enum, with one constant per tree in the order of
+     * asts.txt. Each constant creates its tree, so code that stores trees as
+     * kinds (the AstArena) can turn them back into objects.
+     */
+    private void writeNodeKinds(List<AstDefinition> definitions) {
+        try (FileWriter writer = new FileWriter(Paths.get(
+                ParserConfiguration.AST_PACKAGE,
+                ParserConfiguration.TREE_PACKAGE,
+                "NodeKind.java").toFile())) {
+
+            writer.write(sourceCodePrefix);
+            writer.write("import java.util.function.Function;");
+            writer.write(getNewLines(2));
+            writer.write("import ast.AST;");
+            writer.write(getNewLines(1));
+            writer.write("import lexer.daos.Symbol;");
+            writer.write(getNewLines(2));
+            writer.write(getAutoGeneratedWarning());
+            writer.write(getNewLines(1));
+            writer.write("public enum NodeKind {");
+            writer.write(getNewLines(1));
+
+            for (int index = 0; index < definitions.size(); index++) {
+                AstDefinition definition = definitions.get(index);
+
+                writer.write(getIndentation(1));
+                writer.write(String.format(
+                        definition.isSymbolTree()
+                                ? "%1$s(true, %1$sTree::new)"
+                                : "%1$s(false, symbol -> new %1$sTree())",
+                        definition.getName()));
+                writer.write(index == definitions.size() - 1 ? ";" : ",");
+                writer.write(getNewLines(1));
+            }
+
+            writer.write(String.join(
+                    "",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "private static final NodeKind[] KINDS = values();",
+                    getNewLines(2),
+                    getIndentation(1),
+                    "private boolean symbolTree;",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "private Function<Symbol, AST> factory;",
+                    getNewLines(2),
+                    getIndentation(1),
+                    "private NodeKind(boolean symbolTree, Function<Symbol, AST> factory) {",
+                    getNewLines(1),
+                    getIndentation(2),
+                    "this.symbolTree = symbolTree;",
+                    getNewLines(1),
+                    getIndentation(2),
+                    "this.factory = factory;",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "}",
+                    getNewLines(2),
+                    getIndentation(1),
+                    "public static NodeKind of(int ordinal) {",
+                    getNewLines(1),
+                    getIndentation(2),
+                    "return KINDS[ordinal];",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "}",
+                    getNewLines(2),
+                    getIndentation(1),
+                    "public boolean isSymbolTree() {",
+                    getNewLines(1),
+                    getIndentation(2),
+                    "return this.symbolTree;",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "}",
+                    getNewLines(2),
+                    getIndentation(1),
+                    "/**",
+                    getNewLines(1),
+                    getIndentation(1),
+                    " * Creates a tree of this kind. symbol is ignored unless isSymbolTree().",
+                    getNewLines(1),
+                    getIndentation(1),
+                    " */",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "public AST create(Symbol symbol) {",
+                    getNewLines(1),
+                    getIndentation(2),
+                    "return this.factory.apply(symbol);",
+                    getNewLines(1),
+                    getIndentation(1),
+                    "}",
+                    getNewLines(1),
+                    "}"));
+        } catch (IOException exception) {
+            failExecution(exception);
+        }
     }
 
 }
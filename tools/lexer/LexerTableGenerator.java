@@ -0,0 +1,362 @@
+package tools.lexer;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import config.LexerConfiguration;
+import tools.FileGeneratorTool;
+
+import static tools.ToolHelpers.*;
+
+/**
+ * Compiles tokens.txt into the tables that drive DfaLexer: a character-class
+ * table covering ASCII and a state-transition table with one row per state and
+ * one column per character class. Word lexemes are not given states of their
+ * own; they are lexed as identifiers and then recognized by
+ * SymbolTable.keyword().
+ */
+public class LexerTableGenerator extends FileGeneratorTool {
+    private static final int ASCII_SIZE = 128;
+    private static final int NO_STATE = -1;
+
+    private static final String[] CHARACTER_CLASS_NAMES = {
+            "WHITESPACE",
+            "NEWLINE",
+            "END_OF_INPUT",
+            "IDENTIFIER_START",
+            "DIGIT",
+            "IDENTIFIER_PART",
+            "OTHER"
+    };
+    private static final int WHITESPACE = 0;
+    private static final int NEWLINE = 1;
+    private static final int END_OF_INPUT = 2;
+    private static final int IDENTIFIER_START = 3;
+    private static final int DIGIT = 4;
+    private static final int IDENTIFIER_PART = 5;
+    private static final int OTHER = 6;
+
+    private String sourceCodePrefix = String.join("", List.of(
+            String.format("package %s;", LexerConfiguration.LEXER_PACKAGE),
+            getNewLines(2),
+            "import lexer.daos.TokenKind;",
+            getNewLines(2),
+            getAutoGeneratedWarning(),
+            getNewLines(1),
+            String.format("public class %s {", LexerConfiguration.LEXER_TABLES_CLASS_NAME)));
+
+    private List<String[]> entries = new ArrayList<>();
+    private List<Character> operatorCharacters = new ArrayList<>();
+    private List<int[]> transitions = new ArrayList<>();
+    private List<String> stateNames = new ArrayList<>();
+    private List<String> acceptingKinds = new ArrayList<>();
+    private List<String> acceptingLexemes = new ArrayList<>();
+
+    public LexerTableGenerator(Path filePath) {
+        super(filePath);
+    }
+
+    @Override
+    public void regenerateSourceFile() {
+        while (this.hasNext()) {
+            this.entries.add(this.next().split("\\s+"));
+        }
+
+        for (String[] entry : this.entries) {
+            if (isOperator(entry[1])) {
+                this.addOperatorCharacters(entry[1]);
+            }
+        }
+
+        this.addState("start");
+
+        for (String[] entry : this.entries) {
+            this.addRules(entry[0], entry[1]);
+        }
+
+        try (FileWriter writer =
+                new FileWriter(LexerConfiguration.LEXER_TABLES_FILE_PATH.toFile())) {
+            writer.write(sourceCodePrefix);
+            writer.write(this.getCharacterClassConstants());
+            writer.write(this.getStateConstants());
+            writer.write(this.getCharacterClassTable());
+            writer.write(this.getTransitionTable());
+            writer.write(this.getAcceptingKinds());
+            writer.write(this.getAcceptingLexemes());
+            writer.write(this.getClassifier());
+            writer.write("}");
+            writer.write(getNewLines(1));
+        } catch (IOException exception) {
+            failExecution(exception);
+        }
+    }
+
+    private static boolean isPlaceholder(String lexeme) {
+        return lexeme.matches("<\\w+>");
+    }
+
+    private static boolean isWord(String lexeme) {
+        return lexeme.matches("[A-Za-z_][A-Za-z_0-9]*");
+    }
+
+    private static boolean isOperator(String lexeme) {
+        return !isPlaceholder(lexeme) && !isWord(lexeme);
+    }
+
+    private void addOperatorCharacters(String lexeme) {
+        for (char ch : lexeme.toCharArray()) {
+            if (ch >= ASCII_SIZE || getFixedCharacterClass(ch) != OTHER) {
+                failExecution(new IllegalArgumentException(String.format(
+                        "Operator [%s] may only use ASCII punctuation.", lexeme)));
+            }
+
+            if (!this.operatorCharacters.contains(ch)) {
+                this.operatorCharacters.add(ch);
+            }
+        }
+    }
+
+    private int getClassCount() {
+        return CHARACTER_CLASS_NAMES.length + this.operatorCharacters.size();
+    }
+
+    /**
+     * Whitespace, identifier and digit classes are checked in the same order as
+     * Lexer checks them, so the table agrees with Lexer on every character.
+     */
+    private static int getFixedCharacterClass(char ch) {
+        if (ch == '\n') {
+            return NEWLINE;
+        } else if (ch == '\0') {
+            return END_OF_INPUT;
+        } else if (Character.isWhitespace(ch)) {
+            return WHITESPACE;
+        } else if (Character.isJavaIdentifierStart(ch)) {
+            return IDENTIFIER_START;
+        } else if (Character.isDigit(ch)) {
+            return DIGIT;
+        } else if (Character.isJavaIdentifierPart(ch)) {
+            return IDENTIFIER_PART;
+        }
+
+        return OTHER;
+    }
+
+    private int getCharacterClass(char ch) {
+        int operator = this.operatorCharacters.indexOf(ch);
+
+        return operator < 0 ? getFixedCharacterClass(ch) : CHARACTER_CLASS_NAMES.length + operator;
+    }
+
+    private int addState(String name) {
+        int[] row = new int[this.getClassCount()];
+        Arrays.fill(row, NO_STATE);
+
+        this.transitions.add(row);
+        this.stateNames.add(name);
+        this.acceptingKinds.add(null);
+        this.acceptingLexemes.add(null);
+
+        return this.transitions.size() - 1;
+    }
+
+    private void accept(int state, String kind, String lexeme) {
+        this.acceptingKinds.set(state, kind);
+        this.acceptingLexemes.set(state, lexeme);
+    }
+
+    private void addRules(String kind, String lexeme) {
+        int[] start = this.transitions.get(0);
+
+        if (lexeme.equals("<id>")) {
+            int state = this.addState(lexeme);
+            int[] row = this.transitions.get(state);
+
+            start[IDENTIFIER_START] = state;
+            row[IDENTIFIER_START] = state;
+            row[DIGIT] = state;
+            row[IDENTIFIER_PART] = state;
+            this.accept(state, kind, null);
+        } else if (lexeme.equals("<int>")) {
+            int state = this.addState(lexeme);
+
+            start[DIGIT] = state;
+            this.transitions.get(state)[DIGIT] = state;
+            this.accept(state, kind, null);
+        } else if (isOperator(lexeme)) {
+            int state = 0;
+
+            for (int index = 0; index < lexeme.length(); index++) {
+                int characterClass = this.getCharacterClass(lexeme.charAt(index));
+
+                if (this.transitions.get(state)[characterClass] == NO_STATE) {
+                    this.transitions.get(state)[characterClass] =
+                            this.addState(lexeme.substring(0, index + 1));
+                }
+
+                state = this.transitions.get(state)[characterClass];
+            }
+
+            this.accept(state, kind, lexeme);
+        }
+    }
+
+    private String getCharacterClassConstants() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append(getComment("Character classes"));
+
+        for (int index = 0; index < CHARACTER_CLASS_NAMES.length; index++) {
+            buffer.append(endAndIndent(1, 1));
+            buffer.append(String.format(
+                    "public static final int %s = %d;", CHARACTER_CLASS_NAMES[index], index));
+        }
+
+        for (int index = 0; index < this.operatorCharacters.size(); index++) {
+            buffer.append(endAndIndent(1, 1));
+            buffer.append(getComment(String.format(
+                    "%d: '%c'", CHARACTER_CLASS_NAMES.length + index, this.operatorCharacters.get(index))));
+        }
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append(String.format("public static final int CLASS_COUNT = %d;", this.getClassCount()));
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    private String getStateConstants() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("public static final int START = 0;");
+        buffer.append(endAndIndent(1, 1));
+        buffer.append(String.format("public static final int NO_STATE = %d;", NO_STATE));
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    private String getCharacterClassTable() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("public static final byte[] CHARACTER_CLASSES = {");
+
+        for (int ch = 0; ch < ASCII_SIZE; ch++) {
+            buffer.append(ch % 16 == 0 ? endAndIndent(1, 2) : " ");
+            buffer.append(String.format("%d,", this.getCharacterClass((char) ch)));
+        }
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("};");
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    private String getTransitionTable() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("public static final short[] TRANSITIONS = {");
+
+        for (int state = 0; state < this.transitions.size(); state++) {
+            buffer.append(endAndIndent(1, 2));
+            buffer.append(getComment(String.format("%d: %s", state, this.stateNames.get(state))));
+            buffer.append(endAndIndent(1, 2));
+
+            List<String> row = new ArrayList<>();
+
+            for (int next : this.transitions.get(state)) {
+                row.add(String.format("%d,", next));
+            }
+
+            buffer.append(String.join(" ", row));
+        }
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("};");
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    private String getAcceptingKinds() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("public static final TokenKind[] ACCEPTING_KINDS = {");
+
+        for (String kind : this.acceptingKinds) {
+            buffer.append(endAndIndent(1, 2));
+            buffer.append(kind == null ? "null," : String.format("TokenKind.%s,", kind));
+        }
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("};");
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    private String getAcceptingLexemes() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("public static final String[] ACCEPTING_LEXEMES = {");
+
+        for (String lexeme : this.acceptingLexemes) {
+            buffer.append(endAndIndent(1, 2));
+            buffer.append(lexeme == null ? "null," : String.format("\"%s\",", lexeme));
+        }
+
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("};");
+        buffer.append(getNewLines(1));
+
+        return buffer.toString();
+    }
+
+    /**
+     * Characters outside ASCII are classified at run time with the same checks
+     * that built the table.
+     */
+    private String getClassifier() {
+        return String.join("", List.of(
+                endAndIndent(1, 1),
+                "public static int classify(char ch) {",
+                endAndIndent(1, 2),
+                "if (ch < CHARACTER_CLASSES.length) {",
+                endAndIndent(1, 3),
+                "return CHARACTER_CLASSES[ch];",
+                endAndIndent(1, 2),
+                "} else if (Character.isWhitespace(ch)) {",
+                endAndIndent(1, 3),
+                "return WHITESPACE;",
+                endAndIndent(1, 2),
+                "} else if (Character.isJavaIdentifierStart(ch)) {",
+                endAndIndent(1, 3),
+                "return IDENTIFIER_START;",
+                endAndIndent(1, 2),
+                "} else if (Character.isDigit(ch)) {",
+                endAndIndent(1, 3),
+                "return DIGIT;",
+                endAndIndent(1, 2),
+                "} else if (Character.isJavaIdentifierPart(ch)) {",
+                endAndIndent(1, 3),
+                "return IDENTIFIER_PART;",
+                endAndIndent(1, 2),
+                "}",
+                endAndIndent(2, 2),
+                "return OTHER;",
+                endAndIndent(1, 1),
+                "}",
+                getNewLines(1)));
+    }
+}
@@ -3,7 +3,10 @@ package tools.lexer;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import config.LexerConfiguration;
 import tools.FileGeneratorTool;
@@ -15,10 +18,6 @@ public class SymbolTableGenerator extends FileGeneratorTool {
     private String sourceCodePrefix = String.join("", List.of(
             String.format("package %s;", LexerConfiguration.LEXER_PACKAGE),
             getNewLines(2),
-            "import java.util.Map;",
-            getNewLines(1),
-            "import java.util.HashMap;",
-            getNewLines(1),
             "import lexer.daos.TokenKind;",
             getNewLines(1),
             "import lexer.daos.Symbol;",
@@ -27,43 +26,62 @@ public class SymbolTableGenerator extends FileGeneratorTool {
             getNewLines(1),
             String.format("public class %s {", LexerConfiguration.UNIQUE_SYMBOL_MAP_CLASS_NAME),
             endAndIndent(1, 1),
-            "private static Map<String, Symbol> symbols;",
+            "private static SymbolInterner builtIns;",
+            endAndIndent(1, 1),
+            "private static Symbol[] keywords;",
             endAndIndent(2, 1),
             "static {",
             endAndIndent(1, 2),
-            "symbols = new HashMap<>();",
+            "builtIns = new SymbolInterner();",
             getNewLines(2)));
 
     private String sourceCodeSuffix = String.join("", List.of(
-            getIndentation(1),
-            "}",
             endAndIndent(2, 1),
             "public static Symbol recordSymbol(String lexeme, TokenKind kind) {",
             endAndIndent(1, 2),
-            "Symbol s = symbols.get(lexeme);",
-            endAndIndent(2, 2),
-            "if (s == null) {",
-            endAndIndent(1, 3),
-            "if (kind == TokenKind.BogusToken) {",
-            endAndIndent(1, 4),
-            getComment("bogus string so don't enter into symbols"),
-            endAndIndent(1, 4),
-            "return null;",
-            endAndIndent(1, 3),
+            "return CompilationContext.global().recordSymbol(lexeme, kind);",
+            endAndIndent(1, 1),
             "}",
-            endAndIndent(2, 3),
-            "s = new Symbol(lexeme, kind);",
-            endAndIndent(1, 3),
-            "symbols.put(lexeme, s);",
+            endAndIndent(2, 1),
+            "public static Symbol recordSymbol(char[] buffer, int start, int length, TokenKind kind) {",
             endAndIndent(1, 2),
+            "return CompilationContext.global().recordSymbol(buffer, start, length, kind);",
+            endAndIndent(1, 1),
             "}",
-            endAndIndent(2, 2),
-            "return s;",
+            endAndIndent(2, 1),
+            "public static Symbol getSymbol(int id) {",
+            endAndIndent(1, 2),
+            "return CompilationContext.global().getSymbol(id);",
             endAndIndent(1, 1),
             "}",
-            getNewLines(1),
+            endAndIndent(2, 1),
+            "public static Symbol getBuiltIn(String lexeme) {",
+            endAndIndent(1, 2),
+            "return builtIns.get(lexeme);",
+            endAndIndent(1, 1),
             "}",
-            getNewLines(1)));
+            endAndIndent(2, 1),
+            "public static Symbol getBuiltIn(char[] buffer, int start, int length) {",
+            endAndIndent(1, 2),
+            "return builtIns.get(buffer, start, length);",
+            endAndIndent(1, 1),
+            "}",
+            endAndIndent(2, 1),
+            "public static Symbol getBuiltIn(int id) {",
+            endAndIndent(1, 2),
+            "return builtIns.get(id);",
+            endAndIndent(1, 1),
+            "}",
+            endAndIndent(2, 1),
+            "public static int getBuiltInCount() {",
+            endAndIndent(1, 2),
+            "return builtIns.size();",
+            endAndIndent(1, 1),
+            "}",
+            getNewLines(2)));
+
+    private List<String> keywords = new ArrayList<>();
+    private int symbolCount = 0;
 
     @Override
     public void regenerateSourceFile() {
@@ -75,7 +93,11 @@ public class SymbolTableGenerator extends FileGeneratorTool {
                 writer.write(this.getInsertKeywordSymbolLine());
             }
 
+            writer.write(this.getKeywordArray());
             writer.write(sourceCodeSuffix);
+            writer.write(this.getKeywordRecognizer());
+            writer.write("}");
+            writer.write(getNewLines(1));
         } catch (IOException exception) {
             failExecution(exception);
         }
@@ -92,11 +114,109 @@ public class SymbolTableGenerator extends FileGeneratorTool {
 
         buffer.append(getIndentation(2));
         buffer.append(
-                String.format("symbols.put(\"%s\", new Symbol(\"%s\", TokenKind.%s));", entries[1],
-                        entries[1], entries[0]));
+                String.format("builtIns.put(\"%s\", new Symbol(\"%s\", TokenKind.%s, %d));", entries[1],
+                        entries[1], entries[0], this.symbolCount++));
+        buffer.append(getNewLines(1));
+
+        if (entries[1].matches("[A-Za-z_][A-Za-z_0-9]*")) {
+            this.keywords.add(entries[1]);
+        }
+
+        return buffer.toString();
+    }
+
+    private String getKeywordArray() {
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(endAndIndent(1, 2));
+        buffer.append("keywords = new Symbol[] {");
+
+        for (String keyword : this.keywords) {
+            buffer.append(endAndIndent(1, 4));
+            buffer.append(String.format("builtIns.get(\"%s\"),", keyword));
+        }
+
+        buffer.append(endAndIndent(1, 2));
+        buffer.append("};");
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("}");
+
+        return buffer.toString();
+    }
+
+    /**
+     * Emits a switch on keyword length and then first character, followed by a
+     * comparison of the remaining characters, so a keyword is recognized without
+     * probing the symbol table.
+     */
+    private String getKeywordRecognizer() {
+        Map<Integer, Map<Character, List<Integer>>> cases = new TreeMap<>();
+
+        for (int index = 0; index < this.keywords.size(); index++) {
+            String keyword = this.keywords.get(index);
+
+            cases.computeIfAbsent(keyword.length(), length -> new TreeMap<>())
+                    .computeIfAbsent(keyword.charAt(0), first -> new ArrayList<>())
+                    .add(index);
+        }
+
+        StringBuffer buffer = new StringBuffer();
+
+        buffer.append(getIndentation(1));
+        buffer.append("public static Symbol keyword(char[] buffer, int start, int length) {");
+        buffer.append(endAndIndent(1, 2));
+        buffer.append("switch (length) {");
+
+        for (Map.Entry<Integer, Map<Character, List<Integer>>> length : cases.entrySet()) {
+            buffer.append(endAndIndent(1, 3));
+            buffer.append(String.format("case %d:", length.getKey()));
+            buffer.append(endAndIndent(1, 4));
+            buffer.append("switch (buffer[start]) {");
+
+            for (Map.Entry<Character, List<Integer>> first : length.getValue().entrySet()) {
+                buffer.append(endAndIndent(1, 5));
+                buffer.append(String.format("case '%c':", first.getKey()));
+
+                for (int index : first.getValue()) {
+                    buffer.append(endAndIndent(1, 6));
+                    buffer.append(String.format("if (%s) {", getRemainingCharacterTest(this.keywords.get(index))));
+                    buffer.append(endAndIndent(1, 7));
+                    buffer.append(String.format("return keywords[%d];", index));
+                    buffer.append(endAndIndent(1, 6));
+                    buffer.append("}");
+                }
+
+                buffer.append(endAndIndent(1, 6));
+                buffer.append("return null;");
+            }
+
+            buffer.append(endAndIndent(1, 4));
+            buffer.append("}");
+            buffer.append(endAndIndent(1, 4));
+            buffer.append("return null;");
+        }
+
+        buffer.append(endAndIndent(1, 2));
+        buffer.append("}");
+        buffer.append(endAndIndent(2, 2));
+        buffer.append("return null;");
+        buffer.append(endAndIndent(1, 1));
+        buffer.append("}");
         buffer.append(getNewLines(1));
 
         return buffer.toString();
     }
 
+    private String getRemainingCharacterTest(String keyword) {
+        List<String> comparisons = new ArrayList<>();
+
+        for (int index = 1; index < keyword.length(); index++) {
+            comparisons.add(String.format("buffer[start + %d] == '%c'", index, keyword.charAt(index)));
+        }
+
+        return comparisons.isEmpty()
+                ? "true"
+                : String.join(" &&" + endAndIndent(1, 10), comparisons);
+    }
+
 }
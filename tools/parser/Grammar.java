@@ -0,0 +1,392 @@
+package tools.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The productions of grammar.txt together with their FIRST, FOLLOW and
+ * predict sets. Terminals are TokenKinds and every set is a bitmask with bit
+ * TokenKind.ordinal() set for each member, so the grammar can only use the
+ * first 64 TokenKinds. Actions (symbols starting with @) are kept in the
+ * production bodies but derive nothing, so the sets skip them.
+ */
+public class Grammar {
+    public static final String EPSILON = "EPSILON";
+    public static final String ARROW = "->";
+    public static final String ACTION_PREFIX = "@";
+    public static final String ADD_ACTION = "@add";
+    public static final String END_ACTION = "@end";
+    public static final String LEFT_DIRECTIVE = "%left";
+
+    private List<String> terminals;
+    private Map<String, Integer> ordinals;
+    private Map<String, List<Production>> productions;
+    private Map<String, Boolean> nullable;
+    private Map<String, Long> first;
+    private Map<String, Long> follow;
+    private Map<String, String> operatorLevels;
+    private String start;
+
+    /**
+     * A single alternative: head -> body. An EPSILON alternative has an empty
+     * body.
+     */
+    public static class Production {
+        private String head;
+        private List<String> body;
+
+        private Production(String head, List<String> body) {
+            this.head = head;
+            this.body = body;
+        }
+
+        public String getHead() {
+            return this.head;
+        }
+
+        public List<String> getBody() {
+            return this.body;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s %s", this.head, ARROW,
+                    this.body.isEmpty() ? EPSILON : String.join(" ", this.body));
+        }
+    }
+
+    /**
+     * @param lines the non-comment lines of grammar.txt
+     * @param terminals every TokenKind name, in ordinal order
+     */
+    public Grammar(List<String> lines, List<String> terminals) {
+        if (terminals.size() > Long.SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "%d TokenKinds do not fit in a long bitmask", terminals.size()));
+        }
+
+        this.terminals = terminals;
+        this.ordinals = new HashMap<>();
+        this.productions = new LinkedHashMap<>();
+        this.operatorLevels = new LinkedHashMap<>();
+
+        for (int ordinal = 0; ordinal < terminals.size(); ordinal++) {
+            this.ordinals.put(terminals.get(ordinal), ordinal);
+        }
+
+        for (String line : lines) {
+            if (line.startsWith(LEFT_DIRECTIVE)) {
+                parseOperatorLevel(line);
+            } else {
+                parseLine(line);
+            }
+        }
+
+        for (List<Production> alternatives : this.productions.values()) {
+            for (Production production : alternatives) {
+                for (String symbol : production.getBody()) {
+                    if (!isNonterminal(symbol) && !isTerminal(symbol) && !isAction(symbol)) {
+                        throw new IllegalArgumentException(String.format(
+                                "Unknown symbol %s in %s", symbol, production));
+                    }
+                }
+            }
+        }
+
+        for (String operators : this.operatorLevels.keySet()) {
+            if (!isNonterminal(operators)) {
+                throw new IllegalArgumentException(String.format(
+                        "%s %s is not a nonterminal", LEFT_DIRECTIVE, operators));
+            }
+
+            for (Production production : getProductions(operators)) {
+                if (production.getBody().size() != 1 || !isTerminal(production.getBody().get(0))) {
+                    throw new IllegalArgumentException(String.format(
+                            "%s is not a single operator token", production));
+                }
+            }
+        }
+
+        computeFirst();
+        computeFollow();
+    }
+
+    private void parseOperatorLevel(String line) {
+        String[] fields = line.trim().split("\\s+");
+
+        if (fields.length != 3) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %s OPERATORS Kind in [%s]", LEFT_DIRECTIVE, line));
+        }
+
+        this.operatorLevels.put(fields[1], fields[2]);
+    }
+
+    private void parseLine(String line) {
+        String[] sides = line.split(ARROW, 2);
+
+        if (sides.length != 2) {
+            throw new IllegalArgumentException(String.format("Missing %s in [%s]", ARROW, line));
+        }
+
+        String head = sides[0].trim();
+
+        if (this.start == null) {
+            this.start = head;
+        }
+
+        List<Production> alternatives =
+                this.productions.computeIfAbsent(head, name -> new ArrayList<>());
+
+        for (String alternative : sides[1].split("\\|")) {
+            List<String> body = new ArrayList<>(Arrays.asList(alternative.trim().split("\\s+")));
+
+            body.removeIf(symbol -> symbol.isEmpty() || symbol.equals(EPSILON));
+            alternatives.add(new Production(head, Collections.unmodifiableList(body)));
+        }
+    }
+
+    /**
+     * The nonterminal of every %left operator level, loosest first, mapped to
+     * the tree its operators build.
+     */
+    public Map<String, String> getOperatorLevels() {
+        return this.operatorLevels;
+    }
+
+    public String getStart() {
+        return this.start;
+    }
+
+    /**
+     * The nonterminals in the order they are first defined.
+     */
+    public List<String> getNonterminals() {
+        return new ArrayList<>(this.productions.keySet());
+    }
+
+    public List<Production> getProductions(String nonterminal) {
+        return this.productions.get(nonterminal);
+    }
+
+    public List<String> getTerminals() {
+        return this.terminals;
+    }
+
+    public boolean isNonterminal(String symbol) {
+        return this.productions.containsKey(symbol);
+    }
+
+    public boolean isTerminal(String symbol) {
+        return this.ordinals.containsKey(symbol);
+    }
+
+    /**
+     * Whether symbol is @add, @end, @Kind or @Kind:N.
+     */
+    public static boolean isAction(String symbol) {
+        return symbol.equals(ADD_ACTION) || symbol.equals(END_ACTION)
+                || symbol.matches(ACTION_PREFIX + "[A-Z][A-Za-z]*(:[0-9]+)?");
+    }
+
+    /**
+     * Every production, numbered in the order of grammar.txt.
+     */
+    public List<Production> getAllProductions() {
+        List<Production> all = new ArrayList<>();
+
+        for (List<Production> alternatives : this.productions.values()) {
+            all.addAll(alternatives);
+        }
+
+        return all;
+    }
+
+    public int ordinal(String terminal) {
+        return this.ordinals.get(terminal);
+    }
+
+    public boolean isNullable(String nonterminal) {
+        return this.nullable.get(nonterminal);
+    }
+
+    public long getFirst(String nonterminal) {
+        return this.first.get(nonterminal);
+    }
+
+    public long getFollow(String nonterminal) {
+        return this.follow.get(nonterminal);
+    }
+
+    /**
+     * FIRST of a sequence of symbols; the sequence can also derive the empty
+     * string if isNullable(symbols) holds.
+     */
+    public long first(List<String> symbols) {
+        long set = 0;
+
+        for (String symbol : symbols) {
+            if (isAction(symbol)) {
+                continue;
+            }
+
+            if (isTerminal(symbol)) {
+                return set | 1L << ordinal(symbol);
+            }
+
+            set |= this.first.get(symbol);
+
+            if (!this.nullable.get(symbol)) {
+                return set;
+            }
+        }
+
+        return set;
+    }
+
+    public boolean isNullable(List<String> symbols) {
+        for (String symbol : symbols) {
+            if (isAction(symbol)) {
+                continue;
+            }
+
+            if (isTerminal(symbol) || !this.nullable.get(symbol)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The tokens on which production is chosen: FIRST of its body, and
+     * FOLLOW of its head if the body can derive the empty string.
+     */
+    public long predict(Production production) {
+        long set = first(production.getBody());
+
+        if (isNullable(production.getBody())) {
+            set |= getFollow(production.getHead());
+        }
+
+        return set;
+    }
+
+    /**
+     * A description of every pair of alternatives that share a predict token,
+     * which a single token of lookahead cannot choose between. The grammar is
+     * LL(1) when there are none.
+     */
+    public List<String> getConflicts() {
+        List<String> conflicts = new ArrayList<>();
+
+        for (List<Production> alternatives : this.productions.values()) {
+            for (int first = 0; first < alternatives.size(); first++) {
+                for (int second = first + 1; second < alternatives.size(); second++) {
+                    long shared = predict(alternatives.get(first))
+                            & predict(alternatives.get(second));
+
+                    if (shared != 0) {
+                        conflicts.add(String.format("%s and %s both predict %s",
+                                alternatives.get(first), alternatives.get(second),
+                                String.join(" ", names(shared))));
+                    }
+                }
+            }
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * The terminal names in a set, in ordinal order.
+     */
+    public List<String> names(long set) {
+        List<String> names = new ArrayList<>();
+
+        for (int ordinal = 0; ordinal < this.terminals.size(); ordinal++) {
+            if ((set & 1L << ordinal) != 0) {
+                names.add(this.terminals.get(ordinal));
+            }
+        }
+
+        return names;
+    }
+
+    private void computeFirst() {
+        this.nullable = new HashMap<>();
+        this.first = new HashMap<>();
+
+        for (String nonterminal : this.productions.keySet()) {
+            this.nullable.put(nonterminal, false);
+            this.first.put(nonterminal, 0L);
+        }
+
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+
+            for (List<Production> alternatives : this.productions.values()) {
+                for (Production production : alternatives) {
+                    String head = production.getHead();
+                    long set = this.first.get(head) | first(production.getBody());
+                    boolean empty = this.nullable.get(head) || isNullable(production.getBody());
+
+                    if (set != this.first.get(head) || empty != this.nullable.get(head)) {
+                        this.first.put(head, set);
+                        this.nullable.put(head, empty);
+                        changed = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void computeFollow() {
+        this.follow = new HashMap<>();
+
+        for (String nonterminal : this.productions.keySet()) {
+            this.follow.put(nonterminal, 0L);
+        }
+
+        this.follow.put(this.start, 1L << ordinal("EOF"));
+
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+
+            for (List<Production> alternatives : this.productions.values()) {
+                for (Production production : alternatives) {
+                    List<String> body = production.getBody();
+
+                    for (int index = 0; index < body.size(); index++) {
+                        String symbol = body.get(index);
+
+                        if (!isNonterminal(symbol)) {
+                            continue;
+                        }
+
+                        List<String> rest = body.subList(index + 1, body.size());
+                        long set = this.follow.get(symbol) | first(rest);
+
+                        if (isNullable(rest)) {
+                            set |= this.follow.get(production.getHead());
+                        }
+
+                        if (set != this.follow.get(symbol)) {
+                            this.follow.put(symbol, set);
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
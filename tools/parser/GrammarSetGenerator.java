@@ -0,0 +1,174 @@
+package tools.parser;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import config.LexerConfiguration;
+import config.ParserConfiguration;
+import tools.FileGeneratorTool;
+import tools.ast.AstDefinition;
+import static tools.ToolHelpers.*;
+
+/**
+ * Writes the FIRST and FOLLOW set of every nonterminal in grammar.txt as a
+ * long bitmask indexed by TokenKind.ordinal(), so the parser can decide
+ * between productions with a single mask test. The %left operator levels
+ * become a binding power per TokenKind and the tree built at each power.
+ */
+public class GrammarSetGenerator extends FileGeneratorTool {
+    private String sourceCodePrefix = String.join("", List.of(
+            String.format("package %s;", ParserConfiguration.PARSER_PACKAGE),
+            getNewLines(2),
+            "import java.util.Arrays;",
+            getNewLines(2),
+            "import ast.trees.NodeKind;",
+            getNewLines(1),
+            "import lexer.daos.TokenKind;",
+            getNewLines(2),
+            getAutoGeneratedWarning(),
+            getNewLines(1),
+            String.format("public final class %s {", ParserConfiguration.GRAMMAR_SETS_CLASS_NAME),
+            getNewLines(1)));
+
+    private String sourceCodeSuffix = String.join("", List.of(
+            getIndentation(1),
+            String.format("private %s() {", ParserConfiguration.GRAMMAR_SETS_CLASS_NAME),
+            endAndIndent(1, 1),
+            "}",
+            getNewLines(2),
+            getIndentation(1),
+            "public static boolean contains(long set, TokenKind kind) {",
+            endAndIndent(1, 2),
+            "return kind != null && (set & 1L << kind.ordinal()) != 0;",
+            endAndIndent(1, 1),
+            "}",
+            getNewLines(2),
+            getIndentation(1),
+            "public static TokenKind[] kinds(long set) {",
+            endAndIndent(1, 2),
+            "return Arrays.stream(TokenKind.values())",
+            endAndIndent(1, 4),
+            ".filter(kind -> contains(set, kind))",
+            endAndIndent(1, 4),
+            ".toArray(TokenKind[]::new);",
+            endAndIndent(1, 1),
+            "}",
+            getNewLines(1),
+            "}",
+            getNewLines(1)));
+
+    public GrammarSetGenerator(Path filePath) {
+        super(filePath);
+    }
+
+    @Override
+    public void regenerateSourceFile() {
+        List<String> lines = new ArrayList<>();
+
+        while (this.hasNext()) {
+            lines.add(this.next());
+        }
+
+        try (FileWriter writer =
+                new FileWriter(ParserConfiguration.GRAMMAR_SETS_FILE_PATH.toFile())) {
+            Grammar grammar = new Grammar(lines, readTerminals());
+
+            writer.write(sourceCodePrefix);
+
+            for (String nonterminal : grammar.getNonterminals()) {
+                writeSet(writer, grammar, "FIRST", nonterminal, grammar.getFirst(nonterminal));
+                writeSet(writer, grammar, "FOLLOW", nonterminal, grammar.getFollow(nonterminal));
+                writer.write(getNewLines(1));
+            }
+
+            writeOperatorLevels(writer, grammar);
+            writer.write(sourceCodeSuffix);
+        } catch (IOException | IllegalArgumentException exception) {
+            failExecution(exception);
+        }
+    }
+
+    private void writeSet(FileWriter writer, Grammar grammar, String name, String nonterminal,
+            long set) throws IOException {
+        String comment = String.join(" ", grammar.names(set));
+
+        if (name.equals("FIRST") && grammar.isNullable(nonterminal)) {
+            comment += " (or empty)";
+        }
+
+        writer.write(getIndentation(1));
+        writer.write(getComment(comment));
+        writer.write(endAndIndent(1, 1));
+        writer.write(String.format(
+                "public static final long %s_%s = 0x%xL;", name, nonterminal, set));
+        writer.write(getNewLines(1));
+    }
+
+    private void writeOperatorLevels(FileWriter writer, Grammar grammar) throws IOException {
+        Set<String> trees = readTreeNames();
+        int[] powers = new int[grammar.getTerminals().size()];
+        List<String> kinds = new ArrayList<>(List.of("null"));
+
+        for (Map.Entry<String, String> level : grammar.getOperatorLevels().entrySet()) {
+            if (!trees.contains(level.getValue())) {
+                throw new IllegalArgumentException(String.format(
+                        "%s for %s is not a tree in asts.txt", level.getValue(), level.getKey()));
+            }
+
+            for (Grammar.Production production : grammar.getProductions(level.getKey())) {
+                powers[grammar.ordinal(production.getBody().get(0))] = kinds.size();
+            }
+
+            kinds.add(String.format("NodeKind.%s", level.getValue()));
+        }
+
+        writer.write(getIndentation(1));
+        writer.write(getComment(
+                "The binding power of each TokenKind as a binary operator, by ordinal;"));
+        writer.write(endAndIndent(1, 1));
+        writer.write(getComment("0 for a token that is not one"));
+        writer.write(endAndIndent(1, 1));
+        writer.write(String.format("public static final int[] BINDING_POWERS = { %s };",
+                Arrays.stream(powers).mapToObj(String::valueOf).collect(Collectors.joining(", "))));
+        writer.write(endAndIndent(1, 1));
+        writer.write(getComment("The tree an operator of each binding power builds"));
+        writer.write(endAndIndent(1, 1));
+        writer.write(String.format("public static final NodeKind[] OPERATOR_TREES = { %s };",
+                String.join(", ", kinds)));
+        writer.write(getNewLines(2));
+    }
+
+    /**
+     * The names of the trees in asts.txt.
+     */
+    public static Set<String> readTreeNames() throws IOException {
+        return Files.readAllLines(ParserConfiguration.AST_FILE_PATH).stream()
+                .filter(line -> line.trim().length() != 0 && !line.trim().startsWith("#"))
+                .map(line -> AstDefinition.parse(line).getName())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * The TokenKind names in ordinal order, as TokenKindGenerator writes them.
+     */
+    public static List<String> readTerminals() throws IOException {
+        List<String> terminals = new ArrayList<>();
+
+        terminals.add("BogusToken");
+        terminals.addAll(Files.readAllLines(LexerConfiguration.TOKEN_FILE_PATH).stream()
+                .filter(line -> line.trim().length() != 0 && !line.trim().startsWith("#"))
+                .map(line -> line.trim().split("\\s+")[0])
+                .collect(Collectors.toList()));
+        terminals.add("EOF");
+
+        return terminals;
+    }
+}
@@ -0,0 +1,267 @@
+package tools.parser;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import config.ParserConfiguration;
+import tools.FileGeneratorTool;
+import static tools.ToolHelpers.*;
+
+/**
+ * Checks that grammar.txt is LL(1) and writes the tables TableParser runs on:
+ * the body of every production as parse stack symbols, the node kind each
+ * action creates, and for every nonterminal the production to expand on each
+ * TokenKind. A grammar with a conflict is reported and nothing is written.
+ */
+public class ParserTableGenerator extends FileGeneratorTool {
+    // Parse stack symbols below NONTERMINAL are TokenKind ordinals
+    private static final int NONTERMINAL = Long.SIZE;
+    private static final int ACTION = NONTERMINAL * 2;
+    private static final int NO_PRODUCTION = -1;
+
+    private String sourceCodePrefix = String.join("", List.of(
+            String.format("package %s;", ParserConfiguration.PARSER_PACKAGE),
+            getNewLines(2),
+            "import ast.trees.NodeKind;",
+            getNewLines(2),
+            getAutoGeneratedWarning(),
+            getNewLines(1),
+            String.format("public class %s {", ParserConfiguration.PARSER_TABLES_CLASS_NAME),
+            endAndIndent(1, 1),
+            getComment("Parse stack symbols: a TokenKind ordinal, NONTERMINAL plus a"),
+            endAndIndent(1, 1),
+            getComment("nonterminal, or ACTION plus an action"),
+            endAndIndent(1, 1),
+            String.format("public static final int NONTERMINAL = %d;", NONTERMINAL),
+            endAndIndent(1, 1),
+            String.format("public static final int ACTION = %d;", ACTION),
+            endAndIndent(1, 1),
+            String.format("public static final int NO_PRODUCTION = %d;", NO_PRODUCTION),
+            getNewLines(1)));
+
+    public ParserTableGenerator(Path filePath) {
+        super(filePath);
+    }
+
+    @Override
+    public void regenerateSourceFile() {
+        List<String> lines = new ArrayList<>();
+
+        while (this.hasNext()) {
+            lines.add(this.next());
+        }
+
+        try {
+            Grammar grammar = new Grammar(lines, GrammarSetGenerator.readTerminals());
+            List<String> conflicts = grammar.getConflicts();
+
+            if (!conflicts.isEmpty()) {
+                throw new IllegalArgumentException(String.format(
+                        "grammar.txt is not LL(1):%n  %s", String.join("\n  ", conflicts)));
+            }
+
+            List<String> actions = collectActions(grammar);
+
+            try (FileWriter writer =
+                    new FileWriter(ParserConfiguration.PARSER_TABLES_FILE_PATH.toFile())) {
+                writer.write(sourceCodePrefix);
+                writeNonterminals(writer, grammar);
+                writeActions(writer, actions);
+                writeProductions(writer, grammar, actions);
+                writePredictions(writer, grammar);
+                writer.write("}");
+                writer.write(getNewLines(1));
+            }
+        } catch (IOException | IllegalArgumentException exception) {
+            failExecution(exception);
+        }
+    }
+
+    /**
+     * Every distinct action in the grammar, with @add and @end first, and
+     * checked against the trees in asts.txt.
+     */
+    private List<String> collectActions(Grammar grammar) throws IOException {
+        Set<String> trees = GrammarSetGenerator.readTreeNames();
+        List<String> actions = new ArrayList<>(List.of(Grammar.ADD_ACTION, Grammar.END_ACTION));
+
+        for (Grammar.Production production : grammar.getAllProductions()) {
+            for (String symbol : production.getBody()) {
+                if (!Grammar.isAction(symbol) || actions.contains(symbol)) {
+                    continue;
+                }
+
+                if (!trees.contains(getKind(symbol))) {
+                    throw new IllegalArgumentException(String.format(
+                            "%s in %s is not a tree in asts.txt", symbol, production));
+                }
+
+                actions.add(symbol);
+            }
+        }
+
+        return actions;
+    }
+
+    private void writeNonterminals(FileWriter writer, Grammar grammar) throws IOException {
+        List<String> nonterminals = grammar.getNonterminals();
+
+        writer.write(getNewLines(1));
+        writer.write(getIndentation(1));
+        writer.write(getComment("Nonterminals"));
+        writer.write(getNewLines(1));
+
+        for (int index = 0; index < nonterminals.size(); index++) {
+            writer.write(getIndentation(1));
+            writer.write(String.format(
+                    "public static final int %s = %d;", nonterminals.get(index), index));
+            writer.write(getNewLines(1));
+        }
+
+        writer.write(getIndentation(1));
+        writer.write(String.format(
+                "public static final int NONTERMINAL_COUNT = %d;", nonterminals.size()));
+        writer.write(getNewLines(1));
+        writer.write(getIndentation(1));
+        writer.write(String.format(
+                "public static final int START = %s;", grammar.getStart()));
+        writer.write(getNewLines(1));
+    }
+
+    private void writeActions(FileWriter writer, List<String> actions) throws IOException {
+        writer.write(getNewLines(1));
+        writer.write(getIndentation(1));
+        writer.write(getComment("Actions"));
+        writer.write(endAndIndent(1, 1));
+        writer.write(String.format("public static final int ADD = %d;",
+                actions.indexOf(Grammar.ADD_ACTION)));
+        writer.write(endAndIndent(1, 1));
+        writer.write(String.format("public static final int END = %d;",
+                actions.indexOf(Grammar.END_ACTION)));
+        writer.write(endAndIndent(1, 1));
+        writer.write(getComment("The node kind each action creates, or null for @add and @end"));
+        writer.write(endAndIndent(1, 1));
+        writer.write("public static final NodeKind[] ACTION_KINDS = {");
+
+        for (String action : actions) {
+            writer.write(endAndIndent(1, 2));
+            writer.write(isNodeAction(action)
+                    ? String.format("NodeKind.%s, ", getKind(action))
+                    : "null, ");
+            writer.write(getComment(action));
+        }
+
+        writer.write(endAndIndent(1, 1));
+        writer.write("};");
+        writer.write(endAndIndent(1, 1));
+        writer.write(getComment("How many nodes on the stack each action adopts as children"));
+        writer.write(endAndIndent(1, 1));
+        writer.write("public static final int[] ACTION_CHILDREN = {");
+
+        for (String action : actions) {
+            writer.write(endAndIndent(1, 2));
+            writer.write(String.format("%d, ", getChildren(action)));
+            writer.write(getComment(action));
+        }
+
+        writer.write(endAndIndent(1, 1));
+        writer.write("};");
+        writer.write(getNewLines(1));
+    }
+
+    private void writeProductions(FileWriter writer, Grammar grammar, List<String> actions)
+            throws IOException {
+        List<String> nonterminals = grammar.getNonterminals();
+        List<Grammar.Production> productions = grammar.getAllProductions();
+
+        writer.write(getNewLines(1));
+        writer.write(getIndentation(1));
+        writer.write(getComment("The body of every production, in the order of grammar.txt"));
+        writer.write(endAndIndent(1, 1));
+        writer.write("public static final int[][] PRODUCTIONS = {");
+
+        for (int index = 0; index < productions.size(); index++) {
+            List<String> symbols = new ArrayList<>();
+
+            for (String symbol : productions.get(index).getBody()) {
+                if (grammar.isTerminal(symbol)) {
+                    symbols.add(String.valueOf(grammar.ordinal(symbol)));
+                } else if (grammar.isNonterminal(symbol)) {
+                    symbols.add(String.valueOf(NONTERMINAL + nonterminals.indexOf(symbol)));
+                } else {
+                    symbols.add(String.valueOf(ACTION + actions.indexOf(symbol)));
+                }
+            }
+
+            writer.write(endAndIndent(1, 2));
+            writer.write(getComment(String.format("%d: %s", index, productions.get(index))));
+            writer.write(endAndIndent(1, 2));
+            writer.write(symbols.isEmpty()
+                    ? "{},"
+                    : String.format("{ %s },", String.join(", ", symbols)));
+        }
+
+        writer.write(endAndIndent(1, 1));
+        writer.write("};");
+        writer.write(getNewLines(1));
+    }
+
+    private void writePredictions(FileWriter writer, Grammar grammar) throws IOException {
+        List<Grammar.Production> productions = grammar.getAllProductions();
+        int terminals = grammar.getTerminals().size();
+
+        writer.write(getNewLines(1));
+        writer.write(getIndentation(1));
+        writer.write(getComment(
+                "PREDICT[nonterminal][TokenKind.ordinal()] is the production to expand"));
+        writer.write(endAndIndent(1, 1));
+        writer.write("public static final int[][] PREDICT = {");
+
+        for (String nonterminal : grammar.getNonterminals()) {
+            int[] row = new int[terminals];
+
+            Arrays.fill(row, NO_PRODUCTION);
+
+            for (Grammar.Production production : grammar.getProductions(nonterminal)) {
+                long predict = grammar.predict(production);
+
+                for (int ordinal = 0; ordinal < terminals; ordinal++) {
+                    if ((predict & 1L << ordinal) != 0) {
+                        row[ordinal] = productions.indexOf(production);
+                    }
+                }
+            }
+
+            writer.write(endAndIndent(1, 2));
+            writer.write(getComment(nonterminal));
+            writer.write(endAndIndent(1, 2));
+            writer.write(String.format("{ %s },", Arrays.stream(row)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(", "))));
+        }
+
+        writer.write(endAndIndent(1, 1));
+        writer.write("};");
+        writer.write(getNewLines(1));
+    }
+
+    private static boolean isNodeAction(String action) {
+        return !action.equals(Grammar.ADD_ACTION) && !action.equals(Grammar.END_ACTION);
+    }
+
+    private static String getKind(String action) {
+        return action.substring(Grammar.ACTION_PREFIX.length()).split(":")[0];
+    }
+
+    private static int getChildren(String action) {
+        String[] parts = action.split(":");
+
+        return isNodeAction(action) && parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+    }
+}
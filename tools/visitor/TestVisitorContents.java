@@ -56,8 +56,8 @@ public class TestVisitorContents {
       "}", endAndIndent(1, 1),
       "}", endAndIndent(2, 1),
       "private Object testChildren(AST t) {", endAndIndent(1, 2),
-      "for (AST child : t.getChildren()) {", endAndIndent(1, 3),
-      "Object result = child.accept(this);", endAndIndent(2, 3),
+      "for (int child = 0; child < t.getChildCount(); child++) {", endAndIndent(1, 3),
+      "Object result = t.getChild(child).accept(this);", endAndIndent(2, 3),
       "if (result != null) {", endAndIndent(1, 4),
       "return result;", endAndIndent(1, 3),
       "}", endAndIndent(1, 2),
@@ -16,9 +16,9 @@ public class TreeVisitorContents {
       endAndIndent(2, 1),
       "public void visitChildren(AST node) {",
       endAndIndent(1, 2),
-      "for (AST child: node.getChildren()) {",
+      "for (int index = 0; index < node.getChildCount(); index++) {",
       endAndIndent(1, 3),
-      "child.accept(this);",
+      "node.getChild(index).accept(this);",
       endAndIndent(1, 2),
       "}",
       endAndIndent(1, 1),
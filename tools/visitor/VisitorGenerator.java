@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 
 import config.VisitorConfiguration;
+import tools.ast.AstDefinition;
 import tools.FileGeneratorTool;
 import static tools.ToolHelpers.*;
 
@@ -31,9 +32,9 @@ public class VisitorGenerator extends FileGeneratorTool {
       testVisitoWriter.write(TestVisitorContents.HEADER);
 
       while (this.hasNext()) {
-        String[] parts = this.next().split("\\s+");
-        String className = parts[0];
-        boolean isSymbolTree = parts.length == 2;
+        AstDefinition definition = AstDefinition.parse(this.next());
+        String className = definition.getName();
+        boolean isSymbolTree = definition.isSymbolTree();
 
         baseClassWriter.write(TreeVisitorContents.fileContents(className));
         printVisitorWriter
@@ -163,4 +163,10 @@ public class PrintVisitor extends TreeVisitor {
     return null;
   }
 
+  @Override
+  public Object visit(ErrorTree node) {
+    print("Error", node);
+    return null;
+  }
+
 }
\ No newline at end of file
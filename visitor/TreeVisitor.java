@@ -6,8 +6,8 @@ import ast.trees.*;
 public abstract class TreeVisitor {
 
   public void visitChildren(AST node) {
-    for (AST child: node.getChildren()) {
-      child.accept(this);
+    for (int index = 0; index < node.getChildCount(); index++) {
+      node.getChild(index).accept(this);
     }
   }
 
@@ -59,4 +59,6 @@ public abstract class TreeVisitor {
 
   public abstract Object visit(RangeTree node);
 
+  public abstract Object visit(ErrorTree node);
+
 }
\ No newline at end of file